@@ -0,0 +1,212 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.BackendApplication;
+import com.appointmentscheduler.backend.entity.AppointmentResources;
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.Customer;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.PartsReservation;
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.appointmentscheduler.backend.enums.ReservationStatus;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ServiceBayRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.TechnicianRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Insert throughput of the booking write path: each operation writes one booking's rows (the
+ * appointment, its resources and two parts reservations), BOOKINGS of them per transaction the
+ * way a fleet batch is written, rolled back so every invocation starts from the same tables.
+ *
+ * batchSize 1 sends one INSERT per row, which is what the IDENTITY mapping forced; 50 is the
+ * default configuration. The database is in-memory H2, whose driver executes a batch row by row,
+ * so batching alone buys nothing there. Drivers that send a batch in one round trip (MySQL with
+ * rewriteBatchedStatements, PostgreSQL) are modelled by roundTripMicros: a pause before every
+ * statement execution and every executeBatch, i.e. per round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BookingInsertBenchmark {
+
+    private static final int BOOKINGS = 200;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"0", "200"})
+    public int roundTripMicros;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private Integer customerId;
+    private Integer vehicleId;
+    private Integer serviceId;
+    private Long technicianId;
+    private Long bayId;
+    private Integer partId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(
+                        new BeanPostProcessor() {
+                            @Override
+                            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                return bean instanceof DataSource dataSource && roundTripNanos > 0
+                                        ? withRoundTrips(dataSource, roundTripNanos)
+                                        : bean;
+                            }
+                        }))
+                // Arguments, not default properties: those would lose to application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:booking-insert;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN",
+                        "--scheduler.procurement.enabled=false",
+                        "--scheduler.parts.reservation-sweep-ms=3600000");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+        Vehicle vehicle = context.getBean(VehicleRepository.class).findAll().get(0);
+        vehicleId = vehicle.getVehicleId();
+        customerId = vehicle.getCustomer().getCustomerId();
+        serviceId = context.getBean(ServiceCatalogRepository.class).findAll().get(0).getServiceId();
+        technicianId = context.getBean(TechnicianRepository.class).findAll().get(0).getTechnicianId();
+        bayId = context.getBean(ServiceBayRepository.class).findAll().get(0).getBayId();
+        partId = context.getBean(PartsInventoryRepository.class).findAll().get(0).getPartId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void writeBookings() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            List<Appointments> appointments = new ArrayList<>(BOOKINGS);
+            for (int i = 0; i < BOOKINGS; i++) {
+                appointments.add(Appointments.builder()
+                        .customer(entityManager.getReference(Customer.class, customerId))
+                        .vehicle(entityManager.getReference(Vehicle.class, vehicleId))
+                        .serviceCatalog(entityManager.getReference(ServiceCatalog.class, serviceId))
+                        .startTime(start)
+                        .endTime(start.plusHours(1))
+                        .status(AppointmentStatus.CONFIRMED)
+                        .build());
+            }
+            // One table per flush, as BookingBatchWriter writes a planned batch
+            persistAll(appointments);
+            persistAll(appointments.stream()
+                    .map(appointment -> AppointmentResources.builder()
+                            .appointment(appointment)
+                            .assignedTech(entityManager.getReference(Technician.class, technicianId))
+                            .assignedBay(entityManager.getReference(ServiceBay.class, bayId))
+                            .build())
+                    .toList());
+            persistAll(appointments.stream()
+                    .flatMap(appointment -> Stream.of(reservation(appointment, start), reservation(appointment, start)))
+                    .toList());
+            entityManager.clear();
+            status.setRollbackOnly();
+        });
+    }
+
+    private PartsReservation reservation(Appointments appointment, LocalDateTime createdAt) {
+        return PartsReservation.builder()
+                .appointment(appointment)
+                .part(entityManager.getReference(PartsInventory.class, partId))
+                .quantityReserved(1)
+                .quantityOrdered(0)
+                .status(ReservationStatus.COMMITTED)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private void persistAll(List<?> entities) {
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+
+    /**
+     * The data source, with a pause of roundTripNanos before each statement execution / batch.
+     */
+    private static DataSource withRoundTrips(DataSource dataSource, long roundTripNanos) {
+        return proxy(DataSource.class, dataSource, method -> false, roundTripNanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Predicate<Method> roundTrip, long roundTripNanos) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (roundTrip.test(method)) {
+                LockSupport.parkNanos(roundTripNanos);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Connections and statements handed out are wrapped the same way
+            if (result instanceof PreparedStatement statement && method.getReturnType() == PreparedStatement.class) {
+                return proxy(PreparedStatement.class, statement, BookingInsertBenchmark::isExecution, roundTripNanos);
+            }
+            if (result instanceof Statement statement && method.getReturnType() == Statement.class) {
+                return proxy(Statement.class, statement, BookingInsertBenchmark::isExecution, roundTripNanos);
+            }
+            if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                return proxy(Connection.class, connection, m -> m.getName().equals("commit") || m.getName().equals("rollback"), roundTripNanos);
+            }
+            return result;
+        });
+    }
+
+    private static boolean isExecution(Method method) {
+        return method.getName().startsWith("execute");
+    }
+}
@@ -0,0 +1,121 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.service.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of type-ahead results: the LIKE '%q%' query the repository derives for
+ * findByNameContainingIgnoreCaseOrPhoneContainingIgnoreCase (page + count, on in-memory H2)
+ * versus the resident n-gram index. Queries cycle through short prefixes, name fragments,
+ * phone fragments and misses, as typed into the lookup step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomerSearchBenchmark {
+
+    private static final String[] FIRST = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Charles", "Karen", "Priya", "Mohammed", "Wei", "Sofia", "Lukas", "Chiara", "Kenji", "Amara"};
+    private static final String[] LAST = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Patel", "Khan", "Chen", "Rossi", "Schmidt", "Tanaka", "Okafor"};
+    private static final String[] QUERIES = {"jo", "joh", "johnson", "mar", "martinez", "priya pat", "555",
+            "0142", "+1 (41", "sch", "okafor", "zzq", "elizabeth t", "wei ch"};
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"200000"})
+    public int customers;
+
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement likeCount;
+    private CustomerSearchIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:customer-search;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("create table customers (customer_id integer primary key, name varchar(255), "
+                    + "phone varchar(255), loyalty_score integer)");
+        }
+        index = new CustomerSearchIndex();
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into customers (customer_id, name, phone, loyalty_score) values (?, ?, ?, 0)")) {
+            for (int id = 1; id <= customers; id++) {
+                String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+                String phone = String.format("+1 (%03d) %03d-%04d",
+                        random.nextInt(1000), random.nextInt(1000), random.nextInt(10_000));
+                insert.setInt(1, id);
+                insert.setString(2, name);
+                insert.setString(3, phone);
+                insert.addBatch();
+                index.put(id, name, phone);
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+
+        likePage = connection.prepareStatement("select c.customer_id, c.name, c.phone, c.loyalty_score from customers c "
+                + "where upper(c.name) like upper(?) escape '\\' or upper(c.phone) like upper(?) escape '\\' "
+                + "offset 0 rows fetch first " + PAGE_SIZE + " rows only");
+        likeCount = connection.prepareStatement("select count(c.customer_id) from customers c "
+                + "where upper(c.name) like upper(?) escape '\\' or upper(c.phone) like upper(?) escape '\\'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeQuery(Blackhole blackhole) throws SQLException {
+        String pattern = "%" + QUERIES[next++ % QUERIES.length] + "%";
+        likePage.setString(1, pattern);
+        likePage.setString(2, pattern);
+        try (ResultSet rows = likePage.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getInt(1));
+            }
+        }
+        likeCount.setString(1, pattern);
+        likeCount.setString(2, pattern);
+        try (ResultSet count = likeCount.executeQuery()) {
+            count.next();
+            blackhole.consume(count.getLong(1));
+        }
+    }
+
+    @Benchmark
+    public CustomerSearchIndex.SearchPage indexSearch() {
+        return index.search(QUERIES[next++ % QUERIES.length], 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,142 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.service.BitmaskSchedulerService;
+import com.appointmentscheduler.backend.service.HorizonSearch;
+import com.appointmentscheduler.backend.service.SlotModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full 30-day earliest-fit search on a saturated calendar: every slot of the first
+ * saturatedDays days is taken, so the scan has to walk almost the whole horizon.
+ * Sequential day loop versus day chunks on virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HorizonSearchBenchmark {
+
+    private static final int DAYS = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Param({"50"})
+    public int techs;
+
+    @Param({"40"})
+    public int bays;
+
+    @Param({"18", "128"})
+    public int totalSlots;
+
+    @Param({"25"})
+    public int saturatedDays;
+
+    @Param({"5"})
+    public int chunkDays;
+
+    private SlotModel model;
+    private List<Technician> technicians;
+    private List<ServiceBay> serviceBays;
+    private ArrayMasks masks;
+    private ExecutorService executor;
+    private HorizonSearch sequential;
+    private HorizonSearch parallel;
+
+    @Setup
+    public void setUp() {
+        model = new SlotModel(LocalTime.of(0, 0), 5, totalSlots);
+        technicians = new ArrayList<>();
+        for (long id = 0; id < techs; id++) {
+            technicians.add(Technician.builder().technicianId(id).build());
+        }
+        serviceBays = new ArrayList<>();
+        for (long id = 0; id < bays; id++) {
+            serviceBays.add(ServiceBay.builder().bayId(id).build());
+        }
+
+        Random random = new Random(2024);
+        masks = new ArrayMasks(techs, bays);
+        for (int day = 0; day < DAYS; day++) {
+            double fill = day < saturatedDays ? 1.0 : 0.9;
+            for (int t = 0; t < techs; t++) {
+                masks.techMasks[day][t] = randomMask(random, fill);
+            }
+            for (int b = 0; b < bays; b++) {
+                masks.bayMasks[day][b] = randomMask(random, fill);
+            }
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        sequential = HorizonSearch.sequential();
+        parallel = HorizonSearch.parallel(executor, chunkDays);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object sequentialDays() {
+        return sequential.earliest(model, 4, FIRST_DAY.atStartOfDay(), FIRST_DAY, FIRST_DAY.plusDays(DAYS - 1),
+                technicians, serviceBays, masks);
+    }
+
+    @Benchmark
+    public Object parallelChunks() {
+        return parallel.earliest(model, 4, FIRST_DAY.atStartOfDay(), FIRST_DAY, FIRST_DAY.plusDays(DAYS - 1),
+                technicians, serviceBays, masks);
+    }
+
+    private long[] randomMask(Random random, double fill) {
+        long[] mask = new long[2];
+        for (int slot = 0; slot < totalSlots; slot++) {
+            if (random.nextDouble() < fill) {
+                mask[slot >>> 6] |= 1L << (slot & 63);
+            }
+        }
+        return mask;
+    }
+
+    private static final class ArrayMasks implements BitmaskSchedulerService.MaskSource {
+        final long[][][] techMasks;
+        final long[][][] bayMasks;
+
+        ArrayMasks(int techs, int bays) {
+            techMasks = new long[DAYS][techs][];
+            bayMasks = new long[DAYS][bays][];
+        }
+
+        @Override
+        public void technician(Technician tech, LocalDate day, long[] dest, int offset, int words) {
+            System.arraycopy(techMasks[dayIndex(day)][tech.getTechnicianId().intValue()], 0, dest, offset, words);
+        }
+
+        @Override
+        public void bay(ServiceBay bay, LocalDate day, long[] dest, int offset, int words) {
+            System.arraycopy(bayMasks[dayIndex(day)][bay.getBayId().intValue()], 0, dest, offset, words);
+        }
+
+        private static int dayIndex(LocalDate day) {
+            return (int) (day.toEpochDay() - FIRST_DAY.toEpochDay());
+        }
+    }
+}
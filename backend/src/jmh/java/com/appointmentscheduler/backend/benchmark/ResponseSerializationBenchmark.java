@@ -0,0 +1,110 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.controller.CustomerController.CustomerResponse;
+import com.appointmentscheduler.backend.controller.CustomerController.VehicleResponse;
+import com.appointmentscheduler.backend.controller.ResponseSerializers;
+import com.appointmentscheduler.backend.controller.SchedulerController.AppointmentResponse;
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.Customer;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.appointmentscheduler.backend.enums.BayType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the /book response and one page of customer search results: the JPA entities as the
+ * endpoints used to return them (reflective Jackson, associations included) versus the response
+ * records with the hand-written serializers. Payload sizes are printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 9, 9, 0);
+
+    private ObjectMapper reflective;
+    private ObjectMapper handWritten;
+    private Appointments appointment;
+    private AppointmentResponse appointmentResponse;
+    private List<Customer> customers;
+    private List<CustomerResponse> customerResponses;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        reflective = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        handWritten = reflective.copy().registerModule(new ResponseSerializers());
+
+        customers = new ArrayList<>();
+        customerResponses = new ArrayList<>();
+        for (int id = 1; id <= PAGE_SIZE; id++) {
+            Customer customer = new Customer(id, "Customer Number " + id, "+1 (555) 010-" + (1000 + id), id * 10, new ArrayList<>());
+            for (int v = 0; v < 2; v++) {
+                customer.getVehicles().add(new Vehicle(id * 10 + v, customer, "1HGCM82633A00" + (4000 + id * 10 + v), "Civic"));
+            }
+            customers.add(customer);
+            customerResponses.add(new CustomerResponse(customer.getCustomerId(), customer.getName(), customer.getPhone(),
+                    customer.getLoyaltyScore(), customer.getVehicles().stream()
+                            .map(vehicle -> new VehicleResponse(vehicle.getVehicleId(), vehicle.getVin(), vehicle.getModel()))
+                            .toList()));
+        }
+
+        ServiceCatalog service = new ServiceCatalog(3, "Brake Pad Replacement", 120, 2, BayType.GENERAL, null, null);
+        Customer customer = customers.get(0);
+        appointment = new Appointments(41, customer, customer.getVehicles().get(0), service, START, START.plusMinutes(120),
+                AppointmentStatus.CONFIRMED, false, null, null);
+        appointmentResponse = new AppointmentResponse(41, customer.getCustomerId(), customer.getVehicles().get(0).getVehicleId(),
+                service.getServiceId(), START, START.plusMinutes(120), AppointmentStatus.CONFIRMED, false);
+
+        System.out.printf("%nbook payload: entity %d bytes, response %d bytes%n",
+                reflective.writeValueAsBytes(appointment).length, handWritten.writeValueAsBytes(appointmentResponse).length);
+        System.out.printf("search page payload: entities %d bytes, responses %d bytes%n",
+                reflective.writeValueAsBytes(customers).length, handWritten.writeValueAsBytes(customerResponses).length);
+    }
+
+    @Benchmark
+    public byte[] bookEntity() throws JsonProcessingException {
+        return reflective.writeValueAsBytes(appointment);
+    }
+
+    @Benchmark
+    public byte[] bookResponseReflective() throws JsonProcessingException {
+        return reflective.writeValueAsBytes(appointmentResponse);
+    }
+
+    @Benchmark
+    public byte[] bookResponseHandWritten() throws JsonProcessingException {
+        return handWritten.writeValueAsBytes(appointmentResponse);
+    }
+
+    @Benchmark
+    public byte[] searchPageEntities() throws JsonProcessingException {
+        return reflective.writeValueAsBytes(customers);
+    }
+
+    @Benchmark
+    public byte[] searchPageHandWritten() throws JsonProcessingException {
+        return handWritten.writeValueAsBytes(customerResponses);
+    }
+}
@@ -0,0 +1,194 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.config.SqlStatementCounter;
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.repository.BaySchedulerRepository;
+import com.appointmentscheduler.backend.repository.SchedulerMaskView;
+import com.appointmentscheduler.backend.repository.TechnicianSchedulerRepository;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
+import com.appointmentscheduler.backend.service.BitmaskSchedulerService;
+import com.appointmentscheduler.backend.service.SchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BitmaskSchedulerService.findEarliestAssignment end to end for one center, with the scheduler
+ * repositories replaced by in-memory stubs: masks prefetched through the range queries (index not
+ * covering the window) versus read from the resident AvailabilityIndex.
+ *
+ * Every technician and bay gets a random day mask with fillRatio of its slots busy for each of the
+ * 30 days from tomorrow; at 0.95 most searches find nothing and walk the whole horizon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerServiceBenchmark {
+
+    private static final int DAYS = 30;
+    private static final int CENTER_ID = 1;
+
+    @Param({"5", "50"})
+    public int techs;
+
+    @Param({"4", "40"})
+    public int bays;
+
+    @Param({"0.3", "0.7", "0.95"})
+    public double fillRatio;
+
+    @Param({"30", "120", "240"})
+    public int durationMinutes;
+
+    private List<Technician> technicians;
+    private List<ServiceBay> serviceBays;
+    private LocalDateTime partsArrival;
+    private BitmaskSchedulerService prefetched;
+    private BitmaskSchedulerService resident;
+
+    @Setup
+    public void setUp() {
+        ServiceCenter center = ServiceCenter.builder()
+                .centerId(CENTER_ID)
+                .openingTime(LocalTime.of(9, 0))
+                .closingTime(LocalTime.of(18, 0))
+                .slotMinutes(30)
+                .build();
+        technicians = new ArrayList<>();
+        for (long id = 1; id <= techs; id++) {
+            technicians.add(Technician.builder().technicianId(id).serviceCenter(center).build());
+        }
+        serviceBays = new ArrayList<>();
+        for (long id = 1; id <= bays; id++) {
+            serviceBays.add(ServiceBay.builder().bayId(id).serviceCenter(center).build());
+        }
+
+        // From tomorrow's opening, so the result does not depend on the time of day the run starts
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        partsArrival = firstDay.atStartOfDay();
+        Random random = new Random(2024);
+        List<MaskRow> techRows = rows(random, techs, firstDay);
+        List<MaskRow> bayRows = rows(random, bays, firstDay);
+        TechnicianSchedulerRepository techRepository = stubRepository(TechnicianSchedulerRepository.class, techRows);
+        BaySchedulerRepository bayRepository = stubRepository(BaySchedulerRepository.class, bayRows);
+        SchedulerMetrics metrics = new SchedulerMetrics(new SimpleMeterRegistry(), new SqlStatementCounter());
+
+        // Never loaded, so every search takes the range-query path
+        AvailabilityIndex emptyIndex = new AvailabilityIndex(techRepository, bayRepository);
+        prefetched = new BitmaskSchedulerService(techRepository, bayRepository, emptyIndex, metrics);
+
+        AvailabilityIndex index = new AvailabilityIndex(techRepository, bayRepository);
+        ReflectionTestUtils.setField(index, "horizonDays", DAYS + 2);
+        index.reload();
+        resident = new BitmaskSchedulerService(techRepository, bayRepository, index, metrics);
+    }
+
+    @Benchmark
+    public BitmaskSchedulerService.ScheduledAssignment prefetched() {
+        return prefetched.findEarliestAssignment(partsArrival, durationMinutes, technicians, serviceBays);
+    }
+
+    @Benchmark
+    public BitmaskSchedulerService.ScheduledAssignment resident() {
+        return resident.findEarliestAssignment(partsArrival, durationMinutes, technicians, serviceBays);
+    }
+
+    private List<MaskRow> rows(Random random, int resources, LocalDate firstDay) {
+        List<MaskRow> rows = new ArrayList<>();
+        for (long id = 1; id <= resources; id++) {
+            for (int day = 0; day < DAYS; day++) {
+                long mask = 0;
+                for (int slot = 0; slot < 18; slot++) {
+                    if (random.nextDouble() < fillRatio) {
+                        mask |= 1L << slot;
+                    }
+                }
+                rows.add(new MaskRow(id, firstDay.plusDays(day), mask));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The repository with the two mask queries the search and the index use answered from rows.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R stubRepository(Class<R> type, List<MaskRow> rows) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "findMasksBetween" -> between(rows, null, (LocalDate) args[0], (LocalDate) args[1]);
+                    case "findMasksForTechnicians", "findMasksForBays" ->
+                            between(rows, (Collection<?>) args[0], (LocalDate) args[1], (LocalDate) args[2]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<SchedulerMaskView> between(List<MaskRow> rows, Collection<?> ids, LocalDate from, LocalDate to) {
+        Set<?> wanted = ids == null ? null : new HashSet<>(ids);
+        List<SchedulerMaskView> result = new ArrayList<>();
+        for (MaskRow row : rows) {
+            if ((wanted == null || wanted.contains(row.resourceId)) && !row.date.isBefore(from) && !row.date.isAfter(to)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private static final class MaskRow implements SchedulerMaskView {
+        final Long resourceId;
+        final LocalDate date;
+        final Long bitmask;
+
+        MaskRow(Long resourceId, LocalDate date, Long bitmask) {
+            this.resourceId = resourceId;
+            this.date = date;
+            this.bitmask = bitmask;
+        }
+
+        @Override
+        public Long getResourceId() {
+            return resourceId;
+        }
+
+        @Override
+        public Integer getCenterId() {
+            return CENTER_ID;
+        }
+
+        @Override
+        public LocalDate getDate() {
+            return date;
+        }
+
+        @Override
+        public Long getBitmask() {
+            return bitmask;
+        }
+
+        @Override
+        public Long getBitmaskHi() {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.service.SlotFitEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 30-day earliest-fit search for one center: the original slot-by-slot T x B loop
+ * versus the word-parallel {@link SlotFitEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlotFitBenchmark {
+
+    private static final int TOTAL_SLOTS = 18;
+    private static final int DAYS = 30;
+
+    @Param({"50"})
+    public int techs;
+
+    @Param({"40"})
+    public int bays;
+
+    @Param({"0.5", "0.9"})
+    public double fillRatio;
+
+    @Param({"2", "4", "6"})
+    public int requiredSlots;
+
+    private int[][] techMasks;
+    private int[][] bayMasks;
+    private long[][] techWords;
+    private long[][] bayWords;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2024);
+        techMasks = new int[DAYS][techs];
+        bayMasks = new int[DAYS][bays];
+        techWords = new long[DAYS][techs];
+        bayWords = new long[DAYS][bays];
+        for (int day = 0; day < DAYS; day++) {
+            for (int t = 0; t < techs; t++) {
+                techMasks[day][t] = randomMask(random);
+                techWords[day][t] = techMasks[day][t];
+            }
+            for (int b = 0; b < bays; b++) {
+                bayMasks[day][b] = randomMask(random);
+                bayWords[day][b] = bayMasks[day][b];
+            }
+        }
+    }
+
+    @Benchmark
+    public long legacyLoop() {
+        for (int day = 0; day < DAYS; day++) {
+            int best = Integer.MAX_VALUE;
+            int bestTech = -1;
+            int bestBay = -1;
+            for (int t = 0; t < techs; t++) {
+                int techMask = techMasks[day][t];
+                for (int b = 0; b < bays; b++) {
+                    int slot = findConsecutiveZeros(techMask | bayMasks[day][b], requiredSlots, 0);
+                    if (slot != -1 && slot < best) {
+                        best = slot;
+                        bestTech = t;
+                        bestBay = b;
+                        if (best == 0) {
+                            return pack(day, best, bestTech, bestBay);
+                        }
+                    }
+                }
+            }
+            if (bestTech >= 0) {
+                return pack(day, best, bestTech, bestBay);
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public long wordParallel() {
+        SlotFitEngine engine = new SlotFitEngine(TOTAL_SLOTS);
+        for (int day = 0; day < DAYS; day++) {
+            SlotFitEngine.Fit fit = engine.earliestPair(
+                    techWords[day], techs, bayWords[day], bays, requiredSlots, 0);
+            if (fit != null) {
+                return pack(day, fit.slotIndex(), fit.techIndex(), fit.bayIndex());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Verbatim copy of the pre-engine BitmaskSchedulerService helper, kept as the baseline.
+     */
+    static int findConsecutiveZeros(int mask, int k, int startSearchFrom) {
+        int targetMask = (1 << k) - 1;
+        for (int i = startSearchFrom; i <= (TOTAL_SLOTS - k); i++) {
+            if (((mask >> i) & targetMask) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int randomMask(Random random) {
+        int mask = 0;
+        for (int slot = 0; slot < TOTAL_SLOTS; slot++) {
+            if (random.nextDouble() < fillRatio) {
+                mask |= 1 << slot;
+            }
+        }
+        return mask;
+    }
+
+    private static long pack(int day, int slot, int tech, int bay) {
+        return ((long) day << 48) | ((long) slot << 32) | ((long) tech << 16) | bay;
+    }
+}
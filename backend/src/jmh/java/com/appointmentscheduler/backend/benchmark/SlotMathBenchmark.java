@@ -0,0 +1,122 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.service.SlotFitEngine;
+import com.appointmentscheduler.backend.service.SlotMask;
+import com.appointmentscheduler.backend.service.SlotModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-slot arithmetic under search and booking, per call, on the default 09:00-18:00 /
+ * 30 minute day:
+ * - earliest free run in one day mask: the original findConsecutiveZeros loop (kept in
+ *   SlotFitBenchmark) versus SlotFitEngine.earliestFit;
+ * - slotIndex, which maps a requested or stored start time to its slot;
+ * - the booking mask math: busy bits for the appointment, the free check and OR of a claim, and
+ *   the complement mask a cancellation releases with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlotMathBenchmark {
+
+    private static final int MASKS = 256;
+    private static final SlotModel MODEL = SlotModel.DEFAULT;
+
+    @Param({"0.3", "0.7", "0.95"})
+    public double fillRatio;
+
+    @Param({"30", "120", "240"})
+    public int durationMinutes;
+
+    private int requiredSlots;
+    private int[] intMasks;
+    private long[] longMasks;
+    private LocalTime[] times;
+    private int[] starts;
+    private SlotFitEngine engine;
+
+    @Setup
+    public void setUp() {
+        requiredSlots = MODEL.requiredSlots(durationMinutes);
+        engine = new SlotFitEngine(MODEL);
+        Random random = new Random(2024);
+        intMasks = new int[MASKS];
+        longMasks = new long[MASKS];
+        times = new LocalTime[MASKS];
+        starts = new int[MASKS];
+        for (int i = 0; i < MASKS; i++) {
+            for (int slot = 0; slot < MODEL.totalSlots(); slot++) {
+                if (random.nextDouble() < fillRatio) {
+                    intMasks[i] |= 1 << slot;
+                }
+            }
+            longMasks[i] = intMasks[i];
+            times[i] = LocalTime.of(7 + random.nextInt(12), random.nextInt(60));
+            starts[i] = random.nextInt(MODEL.totalSlots() - requiredSlots + 1);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MASKS)
+    public int findConsecutiveZeros() {
+        int sum = 0;
+        for (int i = 0; i < MASKS; i++) {
+            sum += SlotFitBenchmark.findConsecutiveZeros(intMasks[i], requiredSlots, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MASKS)
+    public int earliestFit() {
+        int sum = 0;
+        for (int i = 0; i < MASKS; i++) {
+            sum += engine.earliestFit(longMasks, i, requiredSlots, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MASKS)
+    public int slotIndex() {
+        int sum = 0;
+        for (LocalTime time : times) {
+            sum += MODEL.slotIndex(time);
+        }
+        return sum;
+    }
+
+    /**
+     * Book (claim if free) and cancel (release) one appointment on each day mask.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MASKS)
+    public long bookingMasks() {
+        long checksum = 0;
+        long[] day = new long[SlotMask.WORDS];
+        for (int i = 0; i < MASKS; i++) {
+            day[0] = longMasks[i];
+            day[1] = 0;
+            long[] busyBits = SlotMask.range(starts[i], requiredSlots);
+            if (!SlotMask.intersects(day, busyBits)) {
+                long[] claimed = SlotMask.or(day, busyBits);
+                day[0] = claimed[0] & ~busyBits[0];
+                day[1] = claimed[1] & ~busyBits[1];
+            }
+            checksum += day[0];
+        }
+        return checksum;
+    }
+}
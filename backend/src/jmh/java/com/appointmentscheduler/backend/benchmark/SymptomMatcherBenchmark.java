@@ -0,0 +1,53 @@
+package com.appointmentscheduler.backend.benchmark;
+
+import com.appointmentscheduler.backend.service.SymptomMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying one paragraph of customer text against a symptom dataset of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SymptomMatcherBenchmark {
+
+    private static final String[] SEED = {"squeal", "grinding noise", "brake", "check engine", "warning light",
+            "misfire", "rough idle", "overheat", "temperature gauge", "steam", "coolant leak", "oil change",
+            "oil leak", "burning oil", "won't start", "dead battery", "clicking", "flat tire", "puncture", "blowout"};
+    private static final String PARAGRAPH = "Hi, since last week my car makes a grinding noise whenever I brake, "
+            + "and yesterday the check engine light came on together with another warning light on the dash. "
+            + "This morning it wouldn't start at first, just clicking, and after a jump it ran with a rough idle. "
+            + "I also noticed the temperature gauge creeping up on the motorway and a faint smell of burning oil. "
+            + "The front left tire looks low as well. Could you have a look at all of it in one visit please?";
+
+    @Param({"40", "2000"})
+    public int phrases;
+
+    private SymptomMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        List<SymptomMatcher.Phrase> dataset = new ArrayList<>();
+        for (int i = 0; i < phrases; i++) {
+            String phrase = i < SEED.length ? SEED[i] : SEED[i % SEED.length] + " variant" + i;
+            dataset.add(new SymptomMatcher.Phrase(1 + i % 12, "Service " + (1 + i % 12), phrase));
+        }
+        matcher = new SymptomMatcher(dataset);
+    }
+
+    @Benchmark
+    public List<SymptomMatcher.Candidate> classifyParagraph() {
+        return matcher.classify(PARAGRAPH, 3);
+    }
+}
@@ -0,0 +1,359 @@
+package com.appointmentscheduler.backend.load;
+
+import com.appointmentscheduler.backend.BackendApplication;
+import com.appointmentscheduler.backend.enums.RegionStrategy;
+import com.appointmentscheduler.backend.service.SlotModel;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM load test of the REST layer: boots the application on a random port, by default on an
+ * in-memory database filled by SyntheticDataGenerator, then runs closed-loop clients on virtual
+ * threads, each sending a weighted mix of find-slot, find-slots, book and customer search requests
+ * back to back over HTTP. Reports throughput and latency percentiles per operation for the
+ * requests that started and completed within the measured period after the warm-up.
+ *
+ * Driver options (--clients, --warmup, --duration in seconds, --mix, --seed) are read here; every
+ * other --key=value argument is an application property and overrides the defaults below, e.g.
+ * --scheduler.synthetic.centers=500 for the full-size data set or --spring.datasource.url=... to
+ * run against an existing database.
+ *
+ * Requests pick a random center and service; bookings use a sampled customer and vehicle and ask
+ * for a random slot in the next two weeks, searches a name prefix or phone suffix of a sampled
+ * customer. 404 (no slot) and 409 (no longer available) are expected answers under load and are
+ * counted as 4xx, apart from errors (5xx, I/O).
+ */
+public final class LoadDriver {
+
+    private static final int SAMPLE_ROWS = 20_000;
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+
+    private static final Map<String, String> DRIVER_DEFAULTS = Map.of(
+            "clients", "32",
+            "warmup", "10",
+            "duration", "60",
+            "mix", "find-slot:40,find-slots:10,book:20,search:30",
+            "seed", "42");
+
+    private static final Map<String, String> APPLICATION_DEFAULTS = orderedMap(
+            "server.port", "0",
+            "spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+            "spring.main.banner-mode", "off",
+            "logging.level.root", "WARN",
+            "logging.level.com.appointmentscheduler", "INFO",
+            // Data in place before the workload is sampled
+            "scheduler.seed.mode", "sync",
+            "scheduler.synthetic.enabled", "true",
+            "scheduler.synthetic.centers", "50",
+            "scheduler.synthetic.schedule-days", "60",
+            "scheduler.synthetic.customers", "100000");
+
+    enum Operation {
+        FIND_SLOT("find-slot"), FIND_SLOTS("find-slots"), FIND_SLOTS_REGION("find-slots-region"), BOOK("book"), SEARCH("search");
+
+        final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation of(String label) {
+            return Arrays.stream(values()).filter(op -> op.label.equals(label)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation in --mix: " + label));
+        }
+    }
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DRIVER_DEFAULTS);
+        Map<String, String> properties = new LinkedHashMap<>(APPLICATION_DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            (DRIVER_DEFAULTS.containsKey(key) ? options : properties).put(key, value);
+        }
+        int clients = Integer.parseInt(options.get("clients"));
+        int warmupSeconds = Integer.parseInt(options.get("warmup"));
+        int durationSeconds = Integer.parseInt(options.get("duration"));
+        long seed = Long.parseLong(options.get("seed"));
+        Mix mix = Mix.parse(options.get("mix"));
+
+        long startupNanos = System.nanoTime();
+        ConfigurableApplicationContext context = SpringApplication.run(BackendApplication.class,
+                properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = Workload.sample(context.getBean(JdbcTemplate.class), "http://localhost:" + port);
+            System.out.printf(Locale.ROOT, "Started in %.1f s: %d centers, %d services, %d sampled vehicles, %d search terms%n",
+                    (System.nanoTime() - startupNanos) / 1e9, workload.centerIds.length, workload.serviceIds.length,
+                    workload.vehicles.length, workload.searchTerms.length);
+            System.out.printf(Locale.ROOT, "Running %d clients: %d s warm-up, %d s measured, mix %s%n",
+                    clients, warmupSeconds, durationSeconds, options.get("mix"));
+
+            List<Map<Operation, Recorder>> results = run(workload, mix, clients, seed, warmupSeconds, durationSeconds);
+            report(results, durationSeconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<Map<Operation, Recorder>> run(Workload workload, Mix mix, int clients, long seed,
+                                                      int warmupSeconds, int durationSeconds) throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+        List<Map<Operation, Recorder>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+            for (Operation op : Operation.values()) {
+                recorders.put(op, new Recorder());
+            }
+            results.add(recorders);
+            SplittableRandom random = new SplittableRandom(seed + c);
+            executor.execute(() -> {
+                long start;
+                while ((start = System.nanoTime()) < end) {
+                    Operation op = mix.pick(random);
+                    HttpRequest request = workload.request(op, random);
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    long finish = System.nanoTime();
+                    if (start >= measureFrom && finish <= end) {
+                        recorders.get(op).record(status, finish - start);
+                    }
+                }
+            });
+        }
+        // Requests still in flight at the end are abandoned rather than waited for
+        TimeUnit.NANOSECONDS.sleep(end - System.nanoTime());
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        return results;
+    }
+
+    private static void report(List<Map<Operation, Recorder>> results, int durationSeconds) {
+        System.out.printf(Locale.ROOT, "%n%-17s %9s %9s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "ops/s", "2xx", "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Recorder total = new Recorder();
+        for (Operation op : Operation.values()) {
+            Recorder merged = new Recorder();
+            for (Map<Operation, Recorder> recorders : results) {
+                merged.add(recorders.get(op));
+            }
+            total.add(merged);
+            if (merged.count > 0) {
+                print(op.label, merged, durationSeconds);
+            }
+        }
+        print("total", total, durationSeconds);
+    }
+
+    private static void print(String label, Recorder recorder, int durationSeconds) {
+        long[] sorted = Arrays.copyOf(recorder.latencies, recorder.count);
+        Arrays.sort(sorted);
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-17s %9d %9.1f %9d %7d %7d",
+                label, recorder.count, recorder.count / (double) durationSeconds,
+                recorder.ok, recorder.clientErrors, recorder.errors));
+        for (double p : PERCENTILES) {
+            line.append(String.format(Locale.ROOT, " %9.2f", millis(sorted, p)));
+        }
+        line.append(String.format(Locale.ROOT, " %9.2f", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        System.out.println(line);
+    }
+
+    /**
+     * Nearest-rank percentile of sorted nanosecond latencies, in milliseconds.
+     */
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    private static Map<String, String> orderedMap(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    /**
+     * Weighted operation mix, e.g. find-slot:40,book:20,search:40.
+     */
+    private record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String spec) {
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int sum = 0;
+            for (String part : spec.split(",")) {
+                String[] entry = part.trim().split(":");
+                int weight = Integer.parseInt(entry[1]);
+                if (weight > 0) {
+                    sum += weight;
+                    operations.add(Operation.of(entry[0]));
+                    cumulative.add(sum);
+                }
+            }
+            if (sum == 0) {
+                throw new IllegalArgumentException("--mix has no operation with a positive weight");
+            }
+            return new Mix(operations.toArray(Operation[]::new), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Operation pick(SplittableRandom random) {
+            int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (r >= cumulativeWeights[i]) {
+                i++;
+            }
+            return operations[i];
+        }
+    }
+
+    /**
+     * Ids and search terms sampled from the database once, and the requests built from them.
+     */
+    private record Workload(String baseUrl, int[] centerIds, int[] serviceIds, int[][] vehicles, String[] searchTerms) {
+
+        static Workload sample(JdbcTemplate jdbcTemplate, String baseUrl) {
+            int[] centerIds = jdbcTemplate.queryForList("select center_id from service_centers", Integer.class)
+                    .stream().mapToInt(Integer::intValue).toArray();
+            int[] serviceIds = jdbcTemplate.queryForList("select service_id from service_catalog", Integer.class)
+                    .stream().mapToInt(Integer::intValue).toArray();
+            JdbcTemplate sampler = new JdbcTemplate(jdbcTemplate.getDataSource());
+            sampler.setMaxRows(SAMPLE_ROWS);
+            int[][] vehicles = sampler.query("select vehicle_id, customer_id from vehicles",
+                    (rs, i) -> new int[]{rs.getInt(1), rs.getInt(2)}).toArray(int[][]::new);
+            List<String> terms = new ArrayList<>();
+            sampler.query("select name, phone from customers", rs -> {
+                String[] names = rs.getString(1).split(" ");
+                String name = names[terms.size() % names.length];
+                String phone = rs.getString(2);
+                // Type-ahead input: a 3-5 character name prefix, or the last four digits of the phone
+                terms.add(terms.size() % 4 == 3 && phone != null && phone.length() >= 4
+                        ? phone.substring(phone.length() - 4)
+                        : name.substring(0, Math.min(name.length(), 3 + terms.size() % 3)));
+            });
+            if (centerIds.length == 0 || serviceIds.length == 0 || vehicles.length == 0 || terms.isEmpty()) {
+                throw new IllegalStateException("Nothing to drive: the database has no centers, services or customers");
+            }
+            return new Workload(baseUrl, centerIds, serviceIds, vehicles, terms.toArray(String[]::new));
+        }
+
+        HttpRequest request(Operation op, SplittableRandom random) {
+            int centerId = centerIds[random.nextInt(centerIds.length)];
+            int serviceId = serviceIds[random.nextInt(serviceIds.length)];
+            return switch (op) {
+                case FIND_SLOT -> post("/api/schedule/find-slot",
+                        "{\"serviceCatalogId\":" + serviceId + ",\"centerId\":" + centerId + "}");
+                case FIND_SLOTS -> post("/api/schedule/find-slots",
+                        "{\"serviceCatalogId\":" + serviceId + ",\"centerId\":" + centerId + ",\"limit\":5}");
+                case FIND_SLOTS_REGION -> post("/api/schedule/find-slots/multi-center",
+                        "{\"serviceCatalogId\":" + serviceId + ",\"regionStrategy\":\""
+                                + RegionStrategy.values()[random.nextInt(RegionStrategy.values().length)] + "\",\"limit\":5}");
+                case BOOK -> {
+                    int[] vehicle = vehicles[random.nextInt(vehicles.length)];
+                    LocalDateTime startTime = LocalDate.now().plusDays(1 + random.nextInt(14))
+                            .atTime(SlotModel.DEFAULT_OPENING)
+                            .plusMinutes((long) SlotModel.DEFAULT_SLOT_MINUTES
+                                    * random.nextInt(SlotModel.DEFAULT.totalSlots()));
+                    yield post("/api/schedule/book", "{\"customerId\":" + vehicle[1] + ",\"vehicleId\":" + vehicle[0]
+                            + ",\"serviceCatalogId\":" + serviceId + ",\"centerId\":" + centerId
+                            + ",\"startTime\":\"" + startTime + "\"}");
+                }
+                case SEARCH -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/customers/search?q="
+                                + URLEncoder.encode(searchTerms[random.nextInt(searchTerms.length)], StandardCharsets.UTF_8)))
+                        .GET()
+                        .build();
+            };
+        }
+
+        private HttpRequest post(String path, String json) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+    }
+
+    /**
+     * Latencies and status counts of one client for one operation; merged after the run.
+     */
+    private static final class Recorder {
+        long[] latencies = new long[1024];
+        int count;
+        long ok;
+        long clientErrors;
+        long errors;
+
+        void record(int status, long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status >= 200 && status < 300) {
+                ok++;
+            } else if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else {
+                errors++;
+            }
+        }
+
+        void add(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            ok += other.ok;
+            clientErrors += other.clientErrors;
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.appointmentscheduler.backend.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Ids for rows inserted with JDBC, drawn from the entity's own identifier generator (for the
+ * pooled sequences, one sequence call per allocationSize ids), so they never overlap the ids
+ * Hibernate hands out for later inserts.
+ */
+final class EntityIdSource {
+
+    private final IdentifierGenerator generator;
+    private final SharedSessionContractImplementor session;
+
+    /**
+     * @param session a session kept open while ids are drawn; the sequence is read on its connection
+     */
+    EntityIdSource(SessionFactoryImplementor sessionFactory, SharedSessionContractImplementor session, Class<?> entity) {
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(entity).getGenerator();
+        this.session = session;
+    }
+
+    long next() {
+        return ((Number) generator.generate(session, null)).longValue();
+    }
+}
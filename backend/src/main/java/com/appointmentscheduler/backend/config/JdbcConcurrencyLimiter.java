@@ -0,0 +1,111 @@
+package com.appointmentscheduler.backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many threads hold a JDBC connection at once. With requests on virtual threads nothing
+ * else bounds how many reach the pool together; they would all wait inside Hikari and fail after
+ * its connection-timeout. Here they queue in arrival order on a fair semaphore, parked without
+ * holding a carrier thread, for up to acquireTimeoutMillis.
+ *
+ * A thread that already holds a permit gets further connections without one (REQUIRES_NEW, the
+ * stateless session behind the id generators), so the limit is kept below the pool size and the
+ * connections above it serve those nested borrows.
+ */
+public class JdbcConcurrencyLimiter extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+    public JdbcConcurrencyLimiter(DataSource target, int maxConcurrency, long acquireTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limited(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Threads waiting for a permit.
+     */
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    private Connection limited(ConnectionSource source) throws SQLException {
+        int[] count = held.get();
+        boolean permit = count[0] == 0;
+        if (permit) {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "No JDBC connection permit within " + acquireTimeoutMillis + " ms (" + waiting() + " waiting)");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a JDBC connection permit", e);
+            }
+        }
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            if (permit) {
+                permits.release();
+            }
+            throw e;
+        }
+        count[0]++;
+        return releasingOnClose(connection, count, permit);
+    }
+
+    private Connection releasingOnClose(Connection connection, int[] count, boolean permit) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        // Closing twice is a no-op, and must not release twice
+                        if (closed.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                count[0]--;
+                                if (permit) {
+                                    permits.release();
+                                }
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.appointmentscheduler.backend.config;
+
+/**
+ * Published when {@link SeedDataLoader} finishes loading in the background, after the application
+ * was already reported ready. The rows were written with JDBC, so the resident indexes rebuild from
+ * the database on this event as they do on startup.
+ */
+public record SeedDataLoadedEvent(long elapsedMillis) {
+}
@@ -0,0 +1,277 @@
+package com.appointmentscheduler.backend.config;
+
+import com.appointmentscheduler.backend.entity.BayScheduler;
+import com.appointmentscheduler.backend.entity.TechnicianScheduler;
+import com.appointmentscheduler.backend.enums.SeedMode;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Demo data for an empty database, loaded from the CSV files under classpath:seed/ (one per table,
+ * rows referring to each other by name, scheduler days as offsets from the load date) as JDBC
+ * batches of insert-selects in one transaction, followed by {@link SyntheticDataGenerator}.
+ *
+ * scheduler.seed.mode picks when: ASYNC loads on a background thread so startup does not wait
+ * for it, with this health indicator OUT_OF_SERVICE (and /actuator/health/readiness with it) until
+ * the load is done; SYNC loads inside the startup runner; OFF, set by the noseed profile, skips it.
+ * A background load ends with a {@link SeedDataLoadedEvent} so the resident indexes, which were
+ * built from the still empty tables at startup, are rebuilt.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeedDataLoader implements CommandLineRunner, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedDataLoader.class);
+    private static final String SEED_DIRECTORY = "seed/";
+
+    private enum State { PENDING, LOADING, DONE, FAILED }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${scheduler.seed.mode:ASYNC}")
+    private SeedMode mode;
+
+    @Value("${scheduler.seed.batch-size:500}")
+    private int batchSize;
+
+    private volatile State state = State.PENDING;
+    private volatile Throwable failure;
+
+    @Override
+    public void run(String... args) {
+        switch (mode) {
+            case OFF -> state = State.DONE;
+            case SYNC -> load();
+            case ASYNC -> {
+                state = State.LOADING;
+                Thread.ofPlatform().name("seed-data").daemon().start(() -> {
+                    long startNanos = System.nanoTime();
+                    if (load()) {
+                        eventPublisher.publishEvent(new SeedDataLoadedEvent((System.nanoTime() - startNanos) / 1_000_000));
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        return switch (state) {
+            case DONE -> Health.up().build();
+            case FAILED -> Health.down(failure).build();
+            default -> Health.outOfService().withDetail("mode", mode).build();
+        };
+    }
+
+    private boolean load() {
+        state = State.LOADING;
+        try {
+            long startNanos = System.nanoTime();
+            Integer centers = jdbcTemplate.queryForObject("select count(*) from service_centers", Integer.class);
+            if (centers != null && centers > 0) {
+                log.info("Seed data already present ({} centers), skipping", centers);
+            } else {
+                int rows = transactionTemplate.execute(status -> loadSeed());
+                log.info("Seed data: {} rows loaded in {} ms", rows, (System.nanoTime() - startNanos) / 1_000_000);
+            }
+            syntheticDataGenerator.generate();
+            state = State.DONE;
+            return true;
+        } catch (RuntimeException e) {
+            failure = e;
+            state = State.FAILED;
+            log.error("Seed data load failed", e);
+            return false;
+        }
+    }
+
+    private int loadSeed() {
+        int rows = 0;
+        rows += insert("service_centers.csv",
+                "insert into service_centers (name, region_strategy, opening_time, closing_time, slot_minutes) values (?, ?, ?, ?, ?)",
+                (ps, row) -> {
+                    ps.setString(1, row.get("name"));
+                    ps.setString(2, row.get("region_strategy"));
+                    ps.setTime(3, Time.valueOf(LocalTime.parse(row.get("opening_time"))));
+                    ps.setTime(4, Time.valueOf(LocalTime.parse(row.get("closing_time"))));
+                    ps.setInt(5, row.getInt("slot_minutes"));
+                });
+        rows += insert("parts_inventory.csv",
+                "insert into parts_inventory (center_id, part_name, available_parts, ordered_parts, lead_time_days) "
+                        + "select center_id, ?, ?, ?, ? from service_centers where name = ?",
+                (ps, row) -> {
+                    ps.setString(1, row.get("part_name"));
+                    ps.setInt(2, row.getInt("available_parts"));
+                    ps.setInt(3, row.getInt("ordered_parts"));
+                    ps.setInt(4, row.getInt("lead_time_days"));
+                    ps.setString(5, row.get("center"));
+                });
+        rows += insert("service_catalog.csv",
+                "insert into service_catalog (name, duration_minutes, required_skill_level, required_bay_type) values (?, ?, ?, ?)",
+                (ps, row) -> {
+                    ps.setString(1, row.get("name"));
+                    ps.setInt(2, row.getInt("duration_minutes"));
+                    ps.setInt(3, row.getInt("required_skill_level"));
+                    ps.setString(4, row.get("required_bay_type"));
+                });
+        rows += insert("service_parts_mapping.csv",
+                "insert into service_parts_mapping (service_id, part_id, quantity_required) "
+                        + "select s.service_id, p.part_id, ? from service_catalog s "
+                        + "join service_centers c on c.name = ? "
+                        + "join parts_inventory p on p.center_id = c.center_id and p.part_name = ? "
+                        + "where s.name = ?",
+                (ps, row) -> {
+                    ps.setInt(1, row.getInt("quantity_required"));
+                    ps.setString(2, row.get("center"));
+                    ps.setString(3, row.get("part_name"));
+                    ps.setString(4, row.get("service"));
+                });
+        rows += insert("symptom_dataset.csv",
+                "insert into symptom_dataset (mapped_service_id, keyword_phrase) select service_id, ? from service_catalog where name = ?",
+                (ps, row) -> {
+                    ps.setString(1, row.get("keyword_phrase"));
+                    ps.setString(2, row.get("service"));
+                });
+        rows += insert("technicians.csv",
+                "insert into technicians (center_id, name, skill_level) select center_id, ?, ? from service_centers where name = ?",
+                (ps, row) -> {
+                    ps.setString(1, row.get("name"));
+                    ps.setInt(2, row.getInt("skill_level"));
+                    ps.setString(3, row.get("center"));
+                });
+        rows += insert("service_bays.csv",
+                "insert into service_bays (center_id, name, type) select center_id, ?, ? from service_centers where name = ?",
+                (ps, row) -> {
+                    ps.setString(1, row.get("name"));
+                    ps.setString(2, row.get("type"));
+                    ps.setString(3, row.get("center"));
+                });
+        rows += insert("customers.csv",
+                "insert into customers (name, phone, loyalty_score) values (?, ?, ?)",
+                (ps, row) -> {
+                    ps.setString(1, row.get("name"));
+                    ps.setString(2, row.get("phone"));
+                    ps.setInt(3, row.getInt("loyalty_score"));
+                });
+        rows += insert("vehicles.csv",
+                "insert into vehicles (customer_id, vin, model) select customer_id, ?, ? from customers where phone = ?",
+                (ps, row) -> {
+                    ps.setString(1, row.get("vin"));
+                    ps.setString(2, row.get("model"));
+                    ps.setString(3, row.get("customer_phone"));
+                });
+
+        LocalDate today = LocalDate.now();
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            EntityIdSource techRowIds = new EntityIdSource(sessionFactory, (SharedSessionContractImplementor) session, TechnicianScheduler.class);
+            EntityIdSource bayRowIds = new EntityIdSource(sessionFactory, (SharedSessionContractImplementor) session, BayScheduler.class);
+            rows += insert("technician_scheduler.csv",
+                    "insert into technician_scheduler (id, technician_id, date, bitmask, bitmask_hi, version) "
+                            + "select ?, t.tech_id, ?, ?, ?, 0 from technicians t join service_centers c on c.center_id = t.center_id "
+                            + "where c.name = ? and t.name = ?",
+                    (ps, row) -> {
+                        ps.setLong(1, techRowIds.next());
+                        ps.setDate(2, Date.valueOf(today.plusDays(row.getInt("day"))));
+                        ps.setLong(3, row.getLong("bitmask"));
+                        ps.setLong(4, row.getLong("bitmask_hi"));
+                        ps.setString(5, row.get("center"));
+                        ps.setString(6, row.get("technician"));
+                    });
+            rows += insert("bay_scheduler.csv",
+                    "insert into bay_scheduler (id, bay_id, date, bitmask, bitmask_hi, version) "
+                            + "select ?, b.bay_id, ?, ?, ?, 0 from service_bays b join service_centers c on c.center_id = b.center_id "
+                            + "where c.name = ? and b.name = ?",
+                    (ps, row) -> {
+                        ps.setLong(1, bayRowIds.next());
+                        ps.setDate(2, Date.valueOf(today.plusDays(row.getInt("day"))));
+                        ps.setLong(3, row.getLong("bitmask"));
+                        ps.setLong(4, row.getLong("bitmask_hi"));
+                        ps.setString(5, row.get("center"));
+                        ps.setString(6, row.get("bay"));
+                    });
+        }
+        return rows;
+    }
+
+    private int insert(String file, String sql, ParameterizedPreparedStatementSetter<CsvRow> setter) {
+        List<CsvRow> rows = readCsv(file);
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, setter);
+        return rows.size();
+    }
+
+    /**
+     * Header line, then one row per line; values are never quoted and contain no commas.
+     */
+    private static List<CsvRow> readCsv(String file) {
+        ClassPathResource resource = new ClassPathResource(SEED_DIRECTORY + file);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String[] header = reader.readLine().split(",");
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim(), i);
+            }
+            List<CsvRow> rows = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    rows.add(new CsvRow(columns, line.split(",", -1)));
+                }
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read seed file " + file, e);
+        }
+    }
+
+    private record CsvRow(Map<String, Integer> columns, String[] values) {
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                throw new IllegalArgumentException("Seed file has no column " + column);
+            }
+            return values[index].trim();
+        }
+
+        int getInt(String column) {
+            return Integer.parseInt(get(column));
+        }
+
+        long getLong(String column) {
+            return Long.parseLong(get(column));
+        }
+    }
+}
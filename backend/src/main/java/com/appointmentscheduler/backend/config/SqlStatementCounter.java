@@ -0,0 +1,48 @@
+package com.appointmentscheduler.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread, so a request can report how many it
+ * issued: read {@link #current()} before and after. Registered as Hibernate's statement inspector;
+ * a JDBC batch is prepared once and counts once.
+ *
+ * Unlike hibernate.generate_statistics this is one thread-local increment per statement and is
+ * left on in production.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counts.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far, including any {@link #credit credited} to it.
+     */
+    public long current() {
+        return counts.get()[0];
+    }
+
+    /**
+     * Counts statements that helper threads prepared on this thread's behalf, e.g. the workers of
+     * a fanned-out search, so the request that waited for them reports them.
+     */
+    public void credit(long statements) {
+        counts.get()[0] += statements;
+    }
+}
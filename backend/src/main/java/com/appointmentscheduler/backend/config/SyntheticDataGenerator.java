@@ -0,0 +1,305 @@
+package com.appointmentscheduler.backend.config;
+
+import com.appointmentscheduler.backend.entity.BayScheduler;
+import com.appointmentscheduler.backend.entity.TechnicianScheduler;
+import com.appointmentscheduler.backend.enums.BayType;
+import com.appointmentscheduler.backend.enums.RegionStrategy;
+import com.appointmentscheduler.backend.service.SlotMask;
+import com.appointmentscheduler.backend.service.SlotModel;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Capacity-planning data set: scheduler.synthetic.centers centers, each with technicians, bays,
+ * parts stock and a day mask per technician and bay for scheduler.synthetic.schedule-days days,
+ * plus a customer base with vehicles. Off unless scheduler.synthetic.enabled.
+ *
+ * Run by {@link SeedDataLoader} after the seed data, whose service catalog, BOM and part names it
+ * reuses, and only once per database: it is skipped when synthetic centers already exist. Rows are
+ * written as JDBC batches, one transaction per center or customer chunk. Identity keys are read
+ * back from each batch; scheduler row ids come from {@link EntityIdSource}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String CENTER_PREFIX = "Synthetic Center ";
+    private static final int CUSTOMER_CHUNKS_PER_TRANSACTION = 10;
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Charlie", "Diana", "Ethan", "Fiona", "George", "Hannah", "Ian", "Julia",
+            "Kevin", "Laura", "Mohammed", "Nina", "Oscar", "Priya", "Quentin", "Rosa", "Samuel", "Tara",
+            "Uma", "Victor", "Wei", "Ximena", "Yusuf", "Zoe"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez",
+            "Wilson", "Martinez", "Anderson", "Taylor", "Thomas", "Moore", "Jackson", "Martin", "Lee",
+            "Thompson", "White", "Harris", "Clark", "Lewis", "Walker", "Young", "Allen", "King", "Wright",
+            "Scott", "Nguyen", "Patel", "Kowalski", "Schmidt", "Rossi", "Dubois", "Okafor"
+    };
+    private static final String[] MODELS = {
+            "Honda Civic", "Toyota Corolla", "Tesla Model 3", "Ford Focus", "Chevy Malibu",
+            "BMW 3 Series", "Audi A4", "Nissan Altima", "Kia Optima", "Hyundai Elantra"
+    };
+    // Half the bays are general purpose
+    private static final BayType[] BAY_TYPES = {BayType.GENERAL, BayType.GENERAL, BayType.QUICK, BayType.TIRE_ISSUES};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${scheduler.synthetic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scheduler.synthetic.centers:500}")
+    private int centers;
+
+    @Value("${scheduler.synthetic.technicians-per-center:40}")
+    private int techniciansPerCenter;
+
+    @Value("${scheduler.synthetic.bays-per-center:20}")
+    private int baysPerCenter;
+
+    @Value("${scheduler.synthetic.schedule-days:170}")
+    private int scheduleDays;
+
+    @Value("${scheduler.synthetic.fill-ratio:0.5}")
+    private double fillRatio;
+
+    @Value("${scheduler.synthetic.customers:1000000}")
+    private int customers;
+
+    @Value("${scheduler.synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${scheduler.synthetic.seed:42}")
+    private long seed;
+
+    public void generate() {
+        if (!enabled) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "select count(*) from service_centers where name like ?", Integer.class, CENTER_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already present ({} centers), skipping", existing);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        Random random = new Random(seed);
+        List<String> partNames = jdbcTemplate.queryForList(
+                "select distinct part_name from parts_inventory order by part_name", String.class);
+        long schedulerRows;
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            EntityIdSource techRowIds = new EntityIdSource(sessionFactory, (SharedSessionContractImplementor) session, TechnicianScheduler.class);
+            EntityIdSource bayRowIds = new EntityIdSource(sessionFactory, (SharedSessionContractImplementor) session, BayScheduler.class);
+            List<Integer> centerIds = insertCenters();
+            schedulerRows = 0;
+            for (int i = 0; i < centerIds.size(); i++) {
+                int centerId = centerIds.get(i);
+                schedulerRows += transactionTemplate.execute(status ->
+                        populateCenter(centerId, partNames, random, techRowIds, bayRowIds));
+                if ((i + 1) % 50 == 0) {
+                    log.info("Synthetic data: {}/{} centers", i + 1, centerIds.size());
+                }
+            }
+        }
+        long vehicles = insertCustomers(random);
+
+        log.info("Synthetic data: {} centers, {} technicians, {} bays, {} scheduler rows, {} customers, {} vehicles in {} s",
+                centers, (long) centers * techniciansPerCenter, (long) centers * baysPerCenter, schedulerRows,
+                customers, vehicles, (System.nanoTime() - startNanos) / 1_000_000_000);
+    }
+
+    private List<Integer> insertCenters() {
+        List<Integer> ids = new ArrayList<>(centers);
+        for (int from = 0; from < centers; from += batchSize) {
+            int offset = from;
+            int count = Math.min(batchSize, centers - from);
+            ids.addAll(transactionTemplate.execute(status -> insertReturningKeys(
+                    "insert into service_centers (name, region_strategy, opening_time, closing_time, slot_minutes) values (?, ?, ?, ?, ?)",
+                    "center_id", count, (ps, i) -> {
+                        int n = offset + i;
+                        ps.setString(1, CENTER_PREFIX + String.format("%04d", n + 1));
+                        ps.setString(2, (n % 2 == 0 ? RegionStrategy.PREDICTIVE_US : RegionStrategy.DETERMINISTIC_EU).name());
+                        ps.setTime(3, Time.valueOf(SlotModel.DEFAULT_OPENING));
+                        ps.setTime(4, Time.valueOf(SlotModel.DEFAULT_CLOSING));
+                        ps.setInt(5, SlotModel.DEFAULT_SLOT_MINUTES);
+                    })));
+        }
+        return ids;
+    }
+
+    /**
+     * Technicians, bays and parts stock of one center, and a day mask per technician and bay.
+     * Returns the number of scheduler rows written.
+     */
+    private long populateCenter(int centerId, List<String> partNames, Random random,
+                                EntityIdSource techRowIds, EntityIdSource bayRowIds) {
+        List<Integer> technicianIds = insertReturningKeys(
+                "insert into technicians (name, skill_level, center_id) values (?, ?, ?)",
+                "tech_id", techniciansPerCenter, (ps, i) -> {
+                    ps.setString(1, "Tech " + centerId + "-" + (i + 1));
+                    // Levels A, B and C in equal numbers
+                    ps.setInt(2, i % 3 + 1);
+                    ps.setInt(3, centerId);
+                });
+        List<Integer> bayIds = insertReturningKeys(
+                "insert into service_bays (name, type, center_id) values (?, ?, ?)",
+                "bay_id", baysPerCenter, (ps, i) -> {
+                    BayType type = BAY_TYPES[i % BAY_TYPES.length];
+                    ps.setString(1, type.name() + " Bay " + (i + 1));
+                    ps.setString(2, type.name());
+                    ps.setInt(3, centerId);
+                });
+        jdbcTemplate.batchUpdate(
+                "insert into parts_inventory (center_id, part_name, available_parts, ordered_parts, lead_time_days) values (?, ?, ?, 0, ?)",
+                partNames, batchSize, (ps, partName) -> {
+                    ps.setInt(1, centerId);
+                    ps.setString(2, partName);
+                    ps.setInt(3, random.nextInt(21));
+                    ps.setInt(4, 1 + random.nextInt(5));
+                });
+
+        return insertDayMasks("insert into technician_scheduler (id, technician_id, date, bitmask, bitmask_hi, version) values (?, ?, ?, ?, ?, 0)",
+                technicianIds, techRowIds, random)
+                + insertDayMasks("insert into bay_scheduler (id, bay_id, date, bitmask, bitmask_hi, version) values (?, ?, ?, ?, ?, 0)",
+                bayIds, bayRowIds, random);
+    }
+
+    private long insertDayMasks(String sql, List<Integer> resourceIds, EntityIdSource ids, Random random) {
+        LocalDate today = LocalDate.now();
+        List<DayMaskRow> rows = new ArrayList<>(resourceIds.size() * scheduleDays);
+        for (Integer resourceId : resourceIds) {
+            for (int day = 0; day < scheduleDays; day++) {
+                rows.add(new DayMaskRow(ids.next(), resourceId, today.plusDays(day), dayMask(random)));
+            }
+        }
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setLong(2, row.resourceId());
+            ps.setDate(3, Date.valueOf(row.date()));
+            ps.setLong(4, row.mask()[0]);
+            ps.setLong(5, row.mask()[1]);
+        });
+        return rows.size();
+    }
+
+    /**
+     * A day of busy and free runs of 1-4 slots, each run busy with probability fillRatio.
+     */
+    private long[] dayMask(Random random) {
+        int totalSlots = SlotModel.DEFAULT.totalSlots();
+        long[] mask = new long[SlotMask.WORDS];
+        for (int slot = 0; slot < totalSlots; ) {
+            int run = Math.min(1 + random.nextInt(4), totalSlots - slot);
+            if (random.nextDouble() < fillRatio) {
+                mask = SlotMask.or(mask, SlotMask.range(slot, run));
+            }
+            slot += run;
+        }
+        return mask;
+    }
+
+    /**
+     * Customers with one vehicle each, every third with two. Returns the number of vehicles.
+     */
+    private long insertCustomers(Random random) {
+        int chunk = batchSize * CUSTOMER_CHUNKS_PER_TRANSACTION;
+        long vehicles = 0;
+        for (int from = 0; from < customers; from += chunk) {
+            int offset = from;
+            int count = Math.min(chunk, customers - from);
+            vehicles += transactionTemplate.execute(status -> {
+                List<Integer> customerIds = new ArrayList<>(count);
+                for (int start = 0; start < count; start += batchSize) {
+                    int first = offset + start;
+                    customerIds.addAll(insertReturningKeys(
+                            "insert into customers (name, phone, loyalty_score) values (?, ?, ?)",
+                            "customer_id", Math.min(batchSize, count - start), (ps, i) -> {
+                                ps.setString(1, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                                ps.setString(2, String.format("555-%07d", first + i));
+                                ps.setInt(3, 10 + random.nextInt(91));
+                            }));
+                }
+                List<int[]> rows = new ArrayList<>(count + count / 3 + 1);
+                for (int i = 0; i < customerIds.size(); i++) {
+                    int vehiclesForCustomer = (offset + i) % 3 == 0 ? 2 : 1;
+                    for (int v = 0; v < vehiclesForCustomer; v++) {
+                        rows.add(new int[]{customerIds.get(i), offset + i, v});
+                    }
+                }
+                jdbcTemplate.batchUpdate("insert into vehicles (customer_id, vin, model) values (?, ?, ?)",
+                        rows, batchSize, (ps, row) -> {
+                            ps.setInt(1, row[0]);
+                            ps.setString(2, String.format("SYN%013d%d", row[1], row[2]));
+                            ps.setString(3, MODELS[(row[1] + row[2]) % MODELS.length]);
+                        });
+                return (long) rows.size();
+            });
+            if ((from / chunk + 1) % 10 == 0) {
+                log.info("Synthetic data: {}/{} customers", from + count, customers);
+            }
+        }
+        return vehicles;
+    }
+
+    /**
+     * One JDBC batch of count rows, returning the generated keys in row order.
+     */
+    private List<Integer> insertReturningKeys(String sql, String keyColumn, int count, RowSetter setter) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{keyColumn}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.set(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                }, keys);
+        List<Integer> ids = new ArrayList<>(count);
+        // The key's column label differs by driver (CENTER_ID on H2, GENERATED_KEY on MySQL)
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.values().iterator().next()).intValue());
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private record DayMaskRow(long id, long resourceId, LocalDate date, long[] mask) {}
+}
@@ -0,0 +1,47 @@
+package com.appointmentscheduler.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * With spring.threads.virtual.enabled Tomcat runs every request on its own virtual thread (as do
+ * the scheduled jobs); the DataSource is then put behind a {@link JdbcConcurrencyLimiter}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor jdbcConcurrencyLimiterPostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("scheduler.jdbc.max-concurrency", Integer.class, 8);
+        long acquireTimeoutMillis = environment.getProperty("scheduler.jdbc.acquire-timeout-ms", Long.class, 30_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof JdbcConcurrencyLimiter)) {
+                    return new JdbcConcurrencyLimiter(dataSource, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder jdbcConcurrencyLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof JdbcConcurrencyLimiter limiter) {
+                Gauge.builder("scheduler.jdbc.waiting", limiter, JdbcConcurrencyLimiter::waiting)
+                        .description("Threads waiting for a JDBC connection permit")
+                        .register(registry);
+            }
+        };
+    }
+}
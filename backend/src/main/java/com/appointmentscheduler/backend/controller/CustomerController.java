@@ -1,8 +1,16 @@
 package com.appointmentscheduler.backend.controller;
 
 import com.appointmentscheduler.backend.entity.Customer;
+import com.appointmentscheduler.backend.entity.Vehicle;
 import com.appointmentscheduler.backend.repository.CustomerRepository;
+import com.appointmentscheduler.backend.service.CustomerSearchIndex;
+import com.appointmentscheduler.backend.service.CustomerSearchService;
+import com.appointmentscheduler.backend.service.SchedulerMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -10,20 +18,105 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
 public class CustomerController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final CustomerRepository customerRepository;
+    private final CustomerSearchService customerSearchService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Value("${scheduler.customer-search.max-page-size:100}")
+    private int maxPageSize;
 
+    // Deepest result a page may start at; type-ahead users never page this far
+    @Value("${scheduler.customer-search.max-offset:10000}")
+    private int maxOffset;
+
+    /**
+     * Customers whose name or phone matches q, best match first, one page at a time.
+     * The total number of matches is returned in the X-Total-Count header; a page starting past
+     * scheduler.customer-search.max-offset is a 400.
+     */
     @GetMapping("/search")
-    public List<Customer> searchCustomers(@RequestParam(name = "q", required = false) String query) {
+    public ResponseEntity<List<CustomerResponse>> searchCustomers(@RequestParam(name = "q", required = false) String query,
+                                                          @RequestParam(name = "page", defaultValue = "0") int page,
+                                                          @RequestParam(name = "size", defaultValue = "20") int size) {
         if (query == null || query.isBlank()) {
-            return Collections.emptyList();
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        if ((long) pageNumber * pageSize > maxOffset) {
+            return ResponseEntity.badRequest().build();
+        }
+        long startNanos = System.nanoTime();
+
+        if (!customerSearchService.isReady()) {
+            Page<Customer> matches = customerRepository.findByNameContainingIgnoreCaseOrPhoneContainingIgnoreCase(
+                    query, query, PageRequest.of(pageNumber, pageSize));
+            List<CustomerResponse> body = withVehicles(matches.getContent().stream().map(Customer::getCustomerId).toList());
+            schedulerMetrics.customerSearched(false, startNanos);
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(matches.getTotalElements()))
+                    .body(body);
+        }
+
+        CustomerSearchIndex.SearchPage matches = customerSearchService.search(query, pageNumber, pageSize);
+        List<CustomerResponse> body = withVehicles(matches.customerIds());
+        schedulerMetrics.customerSearched(true, startNanos);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(matches.total()))
+                .body(body);
+    }
+
+    /**
+     * The customers with their vehicles in one query, in the order of the given ids.
+     */
+    private List<CustomerResponse> withVehicles(List<Integer> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Customer> customers = customerRepository.findByCustomerIdIn(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getCustomerId, Function.identity()));
+        return customerIds.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .map(CustomerResponse::of)
+                .toList();
+    }
+
+    /**
+     * A search hit as shown in the customer lookup step; written by ResponseSerializers.
+     */
+    public record CustomerResponse(
+        Integer customerId,
+        String name,
+        String phone,
+        Integer loyaltyScore,
+        List<VehicleResponse> vehicles
+    ) {
+        static CustomerResponse of(Customer customer) {
+            return new CustomerResponse(
+                customer.getCustomerId(),
+                customer.getName(),
+                customer.getPhone(),
+                customer.getLoyaltyScore(),
+                customer.getVehicles().stream().map(VehicleResponse::of).toList());
+        }
+    }
+
+    public record VehicleResponse(Integer vehicleId, String vin, String model) {
+        static VehicleResponse of(Vehicle vehicle) {
+            return new VehicleResponse(vehicle.getVehicleId(), vehicle.getVin(), vehicle.getModel());
         }
-        return customerRepository
-                .findByNameContainingIgnoreCaseOrPhoneContainingIgnoreCase(query, query);
     }
 }
@@ -0,0 +1,68 @@
+package com.appointmentscheduler.backend.controller;
+
+import com.appointmentscheduler.backend.service.PartsArrivalService;
+import com.appointmentscheduler.backend.service.ProcurementPipeline;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/procurement")
+@RequiredArgsConstructor
+public class ProcurementController {
+
+    private final ProcurementPipeline procurementPipeline;
+    private final PartsArrivalService partsArrivalService;
+
+    /**
+     * Backlog of ACTION_REQUIRED tasks and pipeline throughput
+     */
+    @GetMapping("/stats")
+    public ProcurementPipeline.ProcurementStats stats() {
+        return procurementPipeline.stats();
+    }
+
+    /**
+     * Run the pipeline now instead of waiting for the next scheduled drain
+     */
+    @PostMapping("/drain")
+    public ResponseEntity<ProcurementPipeline.RunSummary> drain() {
+        ProcurementPipeline.RunSummary summary = procurementPipeline.drain();
+        if (summary == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Record a delivery of a part at a center (by default the part's own): appointments booked there
+     * get their parts, are confirmed once complete and moved earlier where a slot is free; the rest
+     * goes into that center's stock
+     */
+    @PostMapping("/arrivals")
+    public ResponseEntity<?> arrival(@RequestBody PartsArrivalRequest request) {
+        if (request.getPartId() == null || request.getQuantity() == null) {
+            return ResponseEntity.badRequest()
+                    .body(new SchedulerController.ErrorResponse("partId and quantity are required"));
+        }
+        try {
+            return ResponseEntity.ok(partsArrivalService.receive(
+                    request.getCenterId(), request.getPartId(), request.getQuantity()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new SchedulerController.ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @Data
+    static class PartsArrivalRequest {
+        private Integer centerId;
+        private Integer partId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,206 @@
+package com.appointmentscheduler.backend.controller;
+
+import com.appointmentscheduler.backend.controller.CustomerController.CustomerResponse;
+import com.appointmentscheduler.backend.controller.CustomerController.VehicleResponse;
+import com.appointmentscheduler.backend.controller.SchedulerController.AppointmentResponse;
+import com.appointmentscheduler.backend.controller.SchedulerController.CenterSlotOption;
+import com.appointmentscheduler.backend.controller.SchedulerController.FindSlotResponse;
+import com.appointmentscheduler.backend.controller.SchedulerController.SlotOption;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand-written serializers for the response records of the booking and search endpoints.
+ *
+ * Spring Boot adds every Jackson module bean to its ObjectMapper, so these records are written
+ * field by field with field names encoded once, up front: no bean introspection when a type is
+ * first seen and no reflective accessor calls per response. The output is what Jackson would
+ * derive for the records (ISO date-times, enum names, nulls included); ResponseSerializersTests
+ * compares the two.
+ */
+@Component
+public class ResponseSerializers extends SimpleModule {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final SerializedString APPOINTMENT_ID = new SerializedString("appointmentId");
+    private static final SerializedString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializedString VEHICLE_ID = new SerializedString("vehicleId");
+    private static final SerializedString SERVICE_CATALOG_ID = new SerializedString("serviceCatalogId");
+    private static final SerializedString START_TIME = new SerializedString("startTime");
+    private static final SerializedString END_TIME = new SerializedString("endTime");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString EMERGENCY = new SerializedString("emergency");
+    private static final SerializedString TECHNICIAN_ID = new SerializedString("technicianId");
+    private static final SerializedString TECHNICIAN_NAME = new SerializedString("technicianName");
+    private static final SerializedString BAY_ID = new SerializedString("bayId");
+    private static final SerializedString BAY_NAME = new SerializedString("bayName");
+    private static final SerializedString EARLIEST_SLOT = new SerializedString("earliestSlot");
+    private static final SerializedString PARTS_ARRIVAL_DATE = new SerializedString("partsArrivalDate");
+    private static final SerializedString CENTER_ID = new SerializedString("centerId");
+    private static final SerializedString CENTER_NAME = new SerializedString("centerName");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PHONE = new SerializedString("phone");
+    private static final SerializedString LOYALTY_SCORE = new SerializedString("loyaltyScore");
+    private static final SerializedString VEHICLES = new SerializedString("vehicles");
+    private static final SerializedString VIN = new SerializedString("vin");
+    private static final SerializedString MODEL = new SerializedString("model");
+
+    public ResponseSerializers() {
+        super("ResponseSerializers");
+        addSerializer(AppointmentResponse.class, new AppointmentResponseSerializer());
+        addSerializer(SlotOption.class, new SlotOptionSerializer());
+        addSerializer(CenterSlotOption.class, new CenterSlotOptionSerializer());
+        addSerializer(FindSlotResponse.class, new FindSlotResponseSerializer());
+        addSerializer(CustomerResponse.class, new CustomerResponseSerializer());
+    }
+
+    static final class AppointmentResponseSerializer extends StdSerializer<AppointmentResponse> {
+        AppointmentResponseSerializer() {
+            super(AppointmentResponse.class);
+        }
+
+        @Override
+        public void serialize(AppointmentResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, APPOINTMENT_ID, value.appointmentId());
+            writeNumber(gen, CUSTOMER_ID, value.customerId());
+            writeNumber(gen, VEHICLE_ID, value.vehicleId());
+            writeNumber(gen, SERVICE_CATALOG_ID, value.serviceCatalogId());
+            writeDateTime(gen, START_TIME, value.startTime());
+            writeDateTime(gen, END_TIME, value.endTime());
+            gen.writeFieldName(STATUS);
+            if (value.status() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.status().name());
+            }
+            gen.writeFieldName(EMERGENCY);
+            gen.writeBoolean(value.emergency());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class SlotOptionSerializer extends StdSerializer<SlotOption> {
+        SlotOptionSerializer() {
+            super(SlotOption.class);
+        }
+
+        @Override
+        public void serialize(SlotOption value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeDateTime(gen, START_TIME, value.startTime());
+            writeDateTime(gen, END_TIME, value.endTime());
+            writeNumber(gen, TECHNICIAN_ID, value.technicianId());
+            writeString(gen, TECHNICIAN_NAME, value.technicianName());
+            writeNumber(gen, BAY_ID, value.bayId());
+            writeString(gen, BAY_NAME, value.bayName());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CenterSlotOptionSerializer extends StdSerializer<CenterSlotOption> {
+        CenterSlotOptionSerializer() {
+            super(CenterSlotOption.class);
+        }
+
+        @Override
+        public void serialize(CenterSlotOption value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, CENTER_ID, value.centerId());
+            writeString(gen, CENTER_NAME, value.centerName());
+            writeDateTime(gen, PARTS_ARRIVAL_DATE, value.partsArrivalDate());
+            writeDateTime(gen, START_TIME, value.startTime());
+            writeDateTime(gen, END_TIME, value.endTime());
+            writeNumber(gen, TECHNICIAN_ID, value.technicianId());
+            writeString(gen, TECHNICIAN_NAME, value.technicianName());
+            writeNumber(gen, BAY_ID, value.bayId());
+            writeString(gen, BAY_NAME, value.bayName());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class FindSlotResponseSerializer extends StdSerializer<FindSlotResponse> {
+        FindSlotResponseSerializer() {
+            super(FindSlotResponse.class);
+        }
+
+        @Override
+        public void serialize(FindSlotResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeDateTime(gen, EARLIEST_SLOT, value.earliestSlot());
+            writeDateTime(gen, PARTS_ARRIVAL_DATE, value.partsArrivalDate());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CustomerResponseSerializer extends StdSerializer<CustomerResponse> {
+        CustomerResponseSerializer() {
+            super(CustomerResponse.class);
+        }
+
+        @Override
+        public void serialize(CustomerResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, CUSTOMER_ID, value.customerId());
+            writeString(gen, NAME, value.name());
+            writeString(gen, PHONE, value.phone());
+            writeNumber(gen, LOYALTY_SCORE, value.loyaltyScore());
+            gen.writeFieldName(VEHICLES);
+            if (value.vehicles() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray();
+                for (VehicleResponse vehicle : value.vehicles()) {
+                    gen.writeStartObject();
+                    writeNumber(gen, VEHICLE_ID, vehicle.vehicleId());
+                    writeString(gen, VIN, vehicle.vin());
+                    writeString(gen, MODEL, vehicle.model());
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializedString name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(DATE_TIME.format(value));
+        }
+    }
+}
@@ -1,18 +1,39 @@
 package com.appointmentscheduler.backend.controller;
 
 import com.appointmentscheduler.backend.entity.*;
+import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.appointmentscheduler.backend.enums.RegionStrategy;
 import com.appointmentscheduler.backend.repository.*;
 import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
 import com.appointmentscheduler.backend.service.BitmaskSchedulerService;
+import com.appointmentscheduler.backend.service.MultiCenterSlotSearch;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.SchedulerMetrics;
+import com.appointmentscheduler.backend.service.SlotModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 // import java.util.stream.Collectors;
 
 @RestController
@@ -21,65 +42,38 @@ import java.util.Optional;
 public class SchedulerController {
 
     private final ServiceCatalogRepository serviceCatalogRepository;
-    private final ServicePartsMappingRepository servicePartsMappingRepository;
-    private final PartsInventoryRepository partsInventoryRepository;
     private final TechnicianRepository technicianRepository;
     private final ServiceBayRepository serviceBayRepository;
     private final ServiceCenterRepository serviceCenterRepository;
     private final BitmaskSchedulerService bitmaskSchedulerService;
     private final AppointmentBookingService appointmentBookingService;
+    private final AvailabilityIndex availabilityIndex;
+    private final PartsAvailabilityService partsAvailabilityService;
+    private final MultiCenterSlotSearch multiCenterSlotSearch;
+    private final SchedulerMetrics schedulerMetrics;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int DEFAULT_ALTERNATIVES = 5;
+    private static final int MAX_ALTERNATIVES = 50;
+    private static final int MAX_CENTER_IDS = 100;
+
+    @Value("${scheduler.booking.max-batch-size:500}")
+    private int maxBatchSize;
 
     @PostMapping("/find-slot")
     public ResponseEntity<?> findSlot(@RequestBody FindSlotRequest request) {
+        SchedulerMetrics.SearchSample sample = schedulerMetrics.startSearch(SchedulerMetrics.SearchKind.EARLIEST);
         try {
-            // 1. Validate inputs
-            Optional<ServiceCatalog> serviceOpt = serviceCatalogRepository.findById(request.getServiceCatalogId());
-            if (serviceOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("Service not found with ID: " + request.getServiceCatalogId()));
-            }
-
-            Optional<ServiceCenter> centerOpt = serviceCenterRepository.findById(request.getCenterId());
-            if (centerOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("Service center not found with ID: " + request.getCenterId()));
-            }
-
-            ServiceCatalog service = serviceOpt.get();
-            ServiceCenter center = centerOpt.get();
-
-            // 2. Dynamic Inventory Check
-            LocalDateTime partsArrivalDate = calculatePartsArrivalDate(service, request.getCenterId());
-
-            // 3. Dynamic Resource Lookup
-            List<Technician> qualifiedTechs = technicianRepository
-                .findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(
-                    request.getCenterId(), 
-                    service.getRequiredSkillLevel()
-                );
-
-            if (qualifiedTechs.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("No qualified technicians found for skill level: " + service.getRequiredSkillLevel()));
-            }
-
-            List<ServiceBay> qualifiedBays = serviceBayRepository
-                .findByServiceCenter_CenterIdAndType(
-                    request.getCenterId(), 
-                    service.getRequiredBayType()
-                );
-
-            if (qualifiedBays.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("No qualified service bays found for type: " + service.getRequiredBayType()));
-            }
+            SlotSearch search = resolveSearch(request.getServiceCatalogId(), request.getCenterId());
 
             // 4. Algorithm Execution
             LocalDateTime earliestSlot = bitmaskSchedulerService.findEarliestSlot(
-                partsArrivalDate,
-                service.getDurationMinutes(),
-                qualifiedTechs,
-                qualifiedBays
+                SlotModel.of(search.center()),
+                search.partsArrivalDate(),
+                search.service().getDurationMinutes(),
+                search.qualifiedTechs(),
+                search.qualifiedBays()
             );
 
             if (earliestSlot == null) {
@@ -87,11 +81,133 @@ public class SchedulerController {
                     .body(new ErrorResponse("No available slots found in the next 30 days"));
             }
 
-            return ResponseEntity.ok(new FindSlotResponse(earliestSlot, partsArrivalDate));
+            return ResponseEntity.ok(new FindSlotResponse(earliestSlot, search.partsArrivalDate()));
 
+        } catch (SearchNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("Error finding slot: " + e.getMessage()));
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * Top-K alternatives: the earliest feasible (start, technician, bay) options, one per start time
+     */
+    @PostMapping(value = "/find-slots", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> findSlots(@RequestBody FindSlotsRequest request) {
+        SchedulerMetrics.SearchSample sample = schedulerMetrics.startSearch(SchedulerMetrics.SearchKind.OPTIONS);
+        try {
+            SlotSearch search = resolveSearch(request.getServiceCatalogId(), request.getCenterId());
+            List<SlotOption> options = new ArrayList<>();
+            runSlotSearch(search, request.getLimit(), options::add);
+            return ResponseEntity.ok(options);
+        } catch (SearchNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Error finding slots: " + e.getMessage()));
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * Same options streamed as NDJSON lines or SSE events, each flushed as soon as it is found
+     */
+    @PostMapping(value = "/find-slots", produces = {NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamSlots(@RequestBody FindSlotsRequest request,
+                                                             @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        boolean sse = accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        MediaType contentType = sse ? MediaType.TEXT_EVENT_STREAM : MediaType.parseMediaType(NDJSON_VALUE);
+
+        SlotSearch search;
+        try {
+            search = resolveSearch(request.getServiceCatalogId(), request.getCenterId());
+        } catch (SearchNotFoundException e) {
+            ErrorResponse error = new ErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(contentType)
+                .body(out -> writeStreamed(out, error, sse));
+        }
+
+        // Timed on the thread that writes the body, up to the last option sent
+        StreamingResponseBody body = out -> {
+            SchedulerMetrics.SearchSample sample = schedulerMetrics.startSearch(SchedulerMetrics.SearchKind.OPTIONS);
+            try {
+                runSlotSearch(search, request.getLimit(), option -> {
+                    try {
+                        writeStreamed(out, option, sse);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                sample.stop();
+            }
+        };
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    /**
+     * Earliest slot anywhere nearby: the first {@code limit} options (default 1) over every center of
+     * a region strategy or over an explicit list of centers, each with its center and parts arrival
+     */
+    @PostMapping("/find-slots/multi-center")
+    public ResponseEntity<?> findSlotsAcrossCenters(@RequestBody MultiCenterSlotsRequest request) {
+        SchedulerMetrics.SearchSample sample = schedulerMetrics.startSearch(SchedulerMetrics.SearchKind.MULTI_CENTER);
+        try {
+            if (request.getServiceCatalogId() == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("serviceCatalogId is required"));
+            }
+            boolean byRegion = request.getRegionStrategy() != null;
+            boolean byIds = request.getCenterIds() != null && !request.getCenterIds().isEmpty();
+            if (byRegion == byIds) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Exactly one of regionStrategy or centerIds is required"));
+            }
+            if (byIds && request.getCenterIds().size() > MAX_CENTER_IDS) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("At most " + MAX_CENTER_IDS + " centerIds per search"));
+            }
+            if (byIds && request.getCenterIds().contains(null)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("centerIds must not contain null"));
+            }
+            ServiceCatalog service = serviceCatalogRepository.findById(request.getServiceCatalogId())
+                .orElseThrow(() -> new SearchNotFoundException("Service not found with ID: " + request.getServiceCatalogId()));
+            List<ServiceCenter> centers = byRegion
+                ? serviceCenterRepository.findByRegionStrategyOrderByCenterId(request.getRegionStrategy())
+                : findCenters(request.getCenterIds());
+
+            int k = request.getLimit() == null ? 1 : Math.max(1, Math.min(request.getLimit(), MAX_ALTERNATIVES));
+            int duration = service.getDurationMinutes();
+            List<CenterSlotOption> options = multiCenterSlotSearch.findEarliestAssignments(service, centers, k).stream()
+                .map(option -> new CenterSlotOption(
+                    option.center().getCenterId(),
+                    option.center().getName(),
+                    option.partsArrivalDate(),
+                    option.assignment().startTime(),
+                    option.assignment().startTime().plusMinutes(duration),
+                    option.assignment().technician().getTechnicianId(),
+                    option.assignment().technician().getName(),
+                    option.assignment().bay().getBayId(),
+                    option.assignment().bay().getName()))
+                .toList();
+            return ResponseEntity.ok(options);
+        } catch (SearchNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Error finding slots: " + e.getMessage()));
+        } finally {
+            sample.stop();
         }
     }
 
@@ -113,7 +229,7 @@ public class SchedulerController {
                     request.isEmergency()
             );
 
-            return ResponseEntity.ok(appointment);
+            return ResponseEntity.ok(AppointmentResponse.of(appointment));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse(e.getMessage()));
@@ -127,54 +243,141 @@ public class SchedulerController {
     }
 
     /**
-     * Calculate parts arrival date based on inventory availability
+     * Fleet intake: book many vehicles in one call, one result per item in request order
      */
-    private LocalDateTime calculatePartsArrivalDate(ServiceCatalog service, Integer centerId) {
-        // Fetch all required parts for this service
-        List<ServicePartsMapping> requiredParts = servicePartsMappingRepository
-            .findByServiceCatalog_ServiceId(service.getServiceId());
-
-        if (requiredParts.isEmpty()) {
-            // No parts required, can schedule immediately
-            return LocalDateTime.now();
+    @PostMapping("/book/batch")
+    public ResponseEntity<?> bookBatch(@RequestBody BatchBookRequest request) {
+        try {
+            if (request.getItems() == null || request.getItems().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("items are required"));
+            }
+            if (request.getItems().size() > maxBatchSize) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("At most " + maxBatchSize + " items per batch"));
+            }
+
+            List<AppointmentBookingService.BatchBookingItem> items = request.getItems().stream()
+                    .map(item -> new AppointmentBookingService.BatchBookingItem(
+                            item.getCustomerId(),
+                            item.getVehicleId(),
+                            item.getServiceCatalogId(),
+                            item.getCenterId(),
+                            item.getStartTime(),
+                            item.isEmergency()))
+                    .toList();
+
+            return ResponseEntity.ok(new BatchBookResponse(appointmentBookingService.bookBatch(items)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error booking batch: " + e.getMessage()));
         }
+    }
 
-        int maxLeadTime = 0;
-        boolean allPartsAvailable = true;
-
-        for (ServicePartsMapping mapping : requiredParts) {
-            PartsInventory part = mapping.getPartsInventory();
-            
-            // Get the part inventory for this specific center
-            Optional<PartsInventory> centerPartOpt = partsInventoryRepository
-                .findByServiceCenter_CenterIdAndPartName(centerId, part.getPartName());
-
-            if (centerPartOpt.isEmpty()) {
-                // Part not found in center inventory, use default lead time
-                maxLeadTime = Math.max(maxLeadTime, part.getLeadTimeDays() != null ? part.getLeadTimeDays() : 2);
-                allPartsAvailable = false;
-                continue;
-            }
+    /**
+     * Cancel a booking: frees its technician/bay slots and gives its reserved parts back
+     */
+    @PostMapping("/appointments/{appointmentId}/cancel")
+    public ResponseEntity<?> cancel(@PathVariable Integer appointmentId) {
+        try {
+            return ResponseEntity.ok(AppointmentResponse.of(appointmentBookingService.cancelAppointment(appointmentId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error cancelling appointment: " + e.getMessage()));
+        }
+    }
 
-            PartsInventory centerPart = centerPartOpt.get();
-            int quantityRequired = mapping.getQuantityRequired() != null ? mapping.getQuantityRequired() : 1;
+    /**
+     * Compare the resident availability index against technician_scheduler / bay_scheduler
+     */
+    @GetMapping("/index/consistency")
+    public ResponseEntity<AvailabilityIndex.ConsistencyReport> indexConsistency() {
+        AvailabilityIndex.ConsistencyReport report = availabilityIndex.verifyConsistency();
+        HttpStatus status = report.consistent() ? HttpStatus.OK : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(report);
+    }
 
-            // Check if part is available
-            if (centerPart.getAvailableParts() < quantityRequired) {
-                // Part not available, need to wait for lead time
-                int leadTime = centerPart.getLeadTimeDays() != null ? centerPart.getLeadTimeDays() : 2;
-                maxLeadTime = Math.max(maxLeadTime, leadTime);
-                allPartsAvailable = false;
-            }
+    /**
+     * Validate the service and center and look up everything a slot search needs
+     */
+    private SlotSearch resolveSearch(Integer serviceCatalogId, Integer centerId) {
+        // 1. Validate inputs
+        ServiceCatalog service = serviceCatalogRepository.findById(serviceCatalogId)
+            .orElseThrow(() -> new SearchNotFoundException("Service not found with ID: " + serviceCatalogId));
+        ServiceCenter center = serviceCenterRepository.findById(centerId)
+            .orElseThrow(() -> new SearchNotFoundException("Service center not found with ID: " + centerId));
+
+        // 2. Dynamic Inventory Check
+        LocalDateTime partsArrivalDate = partsAvailabilityService.partsArrivalDate(serviceCatalogId, centerId);
+
+        // 3. Dynamic Resource Lookup
+        List<Technician> qualifiedTechs = technicianRepository
+            .findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(centerId, service.getRequiredSkillLevel());
+        if (qualifiedTechs.isEmpty()) {
+            throw new SearchNotFoundException("No qualified technicians found for skill level: " + service.getRequiredSkillLevel());
         }
 
-        if (allPartsAvailable) {
-            // All parts available, can schedule immediately
-            return LocalDateTime.now();
+        List<ServiceBay> qualifiedBays = serviceBayRepository
+            .findByServiceCenter_CenterIdAndType(centerId, service.getRequiredBayType());
+        if (qualifiedBays.isEmpty()) {
+            throw new SearchNotFoundException("No qualified service bays found for type: " + service.getRequiredBayType());
         }
 
-        // Calculate arrival date: Now + MaxLeadTime + 1 day buffer
-        return LocalDateTime.now().plusDays(maxLeadTime + 1);
+        return new SlotSearch(service, center, partsArrivalDate, qualifiedTechs, qualifiedBays);
+    }
+
+    /**
+     * The listed centers in request order, duplicates dropped; any unknown id is a 404
+     */
+    private List<ServiceCenter> findCenters(List<Integer> centerIds) {
+        Map<Integer, ServiceCenter> found = serviceCenterRepository.findAllById(centerIds).stream()
+            .collect(Collectors.toMap(ServiceCenter::getCenterId, Function.identity()));
+        List<ServiceCenter> centers = new ArrayList<>(found.size());
+        for (Integer centerId : new LinkedHashSet<>(centerIds)) {
+            ServiceCenter center = found.get(centerId);
+            if (center == null) {
+                throw new SearchNotFoundException("Service center not found with ID: " + centerId);
+            }
+            centers.add(center);
+        }
+        return centers;
+    }
+
+    private void runSlotSearch(SlotSearch search, Integer limit, Consumer<SlotOption> sink) {
+        int k = limit == null ? DEFAULT_ALTERNATIVES : Math.max(1, Math.min(limit, MAX_ALTERNATIVES));
+        int duration = search.service().getDurationMinutes();
+        bitmaskSchedulerService.findEarliestAssignments(
+            SlotModel.of(search.center()),
+            search.partsArrivalDate(),
+            duration,
+            search.qualifiedTechs(),
+            search.qualifiedBays(),
+            k,
+            assignment -> sink.accept(new SlotOption(
+                assignment.startTime(),
+                assignment.startTime().plusMinutes(duration),
+                assignment.technician().getTechnicianId(),
+                assignment.technician().getName(),
+                assignment.bay().getBayId(),
+                assignment.bay().getName())));
+    }
+
+    private void writeStreamed(OutputStream out, Object value, boolean sse) throws IOException {
+        String json = objectMapper.writeValueAsString(value);
+        out.write((sse ? "data: " + json + "\n\n" : json + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
     }
 
     // Request DTO
@@ -184,6 +387,21 @@ public class SchedulerController {
         private Integer centerId;
     }
 
+    @Data
+    static class FindSlotsRequest {
+        private Integer serviceCatalogId;
+        private Integer centerId;
+        private Integer limit;
+    }
+
+    @Data
+    static class MultiCenterSlotsRequest {
+        private Integer serviceCatalogId;
+        private RegionStrategy regionStrategy;
+        private List<Integer> centerIds;
+        private Integer limit;
+    }
+
     @Data
     static class BookAppointmentRequest {
         private Integer customerId;
@@ -194,15 +412,92 @@ public class SchedulerController {
         private boolean emergency;
     }
 
-    // Response DTO
     @Data
-    static class FindSlotResponse {
-        private LocalDateTime earliestSlot;
-        private LocalDateTime partsArrivalDate;
+    static class BatchBookRequest {
+        private List<BookAppointmentRequest> items;
+    }
+
+    // Response DTO; the records are written by ResponseSerializers
+    public record FindSlotResponse(LocalDateTime earliestSlot, LocalDateTime partsArrivalDate) {}
+
+    @Data
+    static class BatchBookResponse {
+        private List<AppointmentBookingService.BatchBookingResult> results;
+        private int booked;
+        private int conflicts;
+        private int rejected;
+
+        public BatchBookResponse(List<AppointmentBookingService.BatchBookingResult> results) {
+            this.results = results;
+            for (AppointmentBookingService.BatchBookingResult result : results) {
+                switch (result.status()) {
+                    case BOOKED -> booked++;
+                    case CONFLICT -> conflicts++;
+                    case REJECTED -> rejected++;
+                }
+            }
+        }
+    }
+
+    /**
+     * A booked appointment as returned to the client: ids only for its associations, so nothing
+     * beyond the appointment row is loaded to render it.
+     */
+    public record AppointmentResponse(
+        Integer appointmentId,
+        Integer customerId,
+        Integer vehicleId,
+        Integer serviceCatalogId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        AppointmentStatus status,
+        boolean emergency
+    ) {
+        static AppointmentResponse of(Appointments appointment) {
+            return new AppointmentResponse(
+                appointment.getAppointmentId(),
+                appointment.getCustomer().getCustomerId(),
+                appointment.getVehicle().getVehicleId(),
+                appointment.getServiceCatalog().getServiceId(),
+                appointment.getStartTime(),
+                appointment.getEndTime(),
+                appointment.getStatus(),
+                appointment.isEmergency());
+        }
+    }
 
-        public FindSlotResponse(LocalDateTime earliestSlot, LocalDateTime partsArrivalDate) {
-            this.earliestSlot = earliestSlot;
-            this.partsArrivalDate = partsArrivalDate;
+    public record SlotOption(
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long technicianId,
+        String technicianName,
+        Long bayId,
+        String bayName
+    ) {}
+
+    public record CenterSlotOption(
+        Integer centerId,
+        String centerName,
+        LocalDateTime partsArrivalDate,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long technicianId,
+        String technicianName,
+        Long bayId,
+        String bayName
+    ) {}
+
+    private record SlotSearch(
+        ServiceCatalog service,
+        ServiceCenter center,
+        LocalDateTime partsArrivalDate,
+        List<Technician> qualifiedTechs,
+        List<ServiceBay> qualifiedBays
+    ) {}
+
+    private static class SearchNotFoundException extends RuntimeException {
+        SearchNotFoundException(String message) {
+            super(message);
         }
     }
 
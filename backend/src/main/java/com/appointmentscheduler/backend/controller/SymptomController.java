@@ -0,0 +1,53 @@
+package com.appointmentscheduler.backend.controller;
+
+import com.appointmentscheduler.backend.service.SymptomMatcher;
+import com.appointmentscheduler.backend.service.SymptomMatcherService;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/symptoms")
+@RequiredArgsConstructor
+public class SymptomController {
+
+    private final SymptomMatcherService symptomMatcherService;
+
+    @Value("${scheduler.symptoms.max-text-length:10000}")
+    private int maxTextLength;
+
+    /**
+     * Triage a free-text complaint: candidate services, best match first
+     */
+    @PostMapping("/classify")
+    public ResponseEntity<?> classify(@RequestBody ClassifyRequest request) {
+        String text = request.getText();
+        if (text == null || text.isBlank()) {
+            return ResponseEntity.badRequest().body(new SchedulerController.ErrorResponse("text is required"));
+        }
+        if (text.length() > maxTextLength) {
+            return ResponseEntity.badRequest()
+                    .body(new SchedulerController.ErrorResponse("text is longer than " + maxTextLength + " characters"));
+        }
+        if (!symptomMatcherService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        int limit = request.getLimit() != null && request.getLimit() > 0 ? request.getLimit() : 3;
+        List<SymptomMatcher.Candidate> candidates = symptomMatcherService.classify(text, limit);
+        return ResponseEntity.ok(candidates);
+    }
+
+    @Data
+    static class ClassifyRequest {
+        private String text;
+        private Integer limit;
+    }
+}
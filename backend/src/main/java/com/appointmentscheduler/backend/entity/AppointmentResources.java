@@ -12,18 +12,19 @@ import lombok.*;
 @Builder
 public class AppointmentResources {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_resources_seq")
+    @SequenceGenerator(name = "appointment_resources_seq", sequenceName = "appointment_resources_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "appointment_id", nullable = false)
     private Appointments appointment;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_tech_id", nullable = false)
     private Technician assignedTech;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_bay_id", nullable = false)
     private ServiceBay assignedBay;
 }
\ No newline at end of file
@@ -6,11 +6,14 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "bay_scheduler")
+@Table(name = "bay_scheduler",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bay_scheduler_day", columnNames = {"bay_id", "date"}),
+        indexes = @Index(name = "idx_bay_scheduler_date", columnList = "date"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,17 +22,31 @@ import java.time.LocalDate;
 public class BayScheduler {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bay_scheduler_seq")
+    @SequenceGenerator(name = "bay_scheduler_seq", sequenceName = "bay_scheduler_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bay_id", nullable = false)
     private ServiceBay bay;
 
     @Column(name = "date", nullable = false)
     private LocalDate date;
 
+    // Slots 0-63 of the day
     @Column(name = "bitmask", nullable = false)
-    private Integer bitmask;
+    private Long bitmask;
+
+    // Slots 64-127, only used by centers with more than 64 slots per day
+    @Column(name = "bitmask_hi", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long bitmaskHi = 0L;
+
+    // Optimistic check so two concurrent bookings can never both commit a stale mask
+    @Version
+    @Column(name = "version")
+    @ColumnDefault("0")
+    private Long version;
 }
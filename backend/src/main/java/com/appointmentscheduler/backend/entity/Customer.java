@@ -1,5 +1,6 @@
 package com.appointmentscheduler.backend.entity;
 
+import com.appointmentscheduler.backend.service.CustomerSearchListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "customers")
+@EntityListeners(CustomerSearchListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +17,7 @@ public class Employee {
     @Column(name = "emp_id")
     private Integer empId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "center_id", nullable = false)
     private ServiceCenter serviceCenter;
 
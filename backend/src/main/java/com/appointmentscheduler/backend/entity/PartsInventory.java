@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "parts_inventory")
+@Table(name = "parts_inventory",
+        uniqueConstraints = @UniqueConstraint(name = "uk_parts_inventory_center_part", columnNames = {"center_id", "part_name"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +17,7 @@ public class PartsInventory {
     @Column(name = "part_id")
     private Integer partId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "center_id", nullable = false)
     private ServiceCenter serviceCenter;
 
@@ -0,0 +1,49 @@
+package com.appointmentscheduler.backend.entity;
+
+import com.appointmentscheduler.backend.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger row for stock taken by one booking: RESERVED while the booking is being placed,
+ * COMMITTED once it is tied to an appointment, RELEASED when the stock was given back.
+ */
+@Entity
+@Table(name = "parts_reservation",
+        indexes = @Index(name = "idx_parts_reservation_status_created", columnList = "status, created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartsReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parts_reservation_seq")
+    @SequenceGenerator(name = "parts_reservation_seq", sequenceName = "parts_reservation_seq", allocationSize = 50)
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id")
+    private Appointments appointment;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "part_id", nullable = false)
+    private PartsInventory part;
+
+    // Units taken out of available_parts
+    @Column(name = "quantity_reserved")
+    private Integer quantityReserved;
+
+    // Shortage added to ordered_parts
+    @Column(name = "quantity_ordered")
+    private Integer quantityOrdered;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -7,7 +7,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "procurement_queue")
+@Table(name = "procurement_queue",
+        indexes = @Index(name = "idx_procurement_part_status", columnList = "part_id, status"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,21 +16,38 @@ import java.time.LocalDateTime;
 @Builder
 public class ProcurementQueue {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "procurement_queue_seq")
+    @SequenceGenerator(name = "procurement_queue_seq", sequenceName = "procurement_queue_seq", allocationSize = 50)
     @Column(name = "task_id")
     private Integer taskId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "appointment_id", nullable = false)
     private Appointments appointment;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "part_id", nullable = false)
     private PartsInventory part;
 
+    // Center the appointment was booked at, which the part is ordered for; the part row is another
+    // center's when the booking center does not stock it (null on rows created before it was tracked:
+    // the part's center)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "center_id")
+    private ServiceCenter serviceCenter;
+
     @Column(name = "needed_by_date")
     private LocalDateTime neededByDate;
 
+    // Units this task needs ordered (null on rows created before it was tracked: 1)
+    @Column(name = "quantity")
+    private Integer quantity;
+
     @Enumerated(EnumType.STRING)
     private ProcurementStatus status;
+
+    // Consolidated order the task was placed with, once ORDERED
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_order_id")
+    private PurchaseOrder purchaseOrder;
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.appointmentscheduler.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One consolidated order for a part at a center, covering every procurement task drained with it.
+ */
+@Entity
+@Table(name = "purchase_order")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "order_id")
+    private Integer orderId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "center_id", nullable = false)
+    private ServiceCenter serviceCenter;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "part_id", nullable = false)
+    private PartsInventory part;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "task_count")
+    private Integer taskCount;
+
+    @Column(name = "earliest_needed_by")
+    private LocalDateTime earliestNeededBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
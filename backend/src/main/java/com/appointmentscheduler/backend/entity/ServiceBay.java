@@ -25,7 +25,7 @@ public class ServiceBay {
     @Enumerated(EnumType.STRING)
     private BayType type;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "center_id", nullable = false)
     private ServiceCenter serviceCenter;
 
@@ -4,6 +4,7 @@ import com.appointmentscheduler.backend.enums.RegionStrategy;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalTime;
 import java.util.List;
 
 @Entity
@@ -25,6 +26,17 @@ public class ServiceCenter {
     @Column(name = "region_strategy")
     private RegionStrategy regionStrategy;
 
+    // Working day slot model; null columns fall back to 09:00-18:00 in 30 minute slots
+    @Column(name = "opening_time")
+    private LocalTime openingTime;
+
+    // 00:00 means the center stays open until midnight
+    @Column(name = "closing_time")
+    private LocalTime closingTime;
+
+    @Column(name = "slot_minutes")
+    private Integer slotMinutes;
+
     // Relationships
     @OneToMany(mappedBy = "serviceCenter")
     private List<ServiceBay> bays;
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "service_parts_mapping")
+@Table(name = "service_parts_mapping",
+        uniqueConstraints = @UniqueConstraint(name = "uk_service_parts_mapping", columnNames = {"service_id", "part_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,11 +16,11 @@ public class ServicePartsMapping {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_id", nullable = false)
     private ServiceCatalog serviceCatalog;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "part_id", nullable = false)
     private PartsInventory partsInventory;
 
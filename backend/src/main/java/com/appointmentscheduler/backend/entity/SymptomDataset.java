@@ -1,10 +1,12 @@
 package com.appointmentscheduler.backend.entity;
 
+import com.appointmentscheduler.backend.service.SymptomDatasetListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "symptom_dataset")
+@EntityListeners(SymptomDatasetListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +18,7 @@ public class SymptomDataset {
     @Column(name = "symptom_id")
     private Integer symptomId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mapped_service_id", nullable = false)
     private ServiceCatalog serviceCatalog;
 
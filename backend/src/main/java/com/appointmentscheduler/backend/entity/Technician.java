@@ -23,12 +23,12 @@ public class Technician {
     @Column(name = "skill_level")
     private Integer skillLevel;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "center_id", nullable = false)
     private ServiceCenter serviceCenter;
 
     // Link back to Employee login (optional for now)
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "emp_id")
     private Employee employee;
 
@@ -6,11 +6,14 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "technician_scheduler")
+@Table(name = "technician_scheduler",
+        uniqueConstraints = @UniqueConstraint(name = "uk_technician_scheduler_day", columnNames = {"technician_id", "date"}),
+        indexes = @Index(name = "idx_technician_scheduler_date", columnList = "date"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,17 +22,31 @@ import java.time.LocalDate;
 public class TechnicianScheduler {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "technician_scheduler_seq")
+    @SequenceGenerator(name = "technician_scheduler_seq", sequenceName = "technician_scheduler_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
     @Column(name = "date", nullable = false)
     private LocalDate date;
 
+    // Slots 0-63 of the day
     @Column(name = "bitmask", nullable = false)
-    private Integer bitmask;
+    private Long bitmask;
+
+    // Slots 64-127, only used by centers with more than 64 slots per day
+    @Column(name = "bitmask_hi", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long bitmaskHi = 0L;
+
+    // Optimistic check so two concurrent bookings can never both commit a stale mask
+    @Version
+    @Column(name = "version")
+    @ColumnDefault("0")
+    private Long version;
 }
@@ -0,0 +1,9 @@
+package com.appointmentscheduler.backend.enums;
+
+public enum BatchItemStatus {
+    BOOKED,
+    // Valid request, but no technician/bay pair had room within the search horizon
+    CONFLICT,
+    // Invalid request (unknown customer, vehicle, service or center)
+    REJECTED
+}
@@ -0,0 +1,8 @@
+package com.appointmentscheduler.backend.enums;
+
+public enum BookingConcurrencyMode {
+    // In-process locks striped by (resource, date) in front of the compare-and-set slot claim
+    STRIPED,
+    // Compare-and-set slot claim and bounded retry only
+    OPTIMISTIC
+}
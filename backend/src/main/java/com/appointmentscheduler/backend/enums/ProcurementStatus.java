@@ -2,5 +2,6 @@ package com.appointmentscheduler.backend.enums;
 
 public enum ProcurementStatus {
     ACTION_REQUIRED,
-    ORDERED
+    ORDERED,
+    RECEIVED
 }
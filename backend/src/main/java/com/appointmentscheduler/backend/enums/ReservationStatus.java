@@ -0,0 +1,7 @@
+package com.appointmentscheduler.backend.enums;
+
+public enum ReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED
+}
@@ -0,0 +1,10 @@
+package com.appointmentscheduler.backend.enums;
+
+public enum SeedMode {
+    // Load on a background thread after startup; the readiness probe reports OUT_OF_SERVICE until done
+    ASYNC,
+    // Load inside the startup runner, before the application reports ready
+    SYNC,
+    // Leave the database as it is
+    OFF
+}
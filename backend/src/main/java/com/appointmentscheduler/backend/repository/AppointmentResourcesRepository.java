@@ -1,7 +1,23 @@
 package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.AppointmentResources;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface AppointmentResourcesRepository extends JpaRepository<AppointmentResources, Integer> {
+    /**
+     * With the technician's center (slot model) and the bay, which is all that freeing or moving the slots reads.
+     * Filters on the foreign key column; the derived query would join the appointment just to read its id.
+     */
+    @Query("select r from AppointmentResources r join fetch r.assignedTech t join fetch t.serviceCenter "
+            + "join fetch r.assignedBay where r.appointment.appointmentId = :appointmentId")
+    List<AppointmentResources> findByAppointment_AppointmentId(@Param("appointmentId") Integer appointmentId);
+
+    @EntityGraph(attributePaths = "appointment")
+    List<AppointmentResources> findByAppointment_AppointmentIdIn(Collection<Integer> appointmentIds);
 }
@@ -1,7 +1,42 @@
 package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.Appointments;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AppointmentsRepository extends JpaRepository<Appointments, Integer> {
+
+    @EntityGraph(attributePaths = "serviceCatalog")
+    Optional<Appointments> findWithServiceCatalogByAppointmentId(Integer appointmentId);
+
+    /**
+     * Cancels a booked appointment; 0 rows means it does not exist or was already completed/cancelled.
+     */
+    @Modifying
+    @Query("update Appointments a set a.status = com.appointmentscheduler.backend.enums.AppointmentStatus.CANCELLED "
+            + "where a.appointmentId = :id and a.status in (com.appointmentscheduler.backend.enums.AppointmentStatus.PENDING_PARTS, "
+            + "com.appointmentscheduler.backend.enums.AppointmentStatus.CONFIRMED)")
+    int cancel(@Param("id") Integer appointmentId);
+
+    /**
+     * Of the given appointments, those still PENDING_PARTS that no longer wait for any part.
+     */
+    @Query("select a.appointmentId from Appointments a where a.appointmentId in :ids "
+            + "and a.status = com.appointmentscheduler.backend.enums.AppointmentStatus.PENDING_PARTS "
+            + "and not exists (select 1 from ProcurementQueue t where t.appointment = a and t.status in "
+            + "(com.appointmentscheduler.backend.enums.ProcurementStatus.ACTION_REQUIRED, "
+            + "com.appointmentscheduler.backend.enums.ProcurementStatus.ORDERED))")
+    List<Integer> findPartsComplete(@Param("ids") Collection<Integer> appointmentIds);
+
+    @Modifying
+    @Query("update Appointments a set a.status = com.appointmentscheduler.backend.enums.AppointmentStatus.CONFIRMED "
+            + "where a.appointmentId in :ids and a.status = com.appointmentscheduler.backend.enums.AppointmentStatus.PENDING_PARTS")
+    int confirm(@Param("ids") Collection<Integer> appointmentIds);
 }
@@ -2,12 +2,72 @@ package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.BayScheduler;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BaySchedulerRepository extends JpaRepository<BayScheduler, Long> {
     Optional<BayScheduler> findByBay_BayIdAndDate(Long bayId, LocalDate date);
+
+    @Query("select s.bay.bayId as resourceId, s.bay.serviceCenter.centerId as centerId, "
+            + "s.date as date, s.bitmask as bitmask, s.bitmaskHi as bitmaskHi "
+            + "from BayScheduler s where s.date between :from and :to")
+    List<SchedulerMaskView> findMasksBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select s.bay.bayId as resourceId, s.bay.serviceCenter.centerId as centerId, "
+            + "s.date as date, s.bitmask as bitmask, s.bitmaskHi as bitmaskHi "
+            + "from BayScheduler s where s.bay.bayId in :ids and s.date between :from and :to")
+    List<SchedulerMaskView> findMasksForBays(@Param("ids") Collection<Long> ids,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    @Query("select s.id as id, s.version as version, s.bay.bayId as resourceId, "
+            + "s.bay.serviceCenter.centerId as centerId, s.date as date, s.bitmask as bitmask, s.bitmaskHi as bitmaskHi "
+            + "from BayScheduler s where s.bay.bayId in :ids and s.date between :from and :to")
+    List<SchedulerRowView> findRowsForBays(@Param("ids") Collection<Long> ids,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    /**
+     * Sets the busy bits only if none of them is already set; 0 rows means the day row is missing
+     * or one of the slots was taken in the meantime.
+     */
+    @Modifying
+    @Query("update BayScheduler s set s.bitmask = bitor(s.bitmask, cast(:low as Long)), "
+            + "s.bitmaskHi = bitor(s.bitmaskHi, cast(:high as Long)), s.version = s.version + 1 "
+            + "where s.bay.bayId = :bayId and s.date = :date "
+            + "and bitand(s.bitmask, cast(:low as Long)) = 0 and bitand(s.bitmaskHi, cast(:high as Long)) = 0")
+    int claimSlots(@Param("bayId") Long bayId,
+                   @Param("date") LocalDate date,
+                   @Param("low") long low,
+                   @Param("high") long high);
+
+    /**
+     * Creates an empty day row unless uk_bay_scheduler_day already has one; see
+     * TechnicianSchedulerRepository.createIfAbsent.
+     */
+    @Modifying
+    @Query("insert into BayScheduler (bay.bayId, date, bitmask, bitmaskHi, version) "
+            + "values (:bayId, :date, 0L, 0L, 0L) "
+            + "on conflict (bay.bayId, date) do update set version = version")
+    int createIfAbsent(@Param("bayId") Long bayId, @Param("date") LocalDate date);
+
+    /**
+     * Clears the given busy bits (keepLow / keepHigh are their complements), e.g. for a cancelled appointment.
+     */
+    @Modifying
+    @Query("update BayScheduler s set s.bitmask = bitand(s.bitmask, cast(:keepLow as Long)), "
+            + "s.bitmaskHi = bitand(s.bitmaskHi, cast(:keepHigh as Long)), s.version = s.version + 1 "
+            + "where s.bay.bayId = :bayId and s.date = :date")
+    int releaseSlots(@Param("bayId") Long bayId,
+                     @Param("date") LocalDate date,
+                     @Param("keepLow") long keepLow,
+                     @Param("keepHigh") long keepHigh);
 }
@@ -0,0 +1,24 @@
+package com.appointmentscheduler.backend.repository;
+
+/**
+ * One line of a service's bill of materials resolved against a center's stock: the catalog part
+ * from service_parts_mapping, plus the center's own parts_inventory row with the same name
+ * (all center columns are null when the center does not stock the part).
+ */
+public interface BomLineView {
+    Integer getMappingId();
+
+    Integer getTemplatePartId();
+
+    String getPartName();
+
+    Integer getQuantityRequired();
+
+    Integer getTemplateLeadTimeDays();
+
+    Integer getCenterPartId();
+
+    Integer getCenterLeadTimeDays();
+
+    Integer getAvailableParts();
+}
@@ -1,13 +1,30 @@
 package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
 
-	List<Customer> findByNameContainingIgnoreCaseOrPhoneContainingIgnoreCase(String name, String phone);
+	/**
+	 * Substring match on name or phone; a full scan, only used while the search index is off.
+	 */
+	Page<Customer> findByNameContainingIgnoreCaseOrPhoneContainingIgnoreCase(String name, String phone, Pageable pageable);
+
+	/**
+	 * Customers with their vehicles, in one query; what the lookup step renders.
+	 */
+	@EntityGraph(attributePaths = "vehicles")
+	List<Customer> findByCustomerIdIn(Collection<Integer> customerIds);
+
+	@Query("select c.customerId as customerId, c.name as name, c.phone as phone from Customer c")
+	List<CustomerSearchView> findSearchRows();
 }
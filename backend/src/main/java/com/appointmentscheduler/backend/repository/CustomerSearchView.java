@@ -0,0 +1,12 @@
+package com.appointmentscheduler.backend.repository;
+
+/**
+ * The columns the customer search index is built from.
+ */
+public interface CustomerSearchView {
+    Integer getCustomerId();
+
+    String getName();
+
+    String getPhone();
+}
@@ -2,11 +2,42 @@ package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.PartsInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PartsInventoryRepository extends JpaRepository<PartsInventory, Integer> {
     Optional<PartsInventory> findByServiceCenter_CenterIdAndPartName(Integer centerId, String partName);
+
+    List<PartsInventory> findByServiceCenter_CenterIdIn(Collection<Integer> centerIds);
+
+    @Query("select coalesce(p.availableParts, 0) from PartsInventory p where p.partId = :partId")
+    Optional<Integer> findAvailableParts(@Param("partId") Integer partId);
+
+    /**
+     * Takes quantity units only if that many are available; 0 rows means the stock ran short.
+     */
+    @Modifying
+    @Query("update PartsInventory p set p.availableParts = p.availableParts - :quantity "
+            + "where p.partId = :partId and p.availableParts >= :quantity")
+    int takeStock(@Param("partId") Integer partId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update PartsInventory p set p.availableParts = coalesce(p.availableParts, 0) + :quantity "
+            + "where p.partId = :partId")
+    int returnStock(@Param("partId") Integer partId, @Param("quantity") int quantity);
+
+    /**
+     * Adds (or with a negative delta, withdraws) units on order; never goes below 0.
+     */
+    @Modifying
+    @Query("update PartsInventory p set p.orderedParts = greatest(coalesce(p.orderedParts, 0) + :delta, 0) "
+            + "where p.partId = :partId")
+    int addOrdered(@Param("partId") Integer partId, @Param("delta") int delta);
 }
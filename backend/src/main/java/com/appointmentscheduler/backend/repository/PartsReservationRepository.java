@@ -0,0 +1,39 @@
+package com.appointmentscheduler.backend.repository;
+
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.PartsReservation;
+import com.appointmentscheduler.backend.enums.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PartsReservationRepository extends JpaRepository<PartsReservation, Long> {
+    @Query("select r from PartsReservation r where r.appointment.appointmentId = :appointmentId and r.status = :status")
+    List<PartsReservation> findByAppointment_AppointmentIdAndStatus(@Param("appointmentId") Integer appointmentId,
+                                                                    @Param("status") ReservationStatus status);
+
+    List<PartsReservation> findByStatusAndCreatedAtBefore(ReservationStatus status, LocalDateTime cutoff);
+
+    /**
+     * Ties RESERVED rows to their appointment; rows released in the meantime are not counted.
+     * Flushes first: the appointment may still be a pending (batched) insert.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update PartsReservation r set r.status = com.appointmentscheduler.backend.enums.ReservationStatus.COMMITTED, "
+            + "r.appointment = :appointment where r.reservationId in :ids "
+            + "and r.status = com.appointmentscheduler.backend.enums.ReservationStatus.RESERVED")
+    int commit(@Param("ids") Collection<Long> ids, @Param("appointment") Appointments appointment);
+
+    /**
+     * Moves one row from the given status to RELEASED; 1 means the caller owns giving its stock back.
+     */
+    @Modifying
+    @Query("update PartsReservation r set r.status = com.appointmentscheduler.backend.enums.ReservationStatus.RELEASED "
+            + "where r.reservationId = :id and r.status = :from")
+    int release(@Param("id") Long id, @Param("from") ReservationStatus from);
+}
@@ -1,7 +1,57 @@
 package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.ProcurementQueue;
+import com.appointmentscheduler.backend.enums.ProcurementStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProcurementQueueRepository extends JpaRepository<ProcurementQueue, Integer> {
+    List<ProcurementQueue> findByAppointment_AppointmentIdAndStatus(Integer appointmentId, ProcurementStatus status);
+
+    /**
+     * The appointment's tasks in any of the given statuses, filtered on the foreign key column.
+     */
+    @Query("select t from ProcurementQueue t where t.appointment.appointmentId = :appointmentId and t.status in :statuses")
+    List<ProcurementQueue> findForAppointment(@Param("appointmentId") Integer appointmentId,
+                                              @Param("statuses") Collection<ProcurementStatus> statuses);
+
+    long countByStatus(ProcurementStatus status);
+
+    /**
+     * Next page of tasks in the given status, keyset-paginated on task id.
+     */
+    @Query("select t.taskId as taskId, p.partId as partId, coalesce(c.centerId, p.serviceCenter.centerId) as centerId, "
+            + "t.neededByDate as neededByDate, t.quantity as quantity, t.appointment.appointmentId as appointmentId "
+            + "from ProcurementQueue t join t.part p left join t.serviceCenter c "
+            + "where t.status = :status and t.taskId > :afterTaskId order by t.taskId")
+    List<ProcurementTaskView> findTasksAfter(@Param("status") ProcurementStatus status,
+                                             @Param("afterTaskId") Integer afterTaskId,
+                                             Limit limit);
+
+    /**
+     * Tasks of appointments booked at the center still waiting for the part, most urgent first;
+     * served by idx_procurement_part_status, the center is compared on the part's rows only.
+     */
+    @Query("select t.taskId as taskId, p.partId as partId, coalesce(c.centerId, p.serviceCenter.centerId) as centerId, "
+            + "t.neededByDate as neededByDate, t.quantity as quantity, t.appointment.appointmentId as appointmentId "
+            + "from ProcurementQueue t join t.part p left join t.serviceCenter c "
+            + "where p.partId = :partId and coalesce(c.centerId, p.serviceCenter.centerId) = :centerId "
+            + "and t.status in :statuses order by t.neededByDate, t.taskId")
+    List<ProcurementTaskView> findWaitingForPart(@Param("partId") Integer partId,
+                                                 @Param("centerId") Integer centerId,
+                                                 @Param("statuses") Collection<ProcurementStatus> statuses);
+
+    /**
+     * Marks one task RECEIVED unless it left the given statuses (e.g. was cancelled) in the meantime.
+     */
+    @Modifying
+    @Query("update ProcurementQueue t set t.status = com.appointmentscheduler.backend.enums.ProcurementStatus.RECEIVED "
+            + "where t.taskId = :taskId and t.status in :statuses")
+    int markReceived(@Param("taskId") Integer taskId, @Param("statuses") Collection<ProcurementStatus> statuses);
 }
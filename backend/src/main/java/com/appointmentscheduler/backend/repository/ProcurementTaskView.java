@@ -0,0 +1,22 @@
+package com.appointmentscheduler.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a procurement_queue row the procurement pipeline needs, without the
+ * appointment / part / center entity graph.
+ */
+public interface ProcurementTaskView {
+    Integer getTaskId();
+
+    Integer getPartId();
+
+    // The booking center the part is ordered for, which need not be the part row's center
+    Integer getCenterId();
+
+    LocalDateTime getNeededByDate();
+
+    Integer getQuantity();
+
+    Integer getAppointmentId();
+}
@@ -0,0 +1,7 @@
+package com.appointmentscheduler.backend.repository;
+
+import com.appointmentscheduler.backend.entity.PurchaseOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Integer> {
+}
@@ -0,0 +1,19 @@
+package com.appointmentscheduler.backend.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a technician_scheduler / bay_scheduler row.
+ * Avoids loading the scheduler entity (and its resource/center graph) when only the mask is needed.
+ */
+public interface SchedulerMaskView {
+    Long getResourceId();
+
+    Integer getCenterId();
+
+    LocalDate getDate();
+
+    Long getBitmask();
+
+    Long getBitmaskHi();
+}
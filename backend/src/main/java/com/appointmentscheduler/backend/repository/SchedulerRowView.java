@@ -0,0 +1,11 @@
+package com.appointmentscheduler.backend.repository;
+
+/**
+ * Scheduler row projection that also carries the row identity and @Version,
+ * for callers that write the mask back with a version-checked update.
+ */
+public interface SchedulerRowView extends SchedulerMaskView {
+    Long getId();
+
+    Long getVersion();
+}
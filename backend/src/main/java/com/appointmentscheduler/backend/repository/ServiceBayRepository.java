@@ -3,11 +3,22 @@ package com.appointmentscheduler.backend.repository;
 import com.appointmentscheduler.backend.entity.ServiceBay;
 import com.appointmentscheduler.backend.enums.BayType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ServiceBayRepository extends JpaRepository<ServiceBay, Long> {
-    List<ServiceBay> findByServiceCenter_CenterIdAndType(Integer centerId, BayType type);
+    @Query("select b from ServiceBay b join fetch b.serviceCenter c where c.centerId = :centerId and b.type = :type")
+    List<ServiceBay> findByServiceCenter_CenterIdAndType(@Param("centerId") Integer centerId, @Param("type") BayType type);
+
+    @Query("select b from ServiceBay b join fetch b.serviceCenter c where c.centerId in :centerIds and b.type = :type")
+    List<ServiceBay> findByServiceCenter_CenterIdInAndType(@Param("centerIds") Collection<Integer> centerIds,
+                                                          @Param("type") BayType type);
+
+    @Query("select b from ServiceBay b join fetch b.serviceCenter c where c.centerId in :centerIds")
+    List<ServiceBay> findByServiceCenter_CenterIdIn(@Param("centerIds") Collection<Integer> centerIds);
 }
@@ -1,9 +1,13 @@
 package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.enums.RegionStrategy;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ServiceCenterRepository extends JpaRepository<ServiceCenter, Integer> {
+    List<ServiceCenter> findByRegionStrategyOrderByCenterId(RegionStrategy regionStrategy);
 }
@@ -2,11 +2,27 @@ package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.ServicePartsMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ServicePartsMappingRepository extends JpaRepository<ServicePartsMapping, Integer> {
     List<ServicePartsMapping> findByServiceCatalog_ServiceId(Integer serviceId);
+
+    List<ServicePartsMapping> findByServiceCatalog_ServiceIdIn(Collection<Integer> serviceIds);
+
+    /**
+     * The service's whole bill of materials matched to the center's inventory by part name, in one join.
+     */
+    @Query("select m.id as mappingId, t.partId as templatePartId, t.partName as partName, "
+            + "m.quantityRequired as quantityRequired, t.leadTimeDays as templateLeadTimeDays, "
+            + "c.partId as centerPartId, c.leadTimeDays as centerLeadTimeDays, c.availableParts as availableParts "
+            + "from ServicePartsMapping m join m.partsInventory t "
+            + "left join PartsInventory c on c.serviceCenter.centerId = :centerId and c.partName = t.partName "
+            + "where m.serviceCatalog.serviceId = :serviceId order by m.id, c.partId")
+    List<BomLineView> findBillOfMaterials(@Param("serviceId") Integer serviceId, @Param("centerId") Integer centerId);
 }
@@ -0,0 +1,17 @@
+package com.appointmentscheduler.backend.repository;
+
+import com.appointmentscheduler.backend.entity.SymptomDataset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SymptomDatasetRepository extends JpaRepository<SymptomDataset, Integer> {
+
+    @Query("select s.symptomId as symptomId, s.keywordPhrase as keywordPhrase, "
+            + "c.serviceId as serviceId, c.name as serviceName "
+            + "from SymptomDataset s join s.serviceCatalog c order by s.symptomId")
+    List<SymptomPhraseView> findPhrases();
+}
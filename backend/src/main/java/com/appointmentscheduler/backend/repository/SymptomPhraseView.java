@@ -0,0 +1,14 @@
+package com.appointmentscheduler.backend.repository;
+
+/**
+ * One keyword phrase with the service it points to, as compiled into the symptom matcher.
+ */
+public interface SymptomPhraseView {
+    Integer getSymptomId();
+
+    String getKeywordPhrase();
+
+    Integer getServiceId();
+
+    String getServiceName();
+}
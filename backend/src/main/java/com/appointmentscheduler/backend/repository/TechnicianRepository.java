@@ -2,11 +2,26 @@ package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.Technician;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TechnicianRepository extends JpaRepository<Technician, Long> {
-    List<Technician> findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(Integer centerId, Integer skillLevel);
+    // The center is read for the slot model; fetched through the join the filter needs anyway
+    @Query("select t from Technician t join fetch t.serviceCenter c "
+            + "where c.centerId = :centerId and t.skillLevel >= :skillLevel")
+    List<Technician> findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(@Param("centerId") Integer centerId,
+                                                                               @Param("skillLevel") Integer skillLevel);
+
+    @Query("select t from Technician t join fetch t.serviceCenter c "
+            + "where c.centerId in :centerIds and t.skillLevel >= :skillLevel")
+    List<Technician> findByServiceCenter_CenterIdInAndSkillLevelGreaterThanEqual(@Param("centerIds") Collection<Integer> centerIds,
+                                                                                 @Param("skillLevel") Integer skillLevel);
+
+    @Query("select t from Technician t join fetch t.serviceCenter c where c.centerId in :centerIds")
+    List<Technician> findByServiceCenter_CenterIdIn(@Param("centerIds") Collection<Integer> centerIds);
 }
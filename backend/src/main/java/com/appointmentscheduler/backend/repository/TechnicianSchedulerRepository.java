@@ -2,12 +2,75 @@ package com.appointmentscheduler.backend.repository;
 
 import com.appointmentscheduler.backend.entity.TechnicianScheduler;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TechnicianSchedulerRepository extends JpaRepository<TechnicianScheduler, Long> {
     Optional<TechnicianScheduler> findByTechnician_TechnicianIdAndDate(Long technicianId, LocalDate date);
+
+    @Query("select s.technician.technicianId as resourceId, s.technician.serviceCenter.centerId as centerId, "
+            + "s.date as date, s.bitmask as bitmask, s.bitmaskHi as bitmaskHi "
+            + "from TechnicianScheduler s where s.date between :from and :to")
+    List<SchedulerMaskView> findMasksBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select s.technician.technicianId as resourceId, s.technician.serviceCenter.centerId as centerId, "
+            + "s.date as date, s.bitmask as bitmask, s.bitmaskHi as bitmaskHi "
+            + "from TechnicianScheduler s where s.technician.technicianId in :ids and s.date between :from and :to")
+    List<SchedulerMaskView> findMasksForTechnicians(@Param("ids") Collection<Long> ids,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    @Query("select s.id as id, s.version as version, s.technician.technicianId as resourceId, "
+            + "s.technician.serviceCenter.centerId as centerId, s.date as date, s.bitmask as bitmask, s.bitmaskHi as bitmaskHi "
+            + "from TechnicianScheduler s where s.technician.technicianId in :ids and s.date between :from and :to")
+    List<SchedulerRowView> findRowsForTechnicians(@Param("ids") Collection<Long> ids,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+    /**
+     * Sets the busy bits only if none of them is already set; 0 rows means the day row is missing
+     * or one of the slots was taken in the meantime.
+     */
+    @Modifying
+    @Query("update TechnicianScheduler s set s.bitmask = bitor(s.bitmask, cast(:low as Long)), "
+            + "s.bitmaskHi = bitor(s.bitmaskHi, cast(:high as Long)), s.version = s.version + 1 "
+            + "where s.technician.technicianId = :technicianId and s.date = :date "
+            + "and bitand(s.bitmask, cast(:low as Long)) = 0 and bitand(s.bitmaskHi, cast(:high as Long)) = 0")
+    int claimSlots(@Param("technicianId") Long technicianId,
+                   @Param("date") LocalDate date,
+                   @Param("low") long low,
+                   @Param("high") long high);
+
+    /**
+     * Creates an empty day row unless uk_technician_scheduler_day already has one. Rendered as the
+     * dialect's upsert (MERGE on H2, ON DUPLICATE KEY UPDATE on MySQL), so a concurrent insert of
+     * the same day is absorbed instead of failing on the key; the update leaves an existing row as
+     * it was ("do nothing" is not emulated on H2). Drivers disagree on the count for that case, so
+     * callers claim the bits with claimSlots afterwards.
+     */
+    @Modifying
+    @Query("insert into TechnicianScheduler (technician.technicianId, date, bitmask, bitmaskHi, version) "
+            + "values (:technicianId, :date, 0L, 0L, 0L) "
+            + "on conflict (technician.technicianId, date) do update set version = version")
+    int createIfAbsent(@Param("technicianId") Long technicianId, @Param("date") LocalDate date);
+
+    /**
+     * Clears the given busy bits (keepLow / keepHigh are their complements), e.g. for a cancelled appointment.
+     */
+    @Modifying
+    @Query("update TechnicianScheduler s set s.bitmask = bitand(s.bitmask, cast(:keepLow as Long)), "
+            + "s.bitmaskHi = bitand(s.bitmaskHi, cast(:keepHigh as Long)), s.version = s.version + 1 "
+            + "where s.technician.technicianId = :technicianId and s.date = :date")
+    int releaseSlots(@Param("technicianId") Long technicianId,
+                     @Param("date") LocalDate date,
+                     @Param("keepLow") long keepLow,
+                     @Param("keepHigh") long keepHigh);
 }
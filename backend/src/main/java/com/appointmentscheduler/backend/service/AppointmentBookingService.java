@@ -2,23 +2,39 @@ package com.appointmentscheduler.backend.service;
 
 import com.appointmentscheduler.backend.entity.*;
 import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.appointmentscheduler.backend.enums.BatchItemStatus;
+import com.appointmentscheduler.backend.enums.BookingConcurrencyMode;
 import com.appointmentscheduler.backend.enums.ProcurementStatus;
 import com.appointmentscheduler.backend.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentBookingService {
 
+    private static final long RETRY_BACKOFF_NANOS = 500_000L;
+
     private final AppointmentsRepository appointmentsRepository;
     private final AppointmentResourcesRepository appointmentResourcesRepository;
     private final ProcurementQueueRepository procurementQueueRepository;
@@ -26,24 +42,342 @@ public class AppointmentBookingService {
     private final VehicleRepository vehicleRepository;
     private final ServiceCatalogRepository serviceCatalogRepository;
     private final ServiceCenterRepository serviceCenterRepository;
-    private final ServicePartsMappingRepository servicePartsMappingRepository;
     private final PartsInventoryRepository partsInventoryRepository;
     private final TechnicianRepository technicianRepository;
     private final ServiceBayRepository serviceBayRepository;
     private final TechnicianSchedulerRepository technicianSchedulerRepository;
     private final BaySchedulerRepository baySchedulerRepository;
     private final BitmaskSchedulerService bitmaskSchedulerService;
-
-    private static final int TOTAL_SLOTS = 18;
-    private static final LocalTime DAY_START = LocalTime.of(9, 0);
-
-    @Transactional
+    private final AvailabilityIndex availabilityIndex;
+    private final ResourceLockStripes resourceLockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingBatchWriter bookingBatchWriter;
+    private final PartsAvailabilityService partsAvailabilityService;
+    private final PartsReservationService partsReservationService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Value("${scheduler.booking.concurrency-mode:STRIPED}")
+    private BookingConcurrencyMode concurrencyMode;
+
+    @Value("${scheduler.booking.max-attempts:10}")
+    private int maxAttempts;
+
+    /**
+     * Book the earliest slot at or after requestedStartTime.
+     *
+     * The service's parts are reserved first, in a short transaction of their own, so the slot
+     * search never holds inventory rows. Each booking attempt then runs in its own transaction.
+     * If another booking claimed the chosen
+     * technician/bay slots first (failed compare-and-set, @Version conflict, or a racing
+     * insert of the same day row), the search is rerun
+     * against the fresh masks, up to scheduler.booking.max-attempts times. Every booking races
+     * for the same earliest slot, so the pause between attempts is jittered and grows
+     * exponentially to spread the losers out instead of letting them collide again.
+     * If no attempt goes through, the reserved parts are released again.
+     */
     public Appointments bookAppointment(Integer customerId,
                                         Integer vehicleId,
                                         Integer serviceCatalogId,
                                         Integer centerId,
                                         LocalDateTime requestedStartTime,
                                         boolean emergency) {
+        long startNanos = System.nanoTime();
+        SchedulerMetrics.BookingOutcome outcome = SchedulerMetrics.BookingOutcome.FAILED;
+        try {
+            Appointments booked = reserveAndBook(
+                    customerId, vehicleId, serviceCatalogId, centerId, requestedStartTime, emergency);
+            outcome = SchedulerMetrics.BookingOutcome.BOOKED;
+            return booked;
+        } catch (IllegalArgumentException e) {
+            outcome = SchedulerMetrics.BookingOutcome.REJECTED;
+            throw e;
+        } catch (IllegalStateException e) {
+            outcome = SchedulerMetrics.BookingOutcome.CONFLICT;
+            throw e;
+        } finally {
+            schedulerMetrics.bookingFinished(outcome, startNanos);
+        }
+    }
+
+    private Appointments reserveAndBook(Integer customerId,
+                                        Integer vehicleId,
+                                        Integer serviceCatalogId,
+                                        Integer centerId,
+                                        LocalDateTime requestedStartTime,
+                                        boolean emergency) {
+        PartsReservationService.Reservation reservation = transactionTemplate.execute(status -> {
+            ServiceCatalog service = serviceCatalogRepository.findById(serviceCatalogId)
+                    .orElseThrow(() -> new IllegalArgumentException("Service not found: " + serviceCatalogId));
+            ServiceCenter center = serviceCenterRepository.findById(centerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Service center not found: " + centerId));
+            return partsReservationService.reserve(
+                    partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId()));
+        });
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> bookOnce(
+                            customerId, vehicleId, serviceCatalogId, centerId, requestedStartTime, emergency, reservation));
+                } catch (SlotConflictException | OptimisticLockingFailureException | DuplicateKeyException e) {
+                    if (attempt >= maxAttempts) {
+                        schedulerMetrics.bookingUnavailable(true);
+                        throw new IllegalStateException("Requested time slot is no longer available", e);
+                    }
+                    schedulerMetrics.bookingRetried();
+                    pauseBeforeRetry(attempt);
+                }
+            }
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> partsReservationService.release(reservation));
+            throw e;
+        }
+    }
+
+    /**
+     * Cancel a booked appointment: its technician and bay slots are freed and its parts go back
+     * into stock, including parts that already arrived for it. Procurement that had not been ordered
+     * yet is withdrawn; placed orders stay.
+     */
+    public Appointments cancelAppointment(Integer appointmentId) {
+        return transactionTemplate.execute(status -> {
+            // Conditional status change: of two concurrent cancellations only one frees anything.
+            // Done before loading the appointment, so the loaded row is already CANCELLED and
+            // dirty checking has nothing left to write back.
+            if (appointmentsRepository.cancel(appointmentId) == 0) {
+                Appointments existing = appointmentsRepository.findById(appointmentId)
+                        .orElseThrow(() -> new IllegalArgumentException("Appointment not found: " + appointmentId));
+                throw new IllegalStateException("Appointment cannot be cancelled in status " + existing.getStatus());
+            }
+            Appointments appointment = appointmentsRepository.findById(appointmentId).orElseThrow();
+
+            for (AppointmentResources resources : appointmentResourcesRepository.findByAppointment_AppointmentId(appointmentId)) {
+                freeSlots(appointment, resources);
+            }
+
+            Map<ProcurementStatus, List<ProcurementQueue>> tasks = procurementQueueRepository
+                    .findForAppointment(appointmentId, List.of(ProcurementStatus.ACTION_REQUIRED, ProcurementStatus.RECEIVED))
+                    .stream()
+                    .collect(Collectors.groupingBy(ProcurementQueue::getStatus));
+            List<ProcurementQueue> unordered = tasks.getOrDefault(ProcurementStatus.ACTION_REQUIRED, List.of());
+            procurementQueueRepository.deleteAll(unordered);
+            partsReservationService.releaseCommitted(appointmentId, unordered.stream()
+                    .map(task -> task.getPart().getPartId())
+                    .collect(Collectors.toSet()));
+            // Parts that already arrived for this appointment go back into the stock of the center they arrived at
+            for (ProcurementQueue task : tasks.getOrDefault(ProcurementStatus.RECEIVED, List.of())) {
+                int quantity = task.getQuantity() != null ? task.getQuantity() : 1;
+                ServiceCenter arrivedAt = task.getServiceCenter() != null
+                        ? task.getServiceCenter()
+                        : task.getPart().getServiceCenter();
+                partsReservationService.restock(arrivedAt.getCenterId(), task.getPart(), quantity);
+            }
+            return appointment;
+        });
+    }
+
+    /**
+     * Move a confirmed appointment to the earliest slot free right now, if that is earlier than its
+     * current start (e.g. its parts arrived before the lead time it was booked with).
+     *
+     * Claims the new slots like a booking does (compare-and-set, retried on conflict) and frees the
+     * old ones in the same transaction. Gives up quietly when the retries run out: the appointment
+     * keeps its current slot.
+     *
+     * @return the moved appointment, or null if it was not moved
+     */
+    public Appointments rescheduleEarlier(Integer appointmentId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> rescheduleOnce(appointmentId));
+            } catch (SlotConflictException | OptimisticLockingFailureException | DuplicateKeyException e) {
+                if (attempt >= maxAttempts) {
+                    return null;
+                }
+                pauseBeforeRetry(attempt);
+            }
+        }
+    }
+
+    /**
+     * Book many vehicles at once (fleet intake).
+     *
+     * Every item is planned against one in-memory snapshot of the scheduler masks, emergencies
+     * first and otherwise in request order, each taking the earliest fit the earlier items left.
+     * The plan is written in a single transaction with JDBC batches. Scheduler rows are written
+     * with version-checked updates, so a booking that lands concurrently makes the whole batch
+     * replan against fresh masks (bounded like single bookings).
+     *
+     * @return one result per item, in request order
+     */
+    public List<BatchBookingResult> bookBatch(List<BatchBookingItem> items) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> bookBatchOnce(items));
+            } catch (SlotConflictException | OptimisticLockingFailureException | DuplicateKeyException e) {
+                if (attempt >= maxAttempts) {
+                    throw new IllegalStateException("Batch could not be booked against concurrent changes", e);
+                }
+                pauseBeforeRetry(attempt);
+            }
+        }
+    }
+
+    private List<BatchBookingResult> bookBatchOnce(List<BatchBookingItem> items) {
+        Map<Integer, Customer> customers = byId(
+                customerRepository.findAllById(distinct(items, BatchBookingItem::customerId)), Customer::getCustomerId);
+        Map<Integer, Vehicle> vehicles = byId(
+                vehicleRepository.findAllById(distinct(items, BatchBookingItem::vehicleId)), Vehicle::getVehicleId);
+        Map<Integer, ServiceCatalog> services = byId(
+                serviceCatalogRepository.findAllById(distinct(items, BatchBookingItem::serviceCatalogId)),
+                ServiceCatalog::getServiceId);
+        Map<Integer, ServiceCenter> centers = byId(
+                serviceCenterRepository.findAllById(distinct(items, BatchBookingItem::centerId)),
+                ServiceCenter::getCenterId);
+
+        Map<Integer, List<Technician>> techsByCenter = technicianRepository
+                .findByServiceCenter_CenterIdIn(centers.keySet()).stream()
+                .collect(Collectors.groupingBy(t -> t.getServiceCenter().getCenterId()));
+        Map<Integer, List<ServiceBay>> baysByCenter = serviceBayRepository
+                .findByServiceCenter_CenterIdIn(centers.keySet()).stream()
+                .collect(Collectors.groupingBy(b -> b.getServiceCenter().getCenterId()));
+        // One snapshot of every scheduler row the batch can touch: two range queries in total
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(BitmaskSchedulerService.SEARCH_HORIZON_DAYS - 1);
+        BookingSnapshot snapshot = new BookingSnapshot();
+        List<Long> techIds = techsByCenter.values().stream().flatMap(List::stream).map(Technician::getTechnicianId).toList();
+        List<Long> bayIds = baysByCenter.values().stream().flatMap(List::stream).map(ServiceBay::getBayId).toList();
+        if (!techIds.isEmpty()) {
+            technicianSchedulerRepository.findRowsForTechnicians(techIds, today, lastDay)
+                    .forEach(snapshot::loadTechnicianRow);
+        }
+        if (!bayIds.isEmpty()) {
+            baySchedulerRepository.findRowsForBays(bayIds, today, lastDay).forEach(snapshot::loadBayRow);
+        }
+
+        BatchBookingResult[] results = new BatchBookingResult[items.size()];
+        List<Integer> bookedIndexes = new ArrayList<>();
+        List<Appointments> appointments = new ArrayList<>();
+        List<AppointmentResources> resources = new ArrayList<>();
+        List<ProcurementQueue> procurementTasks = new ArrayList<>();
+        List<PartsReservationService.Reservation> reservations = new ArrayList<>();
+
+        for (int index : planningOrder(items)) {
+            BatchBookingItem item = items.get(index);
+            Customer customer = customers.get(item.customerId());
+            Vehicle vehicle = vehicles.get(item.vehicleId());
+            ServiceCatalog service = services.get(item.serviceCatalogId());
+            ServiceCenter center = centers.get(item.centerId());
+            String invalid = customer == null ? "Customer not found: " + item.customerId()
+                    : vehicle == null ? "Vehicle not found: " + item.vehicleId()
+                    : !vehicle.getCustomer().getCustomerId().equals(customer.getCustomerId()) ? "Vehicle does not belong to customer"
+                    : service == null ? "Service not found: " + item.serviceCatalogId()
+                    : center == null ? "Service center not found: " + item.centerId()
+                    : item.startTime() == null ? "startTime is required"
+                    : null;
+            if (invalid != null) {
+                results[index] = BatchBookingResult.rejected(index, invalid);
+                continue;
+            }
+
+            SlotModel slotModel = SlotModel.of(center);
+            int requiredSlots = slotModel.requiredSlots(service.getDurationMinutes());
+            List<Technician> qualifiedTechs = techsByCenter.getOrDefault(center.getCenterId(), List.of()).stream()
+                    .filter(t -> t.getSkillLevel() >= service.getRequiredSkillLevel())
+                    .toList();
+            List<ServiceBay> qualifiedBays = baysByCenter.getOrDefault(center.getCenterId(), List.of()).stream()
+                    .filter(b -> b.getType() == service.getRequiredBayType())
+                    .toList();
+
+            BitmaskSchedulerService.ScheduledAssignment assignment = bitmaskSchedulerService.findEarliestAssignment(
+                    slotModel, item.startTime(), service.getDurationMinutes(), qualifiedTechs, qualifiedBays, snapshot);
+            if (assignment == null
+                    || assignment.slotIndex() + requiredSlots > slotModel.totalSlots()) {
+                results[index] = BatchBookingResult.conflict(index, "No available slot within the search horizon");
+                continue;
+            }
+
+            LocalDate date = assignment.startTime().toLocalDate();
+            long[] busyBits = SlotMask.range(assignment.slotIndex(), requiredSlots);
+            snapshot.occupyTechnician(assignment.technician().getTechnicianId(), date, busyBits);
+            snapshot.occupyBay(assignment.bay().getBayId(), date, busyBits);
+            availabilityIndex.occupyTechnician(center.getCenterId(), assignment.technician().getTechnicianId(), date, busyBits);
+            availabilityIndex.occupyBay(center.getCenterId(), assignment.bay().getBayId(), date, busyBits);
+
+            // Taken in the batch transaction: a replanned batch rolls the stock back with everything else
+            PartsReservationService.Reservation reservation = partsReservationService.reserve(
+                    partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId()));
+            List<ProcurementQueue> itemTasks = procurementTasks(reservation, center, item.startTime());
+            boolean anyMissingParts = reservation.anyMissingParts();
+
+            Appointments appointment = Appointments.builder()
+                    .customer(customer)
+                    .vehicle(vehicle)
+                    .serviceCatalog(service)
+                    .startTime(assignment.startTime())
+                    .endTime(assignment.startTime().plusMinutes(service.getDurationMinutes()))
+                    .status(anyMissingParts ? AppointmentStatus.PENDING_PARTS : AppointmentStatus.CONFIRMED)
+                    .isEmergency(item.emergency())
+                    .build();
+            for (ProcurementQueue task : itemTasks) {
+                task.setAppointment(appointment);
+            }
+
+            bookedIndexes.add(index);
+            appointments.add(appointment);
+            procurementTasks.addAll(itemTasks);
+            reservations.add(reservation);
+            resources.add(AppointmentResources.builder()
+                    .appointment(appointment)
+                    .assignedTech(assignment.technician())
+                    .assignedBay(assignment.bay())
+                    .build());
+        }
+
+        bookingBatchWriter.writeTechnicianRows(snapshot.dirtyTechnicianRows());
+        bookingBatchWriter.writeBayRows(snapshot.dirtyBayRows());
+        bookingBatchWriter.insertAppointments(appointments);
+        bookingBatchWriter.insertResources(resources);
+        bookingBatchWriter.insertProcurementTasks(procurementTasks);
+        for (int i = 0; i < reservations.size(); i++) {
+            partsReservationService.commit(reservations.get(i), appointments.get(i).getAppointmentId());
+        }
+
+        for (int i = 0; i < bookedIndexes.size(); i++) {
+            int index = bookedIndexes.get(i);
+            results[index] = BatchBookingResult.booked(index, appointments.get(i), resources.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Emergencies first, then request order.
+     */
+    private static List<Integer> planningOrder(List<BatchBookingItem> items) {
+        return IntStream.range(0, items.size()).boxed()
+                .sorted(Comparator.comparing((Integer i) -> !items.get(i).emergency()))
+                .toList();
+    }
+
+    private static Set<Integer> distinct(List<BatchBookingItem> items, Function<BatchBookingItem, Integer> id) {
+        return items.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Integer, T> byId(List<T> entities, Function<T, Integer> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static void pauseBeforeRetry(int attempt) {
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(RETRY_BACKOFF_NANOS << Math.min(attempt, 6)));
+    }
+
+    private Appointments bookOnce(Integer customerId,
+                                  Integer vehicleId,
+                                  Integer serviceCatalogId,
+                                  Integer centerId,
+                                  LocalDateTime requestedStartTime,
+                                  boolean emergency,
+                                  PartsReservationService.Reservation reservation) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + customerId));
 
@@ -60,7 +394,8 @@ public class AppointmentBookingService {
         ServiceCenter center = serviceCenterRepository.findById(centerId)
                 .orElseThrow(() -> new IllegalArgumentException("Service center not found: " + centerId));
 
-        int requiredSlots = (int) Math.ceil((double) service.getDurationMinutes() / 30);
+        SlotModel slotModel = SlotModel.of(center);
+        int requiredSlots = slotModel.requiredSlots(service.getDurationMinutes());
 
         List<Technician> qualifiedTechs = technicianRepository
                 .findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(centerId, service.getRequiredSkillLevel());
@@ -68,6 +403,7 @@ public class AppointmentBookingService {
                 .findByServiceCenter_CenterIdAndType(centerId, service.getRequiredBayType());
 
         BitmaskSchedulerService.ScheduledAssignment assignment = bitmaskSchedulerService.findEarliestAssignment(
+                slotModel,
                 requestedStartTime,
                 service.getDurationMinutes(),
                 qualifiedTechs,
@@ -75,6 +411,7 @@ public class AppointmentBookingService {
         );
 
         if (assignment == null) {
+            schedulerMetrics.bookingUnavailable(false);
             throw new IllegalStateException("Requested time slot is no longer available");
         }
 
@@ -83,65 +420,25 @@ public class AppointmentBookingService {
         LocalDate date = assignment.startTime().toLocalDate();
         int slotIndex = assignment.slotIndex();
 
-        if (slotIndex < 0 || slotIndex + requiredSlots > TOTAL_SLOTS) {
+        if (slotIndex < 0 || slotIndex + requiredSlots > slotModel.totalSlots()) {
             throw new IllegalStateException("Calculated time slot is outside working hours");
         }
 
-        int techMask = bitmaskSchedulerService.getTechnicianBitmask(selectedTech.getTechnicianId(), date);
-        int bayMask = bitmaskSchedulerService.getBayBitmask(selectedBay.getBayId(), date);
-
-        techMask = markBusy(techMask, requiredSlots, slotIndex);
-        bayMask = markBusy(bayMask, requiredSlots, slotIndex);
-
-        upsertTechSchedule(selectedTech, date, techMask);
-        upsertBaySchedule(selectedBay, date, bayMask);
+        if (concurrencyMode == BookingConcurrencyMode.STRIPED) {
+            resourceLockStripes.lockUntilCompletion(
+                    ResourceLockStripes.technicianKey(selectedTech.getTechnicianId(), date),
+                    ResourceLockStripes.bayKey(selectedBay.getBayId(), date));
+        }
 
-        List<ServicePartsMapping> requiredParts = servicePartsMappingRepository
-                .findByServiceCatalog_ServiceId(service.getServiceId());
+        long[] busyBits = SlotMask.range(slotIndex, requiredSlots);
+        claimTechSlots(centerId, selectedTech.getTechnicianId(), date, busyBits);
+        claimBaySlots(centerId, selectedBay.getBayId(), date, busyBits);
 
-        List<ProcurementQueue> procurementTasks = new ArrayList<>();
-        boolean anyMissingParts = false;
-
-        for (ServicePartsMapping mapping : requiredParts) {
-            PartsInventory templatePart = mapping.getPartsInventory();
-            Optional<PartsInventory> centerPartOpt = partsInventoryRepository
-                    .findByServiceCenter_CenterIdAndPartName(centerId, templatePart.getPartName());
-            if (centerPartOpt.isEmpty()) {
-                anyMissingParts = true;
-                PartsInventory partForQueue = templatePart;
-                ProcurementQueue task = ProcurementQueue.builder()
-                        .appointment(null)
-                        .part(partForQueue)
-                        .neededByDate(requestedStartTime)
-                        .status(ProcurementStatus.ACTION_REQUIRED)
-                        .build();
-                procurementTasks.add(task);
-                continue;
-            }
+        availabilityIndex.occupyTechnician(centerId, selectedTech.getTechnicianId(), date, busyBits);
+        availabilityIndex.occupyBay(centerId, selectedBay.getBayId(), date, busyBits);
 
-            PartsInventory centerPart = centerPartOpt.get();
-            int quantityRequired = mapping.getQuantityRequired() != null ? mapping.getQuantityRequired() : 1;
-            int available = centerPart.getAvailableParts() != null ? centerPart.getAvailableParts() : 0;
-            int ordered = centerPart.getOrderedParts() != null ? centerPart.getOrderedParts() : 0;
-
-            if (available >= quantityRequired) {
-                centerPart.setAvailableParts(available - quantityRequired);
-            } else {
-                anyMissingParts = true;
-                int shortage = quantityRequired - available;
-                centerPart.setAvailableParts(0);
-                centerPart.setOrderedParts(ordered + shortage);
-                ProcurementQueue task = ProcurementQueue.builder()
-                        .appointment(null)
-                        .part(centerPart)
-                        .neededByDate(requestedStartTime)
-                        .status(ProcurementStatus.ACTION_REQUIRED)
-                        .build();
-                procurementTasks.add(task);
-            }
-
-            partsInventoryRepository.save(centerPart);
-        }
+        List<ProcurementQueue> procurementTasks = procurementTasks(reservation, center, requestedStartTime);
+        boolean anyMissingParts = reservation.anyMissingParts();
 
         LocalDateTime scheduledStartTime = assignment.startTime();
         LocalDateTime endTime = scheduledStartTime.plusMinutes(service.getDurationMinutes());
@@ -164,6 +461,7 @@ public class AppointmentBookingService {
         if (!procurementTasks.isEmpty()) {
             procurementQueueRepository.saveAll(procurementTasks);
         }
+        partsReservationService.commit(reservation, appointment.getAppointmentId());
 
         AppointmentResources resources = AppointmentResources.builder()
                 .appointment(appointment)
@@ -175,38 +473,182 @@ public class AppointmentBookingService {
         return appointment;
     }
 
-    private boolean isRangeFree(int mask, int requiredSlots, int slotIndex) {
-        int targetMask = (1 << requiredSlots) - 1;
-        return ((mask >> slotIndex) & targetMask) == 0;
+    private Appointments rescheduleOnce(Integer appointmentId) {
+        Appointments appointment = appointmentsRepository.findWithServiceCatalogByAppointmentId(appointmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment not found: " + appointmentId));
+        List<AppointmentResources> assigned = appointmentResourcesRepository.findByAppointment_AppointmentId(appointmentId);
+        if (appointment.getStatus() != AppointmentStatus.CONFIRMED || assigned.isEmpty()) {
+            return null;
+        }
+        AppointmentResources resources = assigned.get(0);
+        ServiceCatalog service = appointment.getServiceCatalog();
+        ServiceCenter center = resources.getAssignedTech().getServiceCenter();
+        Integer centerId = center.getCenterId();
+        SlotModel slotModel = SlotModel.of(center);
+        int requiredSlots = slotModel.requiredSlots(service.getDurationMinutes());
+
+        List<Technician> qualifiedTechs = technicianRepository
+                .findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(centerId, service.getRequiredSkillLevel());
+        List<ServiceBay> qualifiedBays = serviceBayRepository
+                .findByServiceCenter_CenterIdAndType(centerId, service.getRequiredBayType());
+        BitmaskSchedulerService.ScheduledAssignment assignment = bitmaskSchedulerService.findEarliestAssignment(
+                slotModel, LocalDateTime.now(), service.getDurationMinutes(), qualifiedTechs, qualifiedBays);
+        if (assignment == null
+                || !assignment.startTime().isBefore(appointment.getStartTime())
+                || assignment.slotIndex() + requiredSlots > slotModel.totalSlots()) {
+            return null;
+        }
+
+        Technician selectedTech = assignment.technician();
+        ServiceBay selectedBay = assignment.bay();
+        LocalDate date = assignment.startTime().toLocalDate();
+        if (concurrencyMode == BookingConcurrencyMode.STRIPED) {
+            resourceLockStripes.lockUntilCompletion(
+                    ResourceLockStripes.technicianKey(selectedTech.getTechnicianId(), date),
+                    ResourceLockStripes.bayKey(selectedBay.getBayId(), date));
+        }
+
+        long[] busyBits = SlotMask.range(assignment.slotIndex(), requiredSlots);
+        claimTechSlots(centerId, selectedTech.getTechnicianId(), date, busyBits);
+        claimBaySlots(centerId, selectedBay.getBayId(), date, busyBits);
+        availabilityIndex.occupyTechnician(centerId, selectedTech.getTechnicianId(), date, busyBits);
+        availabilityIndex.occupyBay(centerId, selectedBay.getBayId(), date, busyBits);
+        freeSlots(appointment, resources);
+
+        appointment.setStartTime(assignment.startTime());
+        appointment.setEndTime(assignment.startTime().plusMinutes(service.getDurationMinutes()));
+        resources.setAssignedTech(selectedTech);
+        resources.setAssignedBay(selectedBay);
+        return appointment;
+    }
+
+    /**
+     * Clears the appointment's current slots on its technician and bay, in the database and
+     * (after commit) in the index.
+     */
+    private void freeSlots(Appointments appointment, AppointmentResources resources) {
+        ServiceCenter center = resources.getAssignedTech().getServiceCenter();
+        SlotModel slotModel = SlotModel.of(center);
+        int slotIndex = slotModel.slotIndex(appointment.getStartTime().toLocalTime());
+        int slots = slotModel.requiredSlots((int) ChronoUnit.MINUTES.between(
+                appointment.getStartTime(), appointment.getEndTime()));
+        LocalDate date = appointment.getStartTime().toLocalDate();
+        long[] freedBits = SlotMask.range(slotIndex, slots);
+        Long techId = resources.getAssignedTech().getTechnicianId();
+        Long bayId = resources.getAssignedBay().getBayId();
+
+        technicianSchedulerRepository.releaseSlots(techId, date, ~freedBits[0], ~freedBits[1]);
+        baySchedulerRepository.releaseSlots(bayId, date, ~freedBits[0], ~freedBits[1]);
+        availabilityIndex.vacateTechnician(center.getCenterId(), techId, date, freedBits);
+        availabilityIndex.vacateBay(center.getCenterId(), bayId, date, freedBits);
+    }
+
+    /**
+     * Procurement tasks for whatever the reservation could not take from stock: the shortage of
+     * stocked parts and every part the center does not stock (the caller sets their appointment).
+     * An unstocked part is queued against the catalog's row of it, so every task also records the
+     * booking center the part is needed at.
+     */
+    private List<ProcurementQueue> procurementTasks(PartsReservationService.Reservation reservation,
+                                                    ServiceCenter center, LocalDateTime neededBy) {
+        List<ProcurementQueue> procurementTasks = new ArrayList<>();
+        for (PartsAvailabilityService.BomLine line : reservation.unstocked()) {
+            procurementTasks.add(ProcurementQueue.builder()
+                    .appointment(null)
+                    .part(partsInventoryRepository.getReferenceById(line.templatePartId()))
+                    .serviceCenter(center)
+                    .neededByDate(neededBy)
+                    .quantity(line.quantityRequired())
+                    .status(ProcurementStatus.ACTION_REQUIRED)
+                    .build());
+        }
+        for (PartsReservation line : reservation.lines()) {
+            if (line.getQuantityOrdered() > 0) {
+                procurementTasks.add(ProcurementQueue.builder()
+                        .appointment(null)
+                        .part(line.getPart())
+                        .serviceCenter(center)
+                        .neededByDate(neededBy)
+                        .quantity(line.getQuantityOrdered())
+                        .status(ProcurementStatus.ACTION_REQUIRED)
+                        .build());
+            }
+        }
+        return procurementTasks;
     }
 
-    private int markBusy(int mask, int requiredSlots, int slotIndex) {
-        int targetMask = (1 << requiredSlots) - 1;
-        targetMask = targetMask << slotIndex;
-        return mask | targetMask;
+    /**
+     * Single-statement compare-and-set on the technician's day row: no entity load, and the row
+     * lock lasts one statement. The first booking of a day upserts the empty row and claims again.
+     * A lost race refreshes the index from the committed row so the next attempt's search moves
+     * on to the next candidate.
+     */
+    private void claimTechSlots(Integer centerId, Long techId, LocalDate date, long[] busyBits) {
+        if (technicianSchedulerRepository.claimSlots(techId, date, busyBits[0], busyBits[1]) == 1) {
+            return;
+        }
+        technicianSchedulerRepository.createIfAbsent(techId, date);
+        if (technicianSchedulerRepository.claimSlots(techId, date, busyBits[0], busyBits[1]) == 1) {
+            return;
+        }
+        availabilityIndex.mergeCommittedTechnician(centerId, techId, date,
+                bitmaskSchedulerService.getTechnicianBitmask(techId, date));
+        throw new SlotConflictException();
     }
 
-    private void upsertTechSchedule(Technician tech, LocalDate date, int newMask) {
-        Optional<TechnicianScheduler> existing = technicianSchedulerRepository
-                .findByTechnician_TechnicianIdAndDate(tech.getTechnicianId(), date);
-        TechnicianScheduler scheduler = existing.orElseGet(() -> TechnicianScheduler.builder()
-                .technician(tech)
-                .date(date)
-                .bitmask(0)
-                .build());
-        scheduler.setBitmask(newMask);
-        technicianSchedulerRepository.save(scheduler);
+    private void claimBaySlots(Integer centerId, Long bayId, LocalDate date, long[] busyBits) {
+        if (baySchedulerRepository.claimSlots(bayId, date, busyBits[0], busyBits[1]) == 1) {
+            return;
+        }
+        baySchedulerRepository.createIfAbsent(bayId, date);
+        if (baySchedulerRepository.claimSlots(bayId, date, busyBits[0], busyBits[1]) == 1) {
+            return;
+        }
+        availabilityIndex.mergeCommittedBay(centerId, bayId, date,
+                bitmaskSchedulerService.getBayBitmask(bayId, date));
+        throw new SlotConflictException();
     }
 
-    private void upsertBaySchedule(ServiceBay bay, LocalDate date, int newMask) {
-        Optional<BayScheduler> existing = baySchedulerRepository
-                .findByBay_BayIdAndDate(bay.getBayId(), date);
-        BayScheduler scheduler = existing.orElseGet(() -> BayScheduler.builder()
-                .bay(bay)
-                .date(date)
-                .bitmask(0)
-                .build());
-        scheduler.setBitmask(newMask);
-        baySchedulerRepository.save(scheduler);
+    public record BatchBookingItem(
+            Integer customerId,
+            Integer vehicleId,
+            Integer serviceCatalogId,
+            Integer centerId,
+            LocalDateTime startTime,
+            boolean emergency
+    ) {}
+
+    public record BatchBookingResult(
+            int index,
+            BatchItemStatus status,
+            Integer appointmentId,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            Long technicianId,
+            Long bayId,
+            String message
+    ) {
+        static BatchBookingResult booked(int index, Appointments appointment, AppointmentResources resources) {
+            return new BatchBookingResult(index, BatchItemStatus.BOOKED, appointment.getAppointmentId(),
+                    appointment.getStartTime(), appointment.getEndTime(),
+                    resources.getAssignedTech().getTechnicianId(), resources.getAssignedBay().getBayId(), null);
+        }
+
+        static BatchBookingResult conflict(int index, String message) {
+            return new BatchBookingResult(index, BatchItemStatus.CONFLICT, null, null, null, null, null, message);
+        }
+
+        static BatchBookingResult rejected(int index, String message) {
+            return new BatchBookingResult(index, BatchItemStatus.REJECTED, null, null, null, null, null, message);
+        }
+    }
+
+    /**
+     * The slots picked by the search were claimed by a concurrent booking; the attempt is retried.
+     */
+    static class SlotConflictException extends IllegalStateException {
+        SlotConflictException() {
+            super("Requested time slot is no longer available");
+        }
     }
 }
@@ -0,0 +1,386 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.config.SeedDataLoadedEvent;
+import com.appointmentscheduler.backend.repository.BaySchedulerRepository;
+import com.appointmentscheduler.backend.repository.SchedulerMaskView;
+import com.appointmentscheduler.backend.repository.TechnicianSchedulerRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident, per-center copy of technician_scheduler / bay_scheduler for a rolling horizon.
+ *
+ * Slot search reads masks from here instead of issuing one query per resource per day.
+ * The index is loaded once at startup, rolled forward daily, and kept current by the
+ * booking path through {@link #occupyTechnician} / {@link #occupyBay} (and the vacate*
+ * counterparts on cancellation), which are applied only after the surrounding transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+    private static final int MAX_REPORTED_DRIFTS = 50;
+
+    private final TechnicianSchedulerRepository technicianSchedulerRepository;
+    private final BaySchedulerRepository baySchedulerRepository;
+
+    @Value("${scheduler.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scheduler.index.horizon-days:60}")
+    private int horizonDays;
+
+    // Writers (occupy*, vacate*) share the read lock since they only touch atomic arrays;
+    // a reload takes the write lock so no committed booking is lost while swapping.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Horizon horizon;
+
+    @EventListener({ApplicationReadyEvent.class, SeedDataLoadedEvent.class})
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(cron = "${scheduler.index.refresh-cron:0 5 0 * * *}")
+    public void rollHorizon() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuild the index from the database for [today, today + horizonDays).
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(horizonDays - 1L);
+            Horizon fresh = new Horizon(from.toEpochDay(), horizonDays);
+            List<SchedulerMaskView> techRows = technicianSchedulerRepository.findMasksBetween(from, to);
+            List<SchedulerMaskView> bayRows = baySchedulerRepository.findMasksBetween(from, to);
+            for (SchedulerMaskView row : techRows) {
+                fresh.calendar(row.getCenterId()).technicianDays(row.getResourceId(), horizonDays)
+                        .set(fresh.offset(row.getDate()), row.getBitmask(), row.getBitmaskHi());
+            }
+            for (SchedulerMaskView row : bayRows) {
+                fresh.calendar(row.getCenterId()).bayDays(row.getResourceId(), horizonDays)
+                        .set(fresh.offset(row.getDate()), row.getBitmask(), row.getBitmaskHi());
+            }
+            horizon = fresh;
+            log.info("Availability index loaded {} technician and {} bay day-masks for {} to {}",
+                    techRows.size(), bayRows.size(), from, to);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True when every day in [from, to] is resident, i.e. masks can be read without the database.
+     */
+    public boolean covers(LocalDate from, LocalDate to) {
+        Horizon current = horizon;
+        return current != null && current.contains(from) && current.contains(to);
+    }
+
+    public boolean covers(LocalDate date) {
+        return covers(date, date);
+    }
+
+    /**
+     * Copies the first {@code words} words of a technician's day mask into dest at destOffset.
+     * The day must be inside the horizon; unknown resources are free (0).
+     */
+    public void technicianMask(Integer centerId, Long technicianId, LocalDate date, long[] dest, int destOffset, int words) {
+        Horizon current = horizon;
+        CenterCalendar calendar = current.centers.get(centerId);
+        DayMasks days = calendar == null ? null : calendar.technicians.get(technicianId);
+        copy(days, current.offset(date), dest, destOffset, words);
+    }
+
+    public void bayMask(Integer centerId, Long bayId, LocalDate date, long[] dest, int destOffset, int words) {
+        Horizon current = horizon;
+        CenterCalendar calendar = current.centers.get(centerId);
+        DayMasks days = calendar == null ? null : calendar.bays.get(bayId);
+        copy(days, current.offset(date), dest, destOffset, words);
+    }
+
+    public long[] technicianMask(Integer centerId, Long technicianId, LocalDate date) {
+        long[] mask = new long[SlotMask.WORDS];
+        technicianMask(centerId, technicianId, date, mask, 0, SlotMask.WORDS);
+        return mask;
+    }
+
+    public long[] bayMask(Integer centerId, Long bayId, LocalDate date) {
+        long[] mask = new long[SlotMask.WORDS];
+        bayMask(centerId, bayId, date, mask, 0, SlotMask.WORDS);
+        return mask;
+    }
+
+    /**
+     * Record newly busy slots for a technician once the current transaction commits.
+     */
+    public void occupyTechnician(Integer centerId, Long technicianId, LocalDate date, long[] busyBits) {
+        afterCommit(() -> applyOccupy(centerId, technicianId, date, busyBits, true));
+    }
+
+    public void occupyBay(Integer centerId, Long bayId, LocalDate date, long[] busyBits) {
+        afterCommit(() -> applyOccupy(centerId, bayId, date, busyBits, false));
+    }
+
+    /**
+     * Record freed slots (e.g. a cancelled appointment) once the current transaction commits.
+     */
+    public void vacateTechnician(Integer centerId, Long technicianId, LocalDate date, long[] freedBits) {
+        afterCommit(() -> applyVacate(centerId, technicianId, date, freedBits, true));
+    }
+
+    public void vacateBay(Integer centerId, Long bayId, LocalDate date, long[] freedBits) {
+        afterCommit(() -> applyVacate(centerId, bayId, date, freedBits, false));
+    }
+
+    /**
+     * Fold in a mask just read from technician_scheduler, e.g. after a slot claim lost a race
+     * whose winner has not reached afterCommit yet. Applied immediately: the bits are committed.
+     */
+    public void mergeCommittedTechnician(Integer centerId, Long technicianId, LocalDate date, long[] committedMask) {
+        applyOccupy(centerId, technicianId, date, committedMask, true);
+    }
+
+    public void mergeCommittedBay(Integer centerId, Long bayId, LocalDate date, long[] committedMask) {
+        applyOccupy(centerId, bayId, date, committedMask, false);
+    }
+
+    /**
+     * Compare every resident mask with technician_scheduler / bay_scheduler.
+     * Holds the write lock so no booking is applied half-way through the comparison.
+     */
+    public ConsistencyReport verifyConsistency() {
+        lock.writeLock().lock();
+        try {
+            Horizon current = horizon;
+            if (current == null) {
+                return new ConsistencyReport(false, null, null, 0, List.of());
+            }
+            LocalDate from = LocalDate.ofEpochDay(current.firstDay);
+            LocalDate to = from.plusDays(current.days - 1L);
+            List<Drift> drifts = new ArrayList<>();
+            int checked = compare(current, ResourceKind.TECHNICIAN,
+                    technicianSchedulerRepository.findMasksBetween(from, to), drifts);
+            checked += compare(current, ResourceKind.BAY,
+                    baySchedulerRepository.findMasksBetween(from, to), drifts);
+            return new ConsistencyReport(true, from, to, checked, drifts);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int compare(Horizon current, ResourceKind kind, List<SchedulerMaskView> rows, List<Drift> drifts) {
+        // Every DB row must match the index ...
+        Map<Long, boolean[]> rowPresent = new HashMap<>();
+        for (SchedulerMaskView row : rows) {
+            rowPresent.computeIfAbsent(row.getResourceId(), id -> new boolean[current.days])[current.offset(row.getDate())] = true;
+            long[] resident = kind == ResourceKind.TECHNICIAN
+                    ? technicianMask(row.getCenterId(), row.getResourceId(), row.getDate())
+                    : bayMask(row.getCenterId(), row.getResourceId(), row.getDate());
+            long[] database = SlotMask.of(row.getBitmask(), row.getBitmaskHi());
+            if (!Arrays.equals(resident, database)) {
+                addDrift(drifts, new Drift(kind, row.getResourceId(), row.getDate(), database, resident));
+            }
+        }
+        // ... and the index must not hold busy bits for days that have no row.
+        for (CenterCalendar calendar : current.centers.values()) {
+            Map<Long, DayMasks> resident = kind == ResourceKind.TECHNICIAN ? calendar.technicians : calendar.bays;
+            for (Map.Entry<Long, DayMasks> entry : resident.entrySet()) {
+                boolean[] present = rowPresent.get(entry.getKey());
+                for (int offset = 0; offset < current.days; offset++) {
+                    long[] indexMask = new long[SlotMask.WORDS];
+                    entry.getValue().copy(offset, indexMask, 0, SlotMask.WORDS);
+                    if (!SlotMask.isEmpty(indexMask) && (present == null || !present[offset])) {
+                        addDrift(drifts, new Drift(kind, entry.getKey(),
+                                LocalDate.ofEpochDay(current.firstDay + offset), new long[SlotMask.WORDS], indexMask));
+                    }
+                }
+            }
+        }
+        return rows.size();
+    }
+
+    private void addDrift(List<Drift> drifts, Drift drift) {
+        if (drifts.size() < MAX_REPORTED_DRIFTS) {
+            drifts.add(drift);
+        }
+    }
+
+    private void applyOccupy(Integer centerId, Long resourceId, LocalDate date, long[] busyBits, boolean technician) {
+        lock.readLock().lock();
+        try {
+            Horizon current = horizon;
+            if (current == null || !current.contains(date)) {
+                return;
+            }
+            CenterCalendar calendar = current.calendar(centerId);
+            DayMasks days = technician
+                    ? calendar.technicianDays(resourceId, current.days)
+                    : calendar.bayDays(resourceId, current.days);
+            days.or(current.offset(date), busyBits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyVacate(Integer centerId, Long resourceId, LocalDate date, long[] freedBits, boolean technician) {
+        lock.readLock().lock();
+        try {
+            Horizon current = horizon;
+            if (current == null || !current.contains(date)) {
+                return;
+            }
+            CenterCalendar calendar = current.centers.get(centerId);
+            DayMasks days = calendar == null ? null
+                    : technician ? calendar.technicians.get(resourceId) : calendar.bays.get(resourceId);
+            if (days != null) {
+                days.andNot(current.offset(date), freedBits);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void copy(DayMasks days, int offset, long[] dest, int destOffset, int words) {
+        if (days == null) {
+            Arrays.fill(dest, destOffset, destOffset + words, 0L);
+        } else {
+            days.copy(offset, dest, destOffset, words);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Horizon {
+        private final long firstDay;
+        private final int days;
+        private final Map<Integer, CenterCalendar> centers = new ConcurrentHashMap<>();
+
+        private Horizon(long firstDay, int days) {
+            this.firstDay = firstDay;
+            this.days = days;
+        }
+
+        private boolean contains(LocalDate date) {
+            long epochDay = date.toEpochDay();
+            return epochDay >= firstDay && epochDay < firstDay + days;
+        }
+
+        private int offset(LocalDate date) {
+            return (int) (date.toEpochDay() - firstDay);
+        }
+
+        private CenterCalendar calendar(Integer centerId) {
+            return centers.computeIfAbsent(centerId, id -> new CenterCalendar());
+        }
+    }
+
+    private static final class CenterCalendar {
+        private final Map<Long, DayMasks> technicians = new ConcurrentHashMap<>();
+        private final Map<Long, DayMasks> bays = new ConcurrentHashMap<>();
+
+        private DayMasks technicianDays(Long technicianId, int days) {
+            return technicians.computeIfAbsent(technicianId, id -> new DayMasks(days));
+        }
+
+        private DayMasks bayDays(Long bayId, int days) {
+            return bays.computeIfAbsent(bayId, id -> new DayMasks(days));
+        }
+    }
+
+    /**
+     * One resource's masks for the horizon, {@link SlotMask#WORDS} atomic words per day.
+     */
+    private static final class DayMasks {
+        private final AtomicLongArray words;
+
+        private DayMasks(int days) {
+            this.words = new AtomicLongArray(days * SlotMask.WORDS);
+        }
+
+        private void set(int offset, Long low, Long high) {
+            words.set(offset * SlotMask.WORDS, low != null ? low : 0L);
+            words.set(offset * SlotMask.WORDS + 1, high != null ? high : 0L);
+        }
+
+        private void or(int offset, long[] bits) {
+            for (int w = 0; w < SlotMask.WORDS; w++) {
+                long add = bits[w];
+                if (add != 0) {
+                    words.getAndUpdate(offset * SlotMask.WORDS + w, mask -> mask | add);
+                }
+            }
+        }
+
+        private void andNot(int offset, long[] bits) {
+            for (int w = 0; w < SlotMask.WORDS; w++) {
+                long clear = bits[w];
+                if (clear != 0) {
+                    words.getAndUpdate(offset * SlotMask.WORDS + w, mask -> mask & ~clear);
+                }
+            }
+        }
+
+        private void copy(int offset, long[] dest, int destOffset, int count) {
+            for (int w = 0; w < count; w++) {
+                dest[destOffset + w] = words.get(offset * SlotMask.WORDS + w);
+            }
+        }
+    }
+
+    public enum ResourceKind {
+        TECHNICIAN,
+        BAY
+    }
+
+    public record Drift(ResourceKind kind, Long resourceId, LocalDate date, long[] databaseMask, long[] indexMask) {}
+
+    public record ConsistencyReport(
+            boolean loaded,
+            LocalDate from,
+            LocalDate to,
+            int rowsChecked,
+            List<Drift> drifts
+    ) {
+        public boolean consistent() {
+            return loaded && drifts.isEmpty();
+        }
+    }
+}
@@ -5,16 +5,22 @@ import com.appointmentscheduler.backend.entity.Technician;
 import com.appointmentscheduler.backend.entity.BayScheduler;
 import com.appointmentscheduler.backend.entity.TechnicianScheduler;
 import com.appointmentscheduler.backend.repository.BaySchedulerRepository;
+import com.appointmentscheduler.backend.repository.SchedulerMaskView;
 import com.appointmentscheduler.backend.repository.TechnicianSchedulerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor // Automatically injects the Repositories
@@ -22,10 +28,35 @@ public class BitmaskSchedulerService {
 
     private final TechnicianSchedulerRepository technicianSchedulerRepository;
     private final BaySchedulerRepository baySchedulerRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SchedulerMetrics schedulerMetrics;
 
-    // Configuration: 9:00 AM to 6:00 PM = 9 Hours = 18 Slots (30 mins each)
-    private static final int TOTAL_SLOTS = 18;
-    private static final LocalTime DAY_START = LocalTime.of(9, 0);
+    static final int SEARCH_HORIZON_DAYS = 30;
+
+    // Parallel mode scans the horizon in day chunks on virtual threads; same answer as the sequential scan
+    @Value("${scheduler.search.parallel:false}")
+    private boolean parallelSearch;
+
+    @Value("${scheduler.search.parallel-chunk-days:5}")
+    private int parallelChunkDays;
+
+    private ExecutorService searchExecutor;
+    private HorizonSearch horizonSearch = HorizonSearch.sequential();
+
+    @PostConstruct
+    void initHorizonSearch() {
+        if (parallelSearch) {
+            searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            horizonSearch = HorizonSearch.parallel(searchExecutor, parallelChunkDays);
+        }
+    }
+
+    @PreDestroy
+    void shutdownHorizonSearch() {
+        if (searchExecutor != null) {
+            searchExecutor.shutdownNow();
+        }
+    }
 
     /**
      * MAIN ALGORITHM WITH DATABASE INTEGRATION
@@ -41,8 +72,20 @@ public class BitmaskSchedulerService {
         return assignment != null ? assignment.startTime() : null;
     }
 
+    public LocalDateTime findEarliestSlot(
+            SlotModel model,
+            LocalDateTime partsArrivalTime,
+            int serviceDurationMinutes,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays
+    ) {
+        ScheduledAssignment assignment = findEarliestAssignment(model, partsArrivalTime, serviceDurationMinutes, qualifiedTechs, qualifiedBays);
+        return assignment != null ? assignment.startTime() : null;
+    }
+
     /**
-     * Find earliest slot and also the concrete technician and bay assignment.
+     * Find earliest slot and also the concrete technician and bay assignment,
+     * using the slot model of the technicians' service center.
      */
     public ScheduledAssignment findEarliestAssignment(
             LocalDateTime partsArrivalTime,
@@ -50,116 +93,219 @@ public class BitmaskSchedulerService {
             List<Technician> qualifiedTechs,
             List<ServiceBay> qualifiedBays
     ) {
-        int requiredSlots = (int) Math.ceil((double) serviceDurationMinutes / 30);
+        SlotModel model = qualifiedTechs.isEmpty()
+                ? SlotModel.DEFAULT
+                : SlotModel.of(qualifiedTechs.get(0).getServiceCenter());
+        return findEarliestAssignment(model, partsArrivalTime, serviceDurationMinutes, qualifiedTechs, qualifiedBays);
+    }
+
+    public ScheduledAssignment findEarliestAssignment(
+            SlotModel model,
+            LocalDateTime partsArrivalTime,
+            int serviceDurationMinutes,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays
+    ) {
+        return findEarliestAssignment(model, partsArrivalTime, serviceDurationMinutes, qualifiedTechs, qualifiedBays, null);
+    }
+
+    /**
+     * Same search against caller-provided masks (e.g. a batch planning snapshot);
+     * a null source opens the usual index / range-query source.
+     */
+    ScheduledAssignment findEarliestAssignment(
+            SlotModel model,
+            LocalDateTime partsArrivalTime,
+            int serviceDurationMinutes,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays,
+            MaskSource masks
+    ) {
+        int requiredSlots = model.requiredSlots(serviceDurationMinutes);
+
+        LocalDate today = LocalDate.now();
+        LocalDate arrivalDay = partsArrivalTime.toLocalDate();
+        LocalDate firstDay = arrivalDay.isAfter(today) ? arrivalDay : today;
+        LocalDate lastDay = today.plusDays(SEARCH_HORIZON_DAYS - 1);
+
+        // A job longer than the working day never fits
+        if (requiredSlots > model.totalSlots() || firstDay.isAfter(lastDay)
+                || qualifiedTechs.isEmpty() || qualifiedBays.isEmpty()) {
+            return null;
+        }
+
+        if (masks == null) {
+            // All masks for the window are fetched up front: constant round trips regardless of techs x bays x days
+            masks = openMaskSource(qualifiedTechs, qualifiedBays, firstDay, lastDay);
+        }
+        ScheduledAssignment found = horizonSearch.earliest(model, requiredSlots, partsArrivalTime, firstDay, lastDay,
+                qualifiedTechs, qualifiedBays, masks);
+        LocalDate scannedTo = found == null ? lastDay : found.startTime().toLocalDate();
+        schedulerMetrics.searchScanned(SchedulerMetrics.SearchKind.EARLIEST,
+                ChronoUnit.DAYS.between(firstDay, scannedTo) + 1, qualifiedTechs.size(), qualifiedBays.size());
+        return found;
+    }
+
+    /**
+     * The first {@code limit} feasible (start, technician, bay) options across the horizon,
+     * earliest first, one per distinct start time.
+     *
+     * Days and slots are scanned in ascending order, so options come out already sorted and
+     * the scan stops as soon as {@code limit} have been emitted; each is handed to the sink
+     * as soon as it is found, which lets callers stream them.
+     *
+     * @return the number of options emitted
+     */
+    public int findEarliestAssignments(
+            SlotModel model,
+            LocalDateTime partsArrivalTime,
+            int serviceDurationMinutes,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays,
+            int limit,
+            Consumer<ScheduledAssignment> sink
+    ) {
+        return findEarliestAssignments(SchedulerMetrics.SearchKind.OPTIONS, model, partsArrivalTime,
+                serviceDurationMinutes, qualifiedTechs, qualifiedBays, limit, sink);
+    }
+
+    /**
+     * Same search, with the scan recorded under the given kind (e.g. one center of a multi-center search).
+     */
+    int findEarliestAssignments(
+            SchedulerMetrics.SearchKind kind,
+            SlotModel model,
+            LocalDateTime partsArrivalTime,
+            int serviceDurationMinutes,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays,
+            int limit,
+            Consumer<ScheduledAssignment> sink
+    ) {
+        int requiredSlots = model.requiredSlots(serviceDurationMinutes);
 
         LocalDate today = LocalDate.now();
+        LocalDate arrivalDay = partsArrivalTime.toLocalDate();
+        LocalDate firstDay = arrivalDay.isAfter(today) ? arrivalDay : today;
+        LocalDate lastDay = today.plusDays(SEARCH_HORIZON_DAYS - 1);
+
+        if (limit <= 0 || requiredSlots > model.totalSlots() || firstDay.isAfter(lastDay)
+                || qualifiedTechs.isEmpty() || qualifiedBays.isEmpty()) {
+            return 0;
+        }
 
-        for (int dayOffset = 0; dayOffset < 30; dayOffset++) {
-            LocalDate currentDay = today.plusDays(dayOffset);
+        MaskSource masks = openMaskSource(qualifiedTechs, qualifiedBays, firstDay, lastDay);
+        SlotFitEngine engine = new SlotFitEngine(model);
+        int words = engine.words();
+        long[] techMasks = new long[qualifiedTechs.size() * words];
+        long[] bayMasks = new long[qualifiedBays.size() * words];
 
-            if (currentDay.isBefore(partsArrivalTime.toLocalDate())) {
+        int emitted = 0;
+        int daysScanned = 0;
+        for (LocalDate currentDay = firstDay; !currentDay.isAfter(lastDay) && emitted < limit;
+             currentDay = currentDay.plusDays(1)) {
+            daysScanned++;
+            int startSlotIndex = HorizonSearch.startSlot(model, currentDay, partsArrivalTime);
+            if (startSlotIndex >= model.totalSlots()) {
                 continue;
             }
 
-            int startSlotIndex = 0;
-            if (currentDay.isEqual(partsArrivalTime.toLocalDate())) {
-                startSlotIndex = calculateSlotIndex(partsArrivalTime.toLocalTime());
-                if (startSlotIndex >= TOTAL_SLOTS) {
-                    continue;
-                }
-            }
-            if (startSlotIndex < 0) {
-                startSlotIndex = 0;
+            for (int t = 0; t < qualifiedTechs.size(); t++) {
+                masks.technician(qualifiedTechs.get(t), currentDay, techMasks, t * words, words);
             }
-
-            int bestSlotForDay = Integer.MAX_VALUE;
-            Technician bestTechForDay = null;
-            ServiceBay bestBayForDay = null;
-            boolean foundOnThisDay = false;
-
-            for (Technician tech : qualifiedTechs) {
-                int techMask = getTechnicianBitmask(tech.getTechnicianId(), currentDay);
-
-                for (ServiceBay bay : qualifiedBays) {
-                    int bayMask = getBayBitmask(bay.getBayId(), currentDay);
-
-                    int combinedMask = techMask | bayMask;
-
-                    int validSlot = findConsecutiveZeros(combinedMask, requiredSlots, startSlotIndex);
-
-                    if (validSlot != -1) {
-                        if (validSlot < bestSlotForDay) {
-                            bestSlotForDay = validSlot;
-                            bestTechForDay = tech;
-                            bestBayForDay = bay;
-                            foundOnThisDay = true;
-
-                            if (bestSlotForDay == startSlotIndex) {
-                                return new ScheduledAssignment(
-                                        mapSlotToDateTime(currentDay, bestSlotForDay),
-                                        bestTechForDay,
-                                        bestBayForDay,
-                                        bestSlotForDay
-                                );
-                            }
-                        }
-                    }
-                }
+            for (int b = 0; b < qualifiedBays.size(); b++) {
+                masks.bay(qualifiedBays.get(b), currentDay, bayMasks, b * words, words);
             }
 
-            if (foundOnThisDay && bestTechForDay != null && bestBayForDay != null) {
-                return new ScheduledAssignment(
-                        mapSlotToDateTime(currentDay, bestSlotForDay),
-                        bestTechForDay,
-                        bestBayForDay,
-                        bestSlotForDay
-                );
+            for (SlotFitEngine.Fit fit : engine.earliestPairs(techMasks, qualifiedTechs.size(),
+                    bayMasks, qualifiedBays.size(), requiredSlots, startSlotIndex, limit - emitted)) {
+                sink.accept(new ScheduledAssignment(
+                        model.slotStart(currentDay, fit.slotIndex()),
+                        qualifiedTechs.get(fit.techIndex()),
+                        qualifiedBays.get(fit.bayIndex()),
+                        fit.slotIndex()
+                ));
+                emitted++;
             }
         }
-
-        return null;
+        schedulerMetrics.searchScanned(kind,
+                daysScanned, qualifiedTechs.size(), qualifiedBays.size());
+        return emitted;
     }
 
     /**
-     * BITWISE HELPER: Finds k consecutive zeros
+     * Resident windows are served from the in-memory index; anything else is prefetched
+     * with one range query for the technicians and one for the bays.
      */
-    private int findConsecutiveZeros(int mask, int k, int startSearchFrom) {
-        int targetMask = (1 << k) - 1;
-        for (int i = startSearchFrom; i <= (TOTAL_SLOTS - k); i++) {
-            if (((mask >> i) & targetMask) == 0) {
-                return i;
-            }
+    private MaskSource openMaskSource(List<Technician> techs, List<ServiceBay> bays, LocalDate from, LocalDate to) {
+        if (availabilityIndex.covers(from, to)) {
+            return new MaskSource() {
+                @Override
+                public void technician(Technician tech, LocalDate day, long[] dest, int offset, int words) {
+                    availabilityIndex.technicianMask(tech.getServiceCenter().getCenterId(), tech.getTechnicianId(),
+                            day, dest, offset, words);
+                }
+
+                @Override
+                public void bay(ServiceBay bay, LocalDate day, long[] dest, int offset, int words) {
+                    availabilityIndex.bayMask(bay.getServiceCenter().getCenterId(), bay.getBayId(),
+                            day, dest, offset, words);
+                }
+            };
         }
-        return -1;
-    }
 
-    public int calculateSlotIndex(LocalTime time) {
-        if (time.isBefore(DAY_START)) return 0;
-        long minutesDiff = ChronoUnit.MINUTES.between(DAY_START, time);
-        return (int) Math.ceil((double) minutesDiff / 30);
-    }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<Long> techIds = techs.stream().map(Technician::getTechnicianId).toList();
+        List<Long> bayIds = bays.stream().map(ServiceBay::getBayId).toList();
+
+        ResourceDayMasks techMasks = new ResourceDayMasks(techIds.size() * days);
+        for (SchedulerMaskView row : technicianSchedulerRepository.findMasksForTechnicians(techIds, from, to)) {
+            techMasks.put(row.getResourceId(), row.getDate(), row.getBitmask(), row.getBitmaskHi());
+        }
+        ResourceDayMasks bayMasks = new ResourceDayMasks(bayIds.size() * days);
+        for (SchedulerMaskView row : baySchedulerRepository.findMasksForBays(bayIds, from, to)) {
+            bayMasks.put(row.getResourceId(), row.getDate(), row.getBitmask(), row.getBitmaskHi());
+        }
 
-    private LocalDateTime mapSlotToDateTime(LocalDate date, int slotIndex) {
-        return date.atTime(DAY_START).plusMinutes(slotIndex * 30L);
+        return new MaskSource() {
+            @Override
+            public void technician(Technician tech, LocalDate day, long[] dest, int offset, int words) {
+                techMasks.get(tech.getTechnicianId(), day, dest, offset, words);
+            }
+
+            @Override
+            public void bay(ServiceBay bay, LocalDate day, long[] dest, int offset, int words) {
+                bayMasks.get(bay.getBayId(), day, dest, offset, words);
+            }
+        };
     }
 
     // =================================================================
     // DATABASE HELPERS (Replacing the Mock)
     // =================================================================
 
-    public int getTechnicianBitmask(Long techId, LocalDate date) {
+    public long[] getTechnicianBitmask(Long techId, LocalDate date) {
         Optional<TechnicianScheduler> schedule = 
             technicianSchedulerRepository.findByTechnician_TechnicianIdAndDate(techId, date);
         
         // If present, return the bitmask. If not found (no schedule created yet), assume 0 (Free).
-        return schedule.map(TechnicianScheduler::getBitmask).orElse(0);
+        return schedule.map(s -> SlotMask.of(s.getBitmask(), s.getBitmaskHi())).orElseGet(() -> new long[SlotMask.WORDS]);
     }
 
-    public int getBayBitmask(Long bayId, LocalDate date) {
+    public long[] getBayBitmask(Long bayId, LocalDate date) {
         Optional<BayScheduler> schedule = 
             baySchedulerRepository.findByBay_BayIdAndDate(bayId, date);
         
-        return schedule.map(BayScheduler::getBitmask).orElse(0);
+        return schedule.map(s -> SlotMask.of(s.getBitmask(), s.getBitmaskHi())).orElseGet(() -> new long[SlotMask.WORDS]);
+    }
+
+    /**
+     * Read access to technician/bay day masks; implementations must allow concurrent reads.
+     */
+    public interface MaskSource {
+        void technician(Technician tech, LocalDate day, long[] dest, int offset, int words);
+
+        void bay(ServiceBay bay, LocalDate day, long[] dest, int offset, int words);
     }
 
     public record ScheduledAssignment(
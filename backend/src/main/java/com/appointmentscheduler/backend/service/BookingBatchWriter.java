@@ -0,0 +1,120 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.AppointmentResources;
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.BayScheduler;
+import com.appointmentscheduler.backend.entity.ProcurementQueue;
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.entity.TechnicianScheduler;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Batched writes for a planned booking batch: one round trip per table and batch instead of one
+ * per row. New rows go through Hibernate, which batches their inserts (hibernate.jdbc.batch_size)
+ * now that the booking tables take their ids from pooled sequences; the version-checked scheduler
+ * updates stay plain JDBC batches. Runs inside the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+class BookingBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Inserts the appointments; their ids are assigned from the sequence before the insert.
+     */
+    void insertAppointments(List<Appointments> appointments) {
+        persistAll(appointments);
+    }
+
+    void insertResources(List<AppointmentResources> resources) {
+        persistAll(resources);
+    }
+
+    void insertProcurementTasks(List<ProcurementQueue> tasks) {
+        persistAll(tasks);
+    }
+
+    void writeTechnicianRows(List<BookingSnapshot.Row> rows) {
+        updateRows("technician_scheduler", rows);
+        insertRows(rows, row -> TechnicianScheduler.builder()
+                .technician(entityManager.getReference(Technician.class, row.resourceId))
+                .date(row.date)
+                .bitmask(row.mask[0])
+                .bitmaskHi(row.mask[1])
+                .build());
+    }
+
+    void writeBayRows(List<BookingSnapshot.Row> rows) {
+        updateRows("bay_scheduler", rows);
+        insertRows(rows, row -> BayScheduler.builder()
+                .bay(entityManager.getReference(ServiceBay.class, row.resourceId))
+                .date(row.date)
+                .bitmask(row.mask[0])
+                .bitmaskHi(row.mask[1])
+                .build());
+    }
+
+    /**
+     * Existing rows are updated only if their version is unchanged since the snapshot was read.
+     */
+    private void updateRows(String table, List<BookingSnapshot.Row> rows) {
+        List<BookingSnapshot.Row> updates = rows.stream().filter(row -> row.id != null).toList();
+        if (updates.isEmpty()) {
+            return;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "update " + table + " set bitmask = ?, bitmask_hi = ?, version = version + 1 "
+                        + "where id = ? and version = ?",
+                updates, updates.size(), (ps, row) -> {
+                    ps.setLong(1, row.mask[0]);
+                    ps.setLong(2, row.mask[1]);
+                    ps.setLong(3, row.id);
+                    ps.setLong(4, row.version);
+                });
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new AppointmentBookingService.SlotConflictException();
+                }
+            }
+        }
+    }
+
+    /**
+     * New rows rely on the (resource, date) unique key: a day row created concurrently fails the
+     * batch like a stale update does.
+     */
+    private void insertRows(List<BookingSnapshot.Row> rows, Function<BookingSnapshot.Row, Object> newRow) {
+        List<Object> inserts = rows.stream().filter(row -> row.id == null).map(newRow).toList();
+        try {
+            persistAll(inserts);
+        } catch (ConstraintViolationException e) {
+            if (e.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new AppointmentBookingService.SlotConflictException();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Persists and flushes right away, so later statements of the batch (reservation commits,
+     * scheduler updates) see the rows; the flush sends each table's inserts as JDBC batches.
+     */
+    private void persistAll(List<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+}
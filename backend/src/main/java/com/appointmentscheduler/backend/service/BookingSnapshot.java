@@ -0,0 +1,110 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.repository.SchedulerRowView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable in-memory copy of the technician/bay day masks used to plan a whole batch.
+ *
+ * Every planned booking is ORed in right away, so later items in the batch see the slots
+ * taken by earlier ones without touching the database. Rows remember the id and @Version
+ * they were read with; {@link #dirtyTechnicianRows()} / {@link #dirtyBayRows()} are what
+ * has to be written back, as version-checked updates (id != null) or inserts.
+ */
+final class BookingSnapshot implements BitmaskSchedulerService.MaskSource {
+
+    private final Map<Long, Row> technicianRows = new HashMap<>();
+    private final Map<Long, Row> bayRows = new HashMap<>();
+
+    void loadTechnicianRow(SchedulerRowView view) {
+        technicianRows.put(key(view.getResourceId(), view.getDate()), Row.of(view));
+    }
+
+    void loadBayRow(SchedulerRowView view) {
+        bayRows.put(key(view.getResourceId(), view.getDate()), Row.of(view));
+    }
+
+    void occupyTechnician(Long technicianId, LocalDate date, long[] busyBits) {
+        occupy(technicianRows, technicianId, date, busyBits);
+    }
+
+    void occupyBay(Long bayId, LocalDate date, long[] busyBits) {
+        occupy(bayRows, bayId, date, busyBits);
+    }
+
+    List<Row> dirtyTechnicianRows() {
+        return dirty(technicianRows);
+    }
+
+    List<Row> dirtyBayRows() {
+        return dirty(bayRows);
+    }
+
+    @Override
+    public void technician(Technician tech, LocalDate day, long[] dest, int offset, int words) {
+        copy(technicianRows.get(key(tech.getTechnicianId(), day)), dest, offset, words);
+    }
+
+    @Override
+    public void bay(ServiceBay bay, LocalDate day, long[] dest, int offset, int words) {
+        copy(bayRows.get(key(bay.getBayId(), day)), dest, offset, words);
+    }
+
+    private static void occupy(Map<Long, Row> rows, Long resourceId, LocalDate date, long[] busyBits) {
+        Row row = rows.computeIfAbsent(key(resourceId, date),
+                k -> new Row(null, null, resourceId, date, new long[SlotMask.WORDS]));
+        for (int w = 0; w < SlotMask.WORDS; w++) {
+            row.mask[w] |= busyBits[w];
+        }
+        row.dirty = true;
+    }
+
+    private static List<Row> dirty(Map<Long, Row> rows) {
+        List<Row> result = new ArrayList<>();
+        for (Row row : rows.values()) {
+            if (row.dirty) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private static void copy(Row row, long[] dest, int offset, int words) {
+        for (int w = 0; w < words; w++) {
+            dest[offset + w] = row == null ? 0L : row.mask[w];
+        }
+    }
+
+    private static long key(Long resourceId, LocalDate date) {
+        return (resourceId << 24) | (date.toEpochDay() & 0xFFFFFF);
+    }
+
+    static final class Row {
+        final Long id;
+        final Long version;
+        final Long resourceId;
+        final LocalDate date;
+        final long[] mask;
+        private boolean dirty;
+
+        private Row(Long id, Long version, Long resourceId, LocalDate date, long[] mask) {
+            this.id = id;
+            this.version = version;
+            this.resourceId = resourceId;
+            this.date = date;
+            this.mask = mask;
+        }
+
+        private static Row of(SchedulerRowView view) {
+            return new Row(view.getId(), view.getVersion(), view.getResourceId(), view.getDate(),
+                    SlotMask.of(view.getBitmask(), view.getBitmaskHi()));
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.appointmentscheduler.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over customer names and phone numbers.
+ *
+ * Names are normalized (accents stripped, lower case, punctuation collapsed to single spaces),
+ * phones are reduced to their digits. Each customer gets an ordinal, and every trigram of its
+ * name and phone points back to it through a posting list; the first one and two characters
+ * of every word (and of the phone) are posted as well, for type-ahead queries too short for a
+ * trigram. A query reads the shortest posting list among its grams and checks the candidates
+ * against the normalized text, so the work is bounded by the rarest gram, not the table size.
+ *
+ * Ordinals only grow: changing a customer retires its ordinal and posts a fresh one, which
+ * keeps posting lists sorted and duplicate-free. Retired ordinals are skipped on read and
+ * dropped when the index is rebuilt.
+ *
+ * Queries of three or more characters match anywhere in the name or phone, as the LIKE query
+ * did; shorter queries match the start of a name word or of the phone. Results are ranked:
+ * exact match, then match at the start, then at the start of a word, then elsewhere; ties go
+ * to the shorter name, then the lower customer id.
+ *
+ * Safe for concurrent use: searches share a read lock, changes take the write lock.
+ */
+public final class CustomerSearchIndex {
+
+    static final int GRAM = 3;
+
+    private static final int NAME_GRAM = 1;
+    private static final int PHONE_GRAM = 2;
+    private static final int NAME_PREFIX = 3;
+    private static final int PHONE_PREFIX = 4;
+
+    private static final int EXACT = 0;
+    private static final int STARTS_WITH = 1;
+    private static final int WORD_START = 2;
+    private static final int CONTAINS = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s+().-]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int[] customerIds = new int[1024];
+    private String[] names = new String[1024];
+    private String[] phones = new String[1024];
+    private int nextOrdinal;
+
+    /**
+     * Adds the customer, or replaces what was indexed for it.
+     */
+    public void put(int customerId, String name, String phone) {
+        String normalizedName = normalizeName(name);
+        String phoneDigits = digits(phone);
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinals.get(customerId);
+            if (previous != null) {
+                if (normalizedName.equals(names[previous]) && phoneDigits.equals(phones[previous])) {
+                    return;
+                }
+                retire(previous);
+            }
+            int ordinal = nextOrdinal++;
+            if (ordinal == customerIds.length) {
+                int capacity = ordinal * 2;
+                customerIds = Arrays.copyOf(customerIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                phones = Arrays.copyOf(phones, capacity);
+            }
+            customerIds[ordinal] = customerId;
+            names[ordinal] = normalizedName;
+            phones[ordinal] = phoneDigits;
+            ordinals.put(customerId, ordinal);
+            for (long key : keys(normalizedName, phoneDigits)) {
+                postings.computeIfAbsent(key, k -> new Postings()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int customerId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(customerId);
+            if (ordinal != null) {
+                retire(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of customers indexed.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of the customers matching the query, best first, and how many match in total.
+     */
+    public SearchPage search(String query, int offset, int limit) {
+        String nameQuery = normalizeName(query);
+        String phoneQuery = query != null && PHONE_QUERY.matcher(query).matches() ? digits(query) : "";
+        if (nameQuery.isEmpty() && phoneQuery.isEmpty()) {
+            return new SearchPage(List.of(), 0);
+        }
+
+        int wanted = (int) Math.min((long) Math.max(offset, 0) + Math.max(limit, 0), Integer.MAX_VALUE);
+        PriorityQueue<Match> best;
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            Postings nameCandidates = nameQuery.isEmpty() ? null : candidates(nameQuery, NAME_GRAM, NAME_PREFIX);
+            Postings phoneCandidates = phoneQuery.isEmpty() ? null : candidates(phoneQuery, PHONE_GRAM, PHONE_PREFIX);
+            // Worst-ranked match at the head, so it is the one evicted when the page is full; sized by
+            // what can match rather than by the requested offset, which may be far past the last match
+            long candidates = (nameCandidates == null ? 0L : nameCandidates.size)
+                    + (phoneCandidates == null ? 0L : phoneCandidates.size);
+            best = new PriorityQueue<>((int) Math.max(Math.min(wanted, candidates), 1), Match.RANKING.reversed());
+
+            if (nameCandidates != null) {
+                for (int i = 0; i < nameCandidates.size; i++) {
+                    int ordinal = nameCandidates.ordinals[i];
+                    int rank = nameRank(names[ordinal], nameQuery);
+                    if (rank >= 0) {
+                        total++;
+                        offer(best, wanted, new Match(rank, names[ordinal].length(), customerIds[ordinal]));
+                    }
+                }
+            }
+            if (phoneCandidates != null) {
+                for (int i = 0; i < phoneCandidates.size; i++) {
+                    int ordinal = phoneCandidates.ordinals[i];
+                    int rank = phoneRank(phones[ordinal], phoneQuery);
+                    // Already counted on the name side
+                    if (rank < 0 || (nameCandidates != null && nameRank(names[ordinal], nameQuery) >= 0)) {
+                        continue;
+                    }
+                    total++;
+                    offer(best, wanted, new Match(rank, names[ordinal].length(), customerIds[ordinal]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(Match.RANKING);
+        List<Integer> page = ranked.subList(Math.min(Math.max(offset, 0), ranked.size()), ranked.size()).stream()
+                .map(Match::customerId)
+                .toList();
+        return new SearchPage(page, total);
+    }
+
+    /**
+     * Lower case, accents stripped, every run of non-alphanumerics turned into one space.
+     */
+    static String normalizeName(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * The shortest posting list among the query's grams; an empty list if any gram is unknown.
+     */
+    private Postings candidates(String query, int gramKind, int prefixKind) {
+        if (query.length() < GRAM) {
+            Postings list = postings.get(key(prefixKind, query, 0, query.length()));
+            return list != null ? list : Postings.EMPTY;
+        }
+        Postings shortest = null;
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Postings list = postings.get(key(gramKind, query, i, GRAM));
+            if (list == null) {
+                return Postings.EMPTY;
+            }
+            if (shortest == null || list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        return shortest;
+    }
+
+    private static int nameRank(String name, String query) {
+        if (name == null) {
+            return -1;
+        }
+        if (name.equals(query)) {
+            return EXACT;
+        }
+        if (name.startsWith(query)) {
+            return STARTS_WITH;
+        }
+        if (name.contains(" " + query)) {
+            return WORD_START;
+        }
+        return query.length() >= GRAM && name.contains(query) ? CONTAINS : -1;
+    }
+
+    private static int phoneRank(String phone, String query) {
+        if (phone == null) {
+            return -1;
+        }
+        if (phone.equals(query)) {
+            return EXACT;
+        }
+        if (phone.startsWith(query)) {
+            return STARTS_WITH;
+        }
+        return query.length() >= GRAM && phone.contains(query) ? CONTAINS : -1;
+    }
+
+    private static void offer(PriorityQueue<Match> best, int wanted, Match match) {
+        if (best.size() < wanted) {
+            best.add(match);
+        } else if (wanted > 0 && Match.RANKING.compare(match, best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    private void retire(int ordinal) {
+        names[ordinal] = null;
+        phones[ordinal] = null;
+    }
+
+    /**
+     * Distinct posting keys of one customer.
+     */
+    private static long[] keys(String name, String phone) {
+        long[] keys = new long[Math.max(name.length() - GRAM + 1, 0) + Math.max(phone.length() - GRAM + 1, 0)
+                + 2 * (name.length() + 1) + 2];
+        int count = 0;
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            keys[count++] = key(NAME_GRAM, name, i, GRAM);
+        }
+        for (int i = 0; i + GRAM <= phone.length(); i++) {
+            keys[count++] = key(PHONE_GRAM, phone, i, GRAM);
+        }
+        int wordStart = 0;
+        while (wordStart < name.length()) {
+            keys[count++] = key(NAME_PREFIX, name, wordStart, 1);
+            if (wordStart + 1 < name.length() && name.charAt(wordStart + 1) != ' ') {
+                keys[count++] = key(NAME_PREFIX, name, wordStart, 2);
+            }
+            int space = name.indexOf(' ', wordStart);
+            if (space < 0) {
+                break;
+            }
+            wordStart = space + 1;
+        }
+        if (!phone.isEmpty()) {
+            keys[count++] = key(PHONE_PREFIX, phone, 0, 1);
+            if (phone.length() > 1) {
+                keys[count++] = key(PHONE_PREFIX, phone, 0, 2);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    /**
+     * kind in the top 16 bits, then up to three 16-bit chars; shorter grams leave the low chars 0.
+     */
+    private static long key(int kind, String text, int from, int length) {
+        long key = (long) kind << 48;
+        for (int i = 0; i < length; i++) {
+            key |= (long) text.charAt(from + i) << (32 - 16 * i);
+        }
+        return key;
+    }
+
+    private static final class Postings {
+        private static final Postings EMPTY = new Postings();
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+
+    private record Match(int rank, int nameLength, int customerId) {
+        private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+                .thenComparingInt(Match::nameLength)
+                .thenComparingInt(Match::customerId);
+    }
+
+    public record SearchPage(List<Integer> customerIds, int total) {}
+}
@@ -0,0 +1,34 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Customer} feeding inserts, updates and deletes to the search index.
+ * The service is looked up lazily: listeners are created with the entity manager factory,
+ * before the repositories the service depends on exist.
+ */
+@Component
+public class CustomerSearchListener {
+
+    private final ObjectProvider<CustomerSearchService> customerSearchService;
+
+    public CustomerSearchListener(ObjectProvider<CustomerSearchService> customerSearchService) {
+        this.customerSearchService = customerSearchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Customer customer) {
+        customerSearchService.getObject().customerSaved(customer);
+    }
+
+    @PostRemove
+    public void removed(Customer customer) {
+        customerSearchService.getObject().customerRemoved(customer.getCustomerId());
+    }
+}
@@ -0,0 +1,135 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.config.SeedDataLoadedEvent;
+import com.appointmentscheduler.backend.entity.Customer;
+import com.appointmentscheduler.backend.repository.CustomerRepository;
+import com.appointmentscheduler.backend.repository.CustomerSearchView;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Owns the resident {@link CustomerSearchIndex}: built from the customers table at startup,
+ * rebuilt nightly to drop retired entries, and kept current by {@link CustomerSearchListener}
+ * through {@link #customerSaved} / {@link #customerRemoved}, applied after commit.
+ *
+ * A rebuild loads into a fresh index while the old one keeps serving; changes committed
+ * meanwhile go to both, and are replayed on the fresh index before it is swapped in, so a
+ * row read before it changed cannot win over the change. Writes that bypass JPA (bulk JDBC
+ * loads) are not seen until {@link #reload}.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchService.class);
+
+    private final CustomerRepository customerRepository;
+
+    @Value("${scheduler.customer-search.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantLock reloading = new ReentrantLock();
+    private volatile CustomerSearchIndex index;
+    private List<Consumer<CustomerSearchIndex>> pending;
+
+    @EventListener({ApplicationReadyEvent.class, SeedDataLoadedEvent.class})
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(cron = "${scheduler.customer-search.rebuild-cron:0 15 0 * * *}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuild the index from the customers table.
+     */
+    public void reload() {
+        reloading.lock();
+        try {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            CustomerSearchIndex fresh = new CustomerSearchIndex();
+            List<CustomerSearchView> rows = customerRepository.findSearchRows();
+            for (CustomerSearchView row : rows) {
+                fresh.put(row.getCustomerId(), row.getName(), row.getPhone());
+            }
+            synchronized (this) {
+                pending.forEach(change -> change.accept(fresh));
+                pending = null;
+                index = fresh;
+            }
+            log.info("Customer search index loaded {} customers", rows.size());
+        } finally {
+            reloading.unlock();
+        }
+    }
+
+    /**
+     * False until the first load finished (or when disabled); callers fall back to the database.
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * One page of matching customer ids, best first.
+     */
+    public CustomerSearchIndex.SearchPage search(String query, int page, int size) {
+        int offset = (int) Math.min((long) Math.max(page, 0) * Math.max(size, 0), Integer.MAX_VALUE);
+        return index.search(query, offset, size);
+    }
+
+    public void customerSaved(Customer customer) {
+        Integer customerId = customer.getCustomerId();
+        String name = customer.getName();
+        String phone = customer.getPhone();
+        afterCommit(target -> target.put(customerId, name, phone));
+    }
+
+    public void customerRemoved(Integer customerId) {
+        afterCommit(target -> target.remove(customerId));
+    }
+
+    private void afterCommit(Consumer<CustomerSearchIndex> change) {
+        Runnable apply = () -> apply(change);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private synchronized void apply(Consumer<CustomerSearchIndex> change) {
+        if (index != null) {
+            change.accept(index);
+        }
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.Technician;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Earliest-fit scan over a window of days, either day by day or in parallel day chunks.
+ *
+ * In parallel mode the window is cut into chunks of chunkDays that are scanned concurrently,
+ * each with its own engine and buffers. Results are consumed in day order: the first chunk
+ * with a fit is the answer once every earlier chunk came back empty, so the later chunks are
+ * cancelled, and a chunk notices an earlier hit between days and stops. The answer is always
+ * the same as the sequential scan's.
+ *
+ * Mask sources must tolerate concurrent reads in parallel mode (the index, the prefetched
+ * range and the batch snapshot all do, since nothing writes to them during a search).
+ */
+public final class HorizonSearch {
+
+    private final ExecutorService executor;
+    private final int chunkDays;
+
+    private HorizonSearch(ExecutorService executor, int chunkDays) {
+        this.executor = executor;
+        this.chunkDays = chunkDays;
+    }
+
+    public static HorizonSearch sequential() {
+        return new HorizonSearch(null, Integer.MAX_VALUE);
+    }
+
+    public static HorizonSearch parallel(ExecutorService executor, int chunkDays) {
+        if (chunkDays < 1) {
+            throw new IllegalArgumentException("chunkDays must be positive: " + chunkDays);
+        }
+        return new HorizonSearch(executor, chunkDays);
+    }
+
+    public BitmaskSchedulerService.ScheduledAssignment earliest(
+            SlotModel model,
+            int requiredSlots,
+            LocalDateTime partsArrivalTime,
+            LocalDate firstDay,
+            LocalDate lastDay,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays,
+            BitmaskSchedulerService.MaskSource masks
+    ) {
+        long days = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        if (executor == null || days <= chunkDays) {
+            return scan(model, requiredSlots, partsArrivalTime, firstDay, lastDay,
+                    qualifiedTechs, qualifiedBays, masks, null, 0);
+        }
+
+        int chunks = (int) ((days + chunkDays - 1) / chunkDays);
+        AtomicInteger firstHit = new AtomicInteger(Integer.MAX_VALUE);
+        List<Future<BitmaskSchedulerService.ScheduledAssignment>> futures = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            LocalDate from = firstDay.plusDays((long) c * chunkDays);
+            LocalDate to = from.plusDays(chunkDays - 1L).isAfter(lastDay) ? lastDay : from.plusDays(chunkDays - 1L);
+            futures.add(executor.submit(() -> {
+                BitmaskSchedulerService.ScheduledAssignment found = scan(model, requiredSlots, partsArrivalTime,
+                        from, to, qualifiedTechs, qualifiedBays, masks, firstHit, chunk);
+                if (found != null) {
+                    firstHit.accumulateAndGet(chunk, Math::min);
+                }
+                return found;
+            }));
+        }
+
+        try {
+            for (int c = 0; c < chunks; c++) {
+                BitmaskSchedulerService.ScheduledAssignment found = futures.get(c).get();
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Slot search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Slot search failed", e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * First slot that may be used on the given day: the arrival time's slot on the arrival day,
+     * 0 on later days; totalSlots() or more means the day is already over.
+     */
+    static int startSlot(SlotModel model, LocalDate day, LocalDateTime partsArrivalTime) {
+        if (!day.isEqual(partsArrivalTime.toLocalDate())) {
+            return 0;
+        }
+        return Math.max(0, model.slotIndex(partsArrivalTime.toLocalTime()));
+    }
+
+    private static BitmaskSchedulerService.ScheduledAssignment scan(
+            SlotModel model,
+            int requiredSlots,
+            LocalDateTime partsArrivalTime,
+            LocalDate firstDay,
+            LocalDate lastDay,
+            List<Technician> qualifiedTechs,
+            List<ServiceBay> qualifiedBays,
+            BitmaskSchedulerService.MaskSource masks,
+            AtomicInteger firstHit,
+            int chunk
+    ) {
+        SlotFitEngine engine = new SlotFitEngine(model);
+        int words = engine.words();
+        long[] techMasks = new long[qualifiedTechs.size() * words];
+        long[] bayMasks = new long[qualifiedBays.size() * words];
+
+        for (LocalDate currentDay = firstDay; !currentDay.isAfter(lastDay); currentDay = currentDay.plusDays(1)) {
+            if (firstHit != null && firstHit.get() < chunk) {
+                // An earlier chunk already has the answer
+                return null;
+            }
+            int startSlotIndex = startSlot(model, currentDay, partsArrivalTime);
+            if (startSlotIndex >= model.totalSlots()) {
+                continue;
+            }
+
+            for (int t = 0; t < qualifiedTechs.size(); t++) {
+                masks.technician(qualifiedTechs.get(t), currentDay, techMasks, t * words, words);
+            }
+            for (int b = 0; b < qualifiedBays.size(); b++) {
+                masks.bay(qualifiedBays.get(b), currentDay, bayMasks, b * words, words);
+            }
+
+            SlotFitEngine.Fit fit = engine.earliestPair(
+                    techMasks, qualifiedTechs.size(), bayMasks, qualifiedBays.size(),
+                    requiredSlots, startSlotIndex);
+
+            if (fit != null) {
+                return new BitmaskSchedulerService.ScheduledAssignment(
+                        model.slotStart(currentDay, fit.slotIndex()),
+                        qualifiedTechs.get(fit.techIndex()),
+                        qualifiedBays.get(fit.bayIndex()),
+                        fit.slotIndex()
+                );
+            }
+        }
+        return null;
+    }
+}
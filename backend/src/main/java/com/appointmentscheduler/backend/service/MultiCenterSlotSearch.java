@@ -0,0 +1,188 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.config.SqlStatementCounter;
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.repository.ServiceBayRepository;
+import com.appointmentscheduler.backend.repository.TechnicianRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Earliest slots for one service across several centers, e.g. every center of a region.
+ *
+ * The qualified technicians and bays of all centers are read with two queries; then up to
+ * scheduler.search.multi-center.parallelism virtual threads take the centers one by one, computing
+ * each center's parts arrival date and its first {@code limit} options, which come out sorted by
+ * start time. Those per-center lists are k-way merged. A center can still hit the database (cold
+ * parts cache, days the availability index does not cover), so the worker count, not the region
+ * size, bounds the connections one request holds; keep it below the pool size.
+ *
+ * Statements the workers issue are credited to the request thread's {@link SqlStatementCounter},
+ * and each center's scan is recorded under the multi_center search kind.
+ */
+@Service
+@RequiredArgsConstructor
+public class MultiCenterSlotSearch {
+
+    // Earlier start first, then the lower center id (a center never repeats a start time)
+    static final Comparator<CenterAssignment> EARLIEST_FIRST = Comparator
+            .comparing((CenterAssignment option) -> option.assignment().startTime())
+            .thenComparing(option -> option.center().getCenterId());
+
+    private final TechnicianRepository technicianRepository;
+    private final ServiceBayRepository serviceBayRepository;
+    private final PartsAvailabilityService partsAvailabilityService;
+    private final BitmaskSchedulerService bitmaskSchedulerService;
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Value("${scheduler.search.multi-center.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService searchExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        searchExecutor.shutdownNow();
+    }
+
+    /**
+     * The first {@code limit} options for the service over all the given centers, earliest first.
+     * A center contributes at most one option per start time; centers without a qualified
+     * technician or bay contribute none.
+     */
+    public List<CenterAssignment> findEarliestAssignments(ServiceCatalog service, List<ServiceCenter> centers, int limit) {
+        if (limit <= 0 || centers.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> centerIds = centers.stream().map(ServiceCenter::getCenterId).toList();
+        Map<Integer, List<Technician>> techsByCenter = technicianRepository
+                .findByServiceCenter_CenterIdInAndSkillLevelGreaterThanEqual(centerIds, service.getRequiredSkillLevel())
+                .stream()
+                .collect(Collectors.groupingBy(tech -> tech.getServiceCenter().getCenterId()));
+        Map<Integer, List<ServiceBay>> baysByCenter = serviceBayRepository
+                .findByServiceCenter_CenterIdInAndType(centerIds, service.getRequiredBayType())
+                .stream()
+                .collect(Collectors.groupingBy(bay -> bay.getServiceCenter().getCenterId()));
+
+        List<ServiceCenter> searchable = centers.stream()
+                .filter(center -> techsByCenter.containsKey(center.getCenterId())
+                        && baysByCenter.containsKey(center.getCenterId()))
+                .toList();
+        List<List<CenterAssignment>> perCenter = new ArrayList<>(searchable.size());
+        for (int i = 0; i < searchable.size(); i++) {
+            perCenter.add(List.of());
+        }
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(Math.max(parallelism, 1), searchable.size());
+        List<Future<Long>> futures = new ArrayList<>(workers);
+        try {
+            for (int w = 0; w < workers; w++) {
+                futures.add(searchExecutor.submit(() -> {
+                    long startStatements = sqlStatementCounter.current();
+                    for (int i = next.getAndIncrement(); i < searchable.size() && !Thread.currentThread().isInterrupted();
+                         i = next.getAndIncrement()) {
+                        ServiceCenter center = searchable.get(i);
+                        perCenter.set(i, searchCenter(service, center, techsByCenter.get(center.getCenterId()),
+                                baysByCenter.get(center.getCenterId()), limit));
+                    }
+                    return sqlStatementCounter.current() - startStatements;
+                }));
+            }
+            long statements = 0;
+            for (Future<Long> future : futures) {
+                statements += future.get();
+            }
+            sqlStatementCounter.credit(statements);
+            return merge(perCenter, EARLIEST_FIRST, limit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Multi-center slot search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Multi-center slot search failed", e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private List<CenterAssignment> searchCenter(ServiceCatalog service, ServiceCenter center,
+                                                List<Technician> techs, List<ServiceBay> bays, int limit) {
+        LocalDateTime partsArrivalDate = partsAvailabilityService.partsArrivalDate(service.getServiceId(), center.getCenterId());
+        List<CenterAssignment> options = new ArrayList<>(limit);
+        bitmaskSchedulerService.findEarliestAssignments(SchedulerMetrics.SearchKind.MULTI_CENTER,
+                SlotModel.of(center), partsArrivalDate,
+                service.getDurationMinutes(), techs, bays, limit,
+                assignment -> options.add(new CenterAssignment(center, partsArrivalDate, assignment)));
+        return options;
+    }
+
+    /**
+     * The first {@code limit} elements of lists that are each sorted by {@code order}: a heap holds
+     * the head of every list, so each element taken costs O(log lists).
+     */
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> order, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+        List<T> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if (++cursor.position < cursor.list.size()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+        final List<T> list;
+        int position;
+
+        Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        T head() {
+            return list.get(position);
+        }
+    }
+
+    public record CenterAssignment(
+            ServiceCenter center,
+            LocalDateTime partsArrivalDate,
+            BitmaskSchedulerService.ScheduledAssignment assignment
+    ) {}
+}
@@ -0,0 +1,151 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.enums.ProcurementStatus;
+import com.appointmentscheduler.backend.repository.AppointmentsRepository;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ProcurementQueueRepository;
+import com.appointmentscheduler.backend.repository.ProcurementTaskView;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Handles a delivery of parts at a center: hands the units to the appointments booked there that
+ * are waiting for them and reschedules the ones that become ready.
+ *
+ * Waiting appointments are found through their procurement tasks (ACTION_REQUIRED or ORDERED)
+ * for the part, read through the (part_id, status) index rather than by scanning the queue or
+ * every PENDING_PARTS appointment. Tasks are served most urgent first; a task is only served
+ * whole. Units nobody at the center is waiting for go into the center's own stock, never into the
+ * row of another center that the tasks may have been queued against. An appointment whose last task was served
+ * is confirmed and then moved to the earliest slot free now, if that is earlier than the slot
+ * it was booked into with the lead time.
+ */
+@Service
+@RequiredArgsConstructor
+public class PartsArrivalService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartsArrivalService.class);
+
+    private static final List<ProcurementStatus> WAITING =
+            List.of(ProcurementStatus.ACTION_REQUIRED, ProcurementStatus.ORDERED);
+
+    private final ProcurementQueueRepository procurementQueueRepository;
+    private final PartsInventoryRepository partsInventoryRepository;
+    private final AppointmentsRepository appointmentsRepository;
+    private final PartsReservationService partsReservationService;
+    private final ServiceCenterRepository serviceCenterRepository;
+    private final AppointmentBookingService appointmentBookingService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Receive quantity units of a center part at that center.
+     */
+    public ArrivalResult receive(Integer partId, int quantity) {
+        return receive(null, partId, quantity);
+    }
+
+    /**
+     * Receive quantity units of a part at a center (null: the part's own center). The part may be
+     * another center's row of it, as queued for a center that does not stock the part.
+     *
+     * The allocation and the confirmations commit together; each reschedule then runs in its own
+     * transaction, so one appointment losing a slot race does not undo the delivery.
+     */
+    public ArrivalResult receive(Integer centerId, Integer partId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (!partsInventoryRepository.existsById(partId)) {
+            throw new IllegalArgumentException("Part not found: " + partId);
+        }
+        if (centerId != null && !serviceCenterRepository.existsById(centerId)) {
+            throw new IllegalArgumentException("Service center not found: " + centerId);
+        }
+
+        Allocation allocation = transactionTemplate.execute(status -> allocate(centerId, partId, quantity));
+
+        List<Integer> moved = new ArrayList<>();
+        for (Integer appointmentId : allocation.confirmed()) {
+            Appointments appointment = appointmentBookingService.rescheduleEarlier(appointmentId);
+            if (appointment != null) {
+                moved.add(appointmentId);
+            }
+        }
+        if (allocation.tasksReceived() > 0) {
+            log.info("Part {}: {} units served {} tasks, {} appointments confirmed, {} moved earlier",
+                    partId, quantity, allocation.tasksReceived(), allocation.confirmed().size(), moved.size());
+        }
+        return new ArrivalResult(allocation.centerId(), partId, quantity, allocation.tasksReceived(),
+                allocation.addedToStock(), allocation.stockPartId(), allocation.confirmed(), moved);
+    }
+
+    private Allocation allocate(Integer centerId, Integer partId, int quantity) {
+        PartsInventory part = partsInventoryRepository.findById(partId).orElseThrow();
+        Integer partCenterId = part.getServiceCenter().getCenterId();
+        Integer atCenter = centerId != null ? centerId : partCenterId;
+        int remaining = quantity;
+        int received = 0;
+        Set<Integer> served = new LinkedHashSet<>();
+
+        for (ProcurementTaskView task : procurementQueueRepository.findWaitingForPart(partId, atCenter, WAITING)) {
+            int needed = task.getQuantity() != null ? task.getQuantity() : 1;
+            if (needed > remaining) {
+                break;
+            }
+            // A task cancelled since the read keeps its units in the delivery
+            if (procurementQueueRepository.markReceived(task.getTaskId(), WAITING) == 0) {
+                continue;
+            }
+            remaining -= needed;
+            received++;
+            if (task.getAppointmentId() != null) {
+                served.add(task.getAppointmentId());
+            }
+        }
+
+        // Only shortages of a center's own row were counted as ordered on it
+        int allocated = quantity - remaining;
+        if (allocated > 0 && partCenterId.equals(atCenter)) {
+            partsInventoryRepository.addOrdered(partId, -allocated);
+        }
+        Integer stockPartId = null;
+        if (remaining > 0) {
+            stockPartId = partsReservationService.restock(atCenter, part, remaining);
+        }
+
+        List<Integer> confirmed = List.of();
+        if (!served.isEmpty()) {
+            confirmed = appointmentsRepository.findPartsComplete(served);
+            if (!confirmed.isEmpty()) {
+                appointmentsRepository.confirm(confirmed);
+            }
+        }
+        return new Allocation(atCenter, received, remaining, stockPartId, confirmed);
+    }
+
+    private record Allocation(Integer centerId, int tasksReceived, int addedToStock, Integer stockPartId,
+                              List<Integer> confirmed) {}
+
+    public record ArrivalResult(
+            Integer centerId,
+            Integer partId,
+            int quantity,
+            int tasksReceived,
+            int addedToStock,
+            // The center's own row the surplus went into (null if nothing was left over)
+            Integer stockPartId,
+            List<Integer> confirmedAppointmentIds,
+            List<Integer> rescheduledAppointmentIds
+    ) {}
+}
@@ -0,0 +1,322 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.config.SeedDataLoadedEvent;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.repository.BomLineView;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ServicePartsMappingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parts availability for slot search and booking.
+ *
+ * A service's bill of materials for a center is resolved with one join query and cached per
+ * (service, center); only the bulk loads below write the catalog or a center's part list. Stock levels
+ * are kept in one {@link StockCounter} per center part, primed by that same query; reservations and
+ * arrivals report what they took or gave back through {@link #stockTaken} / {@link #stockReturned},
+ * applied after commit, and a writer that sets stock some other way calls {@link #evictStock}.
+ * The bulk seed and synthetic loads write parts and mappings over JDBC, so both caches are dropped
+ * when they finish ({@link SeedDataLoadedEvent}). Once warm, {@link #partsArrivalDate} does not
+ * touch the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class PartsAvailabilityService {
+
+    static final int DEFAULT_LEAD_TIME_DAYS = 2;
+
+    // Reads of a row that keeps changing under them before the answer comes from the row alone
+    private static final int MAX_STOCK_LOADS = 3;
+
+    private final ServicePartsMappingRepository servicePartsMappingRepository;
+    private final PartsInventoryRepository partsInventoryRepository;
+    private final SchedulerMetrics schedulerMetrics;
+
+    private final Map<Long, List<BomLine>> billsOfMaterials = new ConcurrentHashMap<>();
+    private final Map<Integer, StockCounter> stock = new ConcurrentHashMap<>();
+    // Ticks on every committed stock change and eviction; a load accepts its row only if no tick
+    // on the part came after the read started
+    private final AtomicLong stockChanges = new AtomicLong();
+
+    /**
+     * Required parts of the service, each matched to the center's inventory row if it has one.
+     *
+     * Loaded outside the map rather than in computeIfAbsent, which holds the bin's monitor for the
+     * query: a caller waiting on it while holding a pooled connection could starve the loader of one,
+     * and on a virtual thread the monitor pins the carrier. Two racing loads build equal lists and
+     * the first one stored wins; the stock levels the query also returns are offered to the counters,
+     * which refuse them if a reservation on the part was open or committed while the query ran.
+     */
+    public List<BomLine> billOfMaterials(Integer serviceId, Integer centerId) {
+        long key = key(serviceId, centerId);
+        List<BomLine> lines = billsOfMaterials.get(key);
+        if (lines == null) {
+            lines = load(serviceId, centerId);
+            List<BomLine> raced = billsOfMaterials.putIfAbsent(key, lines);
+            if (raced != null) {
+                lines = raced;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * When the service can start at the center as far as parts go: now if every part is in stock,
+     * otherwise now + the longest lead time of a missing part + 1 day buffer.
+     */
+    public LocalDateTime partsArrivalDate(Integer serviceId, Integer centerId) {
+        long startNanos = System.nanoTime();
+        try {
+            return computeArrivalDate(serviceId, centerId);
+        } finally {
+            schedulerMetrics.partsArrivalDateComputed(startNanos);
+        }
+    }
+
+    private LocalDateTime computeArrivalDate(Integer serviceId, Integer centerId) {
+        int maxLeadTime = 0;
+        boolean allPartsAvailable = true;
+
+        for (BomLine line : billOfMaterials(serviceId, centerId)) {
+            if (!line.stockedAtCenter()) {
+                // Part not found in center inventory, use the catalog part's lead time
+                maxLeadTime = Math.max(maxLeadTime, line.templateLeadTimeDays());
+                allPartsAvailable = false;
+            } else if (available(line.centerPartId()) < line.quantityRequired()) {
+                maxLeadTime = Math.max(maxLeadTime, line.centerLeadTimeDays());
+                allPartsAvailable = false;
+            }
+        }
+
+        if (allPartsAvailable) {
+            return LocalDateTime.now();
+        }
+        return LocalDateTime.now().plusDays(maxLeadTime + 1);
+    }
+
+    /**
+     * Current stock of a center part; reads the row only if the counter is not loaded
+     * (outside the map, as in {@link #billOfMaterials}). A read that a stock change overlapped is
+     * thrown away and taken again, since it cannot tell whether the row already has the change.
+     */
+    public int available(Integer partId) {
+        StockCounter counter = counter(partId);
+        int available = 0;
+        for (int attempt = 0; attempt < MAX_STOCK_LOADS; attempt++) {
+            Integer cached = counter.value();
+            if (cached != null) {
+                return cached;
+            }
+            long readSince = stockChanges.get();
+            available = partsInventoryRepository.findById(partId)
+                    .map(PartsInventory::getAvailableParts)
+                    .map(parts -> parts != null ? parts : 0)
+                    .orElse(0);
+            Integer loaded = counter.load(available, readSince);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        // Still changing: the last read is current, the next caller tries to cache it again
+        return available;
+    }
+
+    /**
+     * A reservation took quantity units of the part; the counter follows once the transaction commits.
+     * Until then the counter knows the change is open and refuses loads, which may or may not see it.
+     */
+    public void stockTaken(Integer partId, int quantity) {
+        if (quantity == 0) {
+            return;
+        }
+        StockCounter counter = counter(partId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.opened();
+            counter.closed(-quantity, stockChanges.incrementAndGet());
+            return;
+        }
+        counter.opened();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    counter.closed(-quantity, stockChanges.incrementAndGet());
+                } else {
+                    counter.closed(0, 0);
+                }
+            }
+        });
+    }
+
+    /**
+     * A released reservation gave quantity units back; applied once the transaction commits.
+     */
+    public void stockReturned(Integer partId, int quantity) {
+        stockTaken(partId, -quantity);
+    }
+
+    /**
+     * The part's stock was written some other way; the next read reloads it.
+     * Dropped right away and again after commit, so a read in between cannot re-cache the old value.
+     */
+    public void evictStock(Integer partId) {
+        StockCounter counter = counter(partId);
+        counter.invalidate(stockChanges.incrementAndGet());
+        afterCommit(() -> counter.invalidate(stockChanges.incrementAndGet()));
+    }
+
+    /**
+     * The center got a row of a part it did not stock before; its bills of materials are reloaded
+     * once the row is committed, so the part is reserved from the center's stock from then on.
+     */
+    public void partAddedAt(Integer centerId) {
+        afterCommit(() -> billsOfMaterials.keySet().removeIf(key -> (int) key.longValue() == centerId));
+    }
+
+    /**
+     * A background seed load finished; anything cached while it ran may predate its rows.
+     */
+    @EventListener(SeedDataLoadedEvent.class)
+    public void seedDataLoaded() {
+        billsOfMaterials.clear();
+        long changedAt = stockChanges.incrementAndGet();
+        stock.values().forEach(counter -> counter.invalidate(changedAt));
+    }
+
+    private List<BomLine> load(Integer serviceId, Integer centerId) {
+        List<BomLine> lines = new ArrayList<>();
+        Set<Integer> mappings = new HashSet<>();
+        long readSince = stockChanges.get();
+        for (BomLineView row : servicePartsMappingRepository.findBillOfMaterials(serviceId, centerId)) {
+            // A center listing the same part name twice: use its first row, as the booking path always has
+            if (!mappings.add(row.getMappingId())) {
+                continue;
+            }
+            BomLine line = new BomLine(
+                    row.getTemplatePartId(),
+                    row.getPartName(),
+                    row.getQuantityRequired() != null ? row.getQuantityRequired() : 1,
+                    row.getTemplateLeadTimeDays() != null ? row.getTemplateLeadTimeDays() : DEFAULT_LEAD_TIME_DAYS,
+                    row.getCenterPartId(),
+                    row.getCenterLeadTimeDays() != null ? row.getCenterLeadTimeDays() : DEFAULT_LEAD_TIME_DAYS);
+            lines.add(line);
+            if (line.stockedAtCenter()) {
+                counter(line.centerPartId())
+                        .load(row.getAvailableParts() != null ? row.getAvailableParts() : 0, readSince);
+            }
+        }
+        return List.copyOf(lines);
+    }
+
+    // Counters are never removed, so a change and the load it races always meet on the same one
+    private StockCounter counter(Integer partId) {
+        return stock.computeIfAbsent(partId, id -> new StockCounter());
+    }
+
+    private static long key(Integer serviceId, Integer centerId) {
+        return ((long) serviceId << 32) | (centerId & 0xFFFFFFFFL);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Cached stock of one center part. It holds a value only once a read of the row has been
+     * accepted: a read is refused while a transaction that changed the part is still open, or if
+     * one committed (or the part was evicted) after the read began, because the row may or may not
+     * reflect that change. Committed changes are applied to a loaded value; before that the row
+     * carries them. Every transition is a compare-and-set of an immutable state, so nothing blocks.
+     */
+    static final class StockCounter {
+
+        private static final State UNLOADED = new State(false, 0, 0, 0);
+
+        private final AtomicReference<State> state = new AtomicReference<>(UNLOADED);
+
+        /**
+         * The cached stock, or null if the row has to be read.
+         */
+        Integer value() {
+            State current = state.get();
+            return current.loaded() ? current.available() : null;
+        }
+
+        /**
+         * Offers a read of the row that started at change tick readSince; returns the cached stock,
+         * or null if the read was refused.
+         */
+        Integer load(int available, long readSince) {
+            while (true) {
+                State current = state.get();
+                if (current.loaded()) {
+                    return current.available();
+                }
+                if (current.open() > 0 || current.changedAt() > readSince) {
+                    return null;
+                }
+                if (state.compareAndSet(current, new State(true, available, 0, current.changedAt()))) {
+                    return available;
+                }
+            }
+        }
+
+        void opened() {
+            state.updateAndGet(current -> new State(current.loaded(), current.available(),
+                    current.open() + 1, current.changedAt()));
+        }
+
+        /**
+         * An opened change completed; delta is what it did to the stock (0 if rolled back) and
+         * changedAt the tick it committed at (0 if it did not).
+         */
+        void closed(int delta, long changedAt) {
+            state.updateAndGet(current -> new State(current.loaded(),
+                    current.loaded() ? current.available() + delta : 0,
+                    current.open() - 1, Math.max(current.changedAt(), changedAt)));
+        }
+
+        void invalidate(long changedAt) {
+            state.updateAndGet(current -> new State(false, 0, current.open(),
+                    Math.max(current.changedAt(), changedAt)));
+        }
+
+        private record State(boolean loaded, int available, int open, long changedAt) {}
+    }
+
+    public record BomLine(
+            Integer templatePartId,
+            String partName,
+            int quantityRequired,
+            int templateLeadTimeDays,
+            Integer centerPartId,
+            int centerLeadTimeDays
+    ) {
+        public boolean stockedAtCenter() {
+            return centerPartId != null;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.PartsReservation;
+import com.appointmentscheduler.backend.enums.ReservationStatus;
+import com.appointmentscheduler.backend.repository.AppointmentsRepository;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.PartsReservationRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stock reservations for bookings, without read-modify-write on parts_inventory.
+ *
+ * {@link #reserve} takes each part with a conditional decrement (available >= quantity), so
+ * concurrent bookings of the same part never lose updates and never wait on each other for
+ * longer than one statement. Every take is recorded in parts_reservation:
+ * <ul>
+ *     <li>RESERVED: stock taken, booking still in progress ({@link #reserve})</li>
+ *     <li>COMMITTED: tied to the booked appointment ({@link #commit})</li>
+ *     <li>RELEASED: stock given back, for a failed booking ({@link #release}) or a cancelled
+ *     appointment ({@link #releaseCommitted})</li>
+ * </ul>
+ * The status change is itself conditional, so each row's stock is returned at most once.
+ * Reservations left RESERVED by a crashed booking are released after
+ * scheduler.parts.reservation-timeout-minutes.
+ *
+ * All methods except the sweeper run in the caller's transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class PartsReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartsReservationService.class);
+
+    private final PartsInventoryRepository partsInventoryRepository;
+    private final PartsReservationRepository partsReservationRepository;
+    private final AppointmentsRepository appointmentsRepository;
+    private final ServiceCenterRepository serviceCenterRepository;
+    private final PartsAvailabilityService partsAvailabilityService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scheduler.parts.reservation-timeout-minutes:15}")
+    private int reservationTimeoutMinutes;
+
+    /**
+     * Takes the bill of materials out of the center's stock. A part that is short is taken as far
+     * as it goes and the rest is added to ordered_parts; parts the center does not stock at all
+     * are only reported back, for procurement.
+     */
+    public Reservation reserve(List<PartsAvailabilityService.BomLine> billOfMaterials) {
+        List<PartsReservation> lines = new ArrayList<>();
+        List<PartsAvailabilityService.BomLine> unstocked = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (PartsAvailabilityService.BomLine line : billOfMaterials) {
+            if (!line.stockedAtCenter()) {
+                unstocked.add(line);
+                continue;
+            }
+            Integer partId = line.centerPartId();
+            int taken = take(partId, line.quantityRequired());
+            int shortage = line.quantityRequired() - taken;
+            if (shortage > 0) {
+                partsInventoryRepository.addOrdered(partId, shortage);
+            }
+            partsAvailabilityService.stockTaken(partId, taken);
+            lines.add(PartsReservation.builder()
+                    .part(partsInventoryRepository.getReferenceById(partId))
+                    .quantityReserved(taken)
+                    .quantityOrdered(shortage)
+                    .status(ReservationStatus.RESERVED)
+                    .createdAt(now)
+                    .build());
+        }
+        if (!lines.isEmpty()) {
+            partsReservationRepository.saveAll(lines);
+        }
+        return new Reservation(lines, unstocked);
+    }
+
+    /**
+     * Puts units that are at the center into its stock: the part's own row if it is the center's,
+     * otherwise the center's row of the same part, created if the center never stocked the part.
+     * Another center's row is never credited.
+     *
+     * @return the row the units went into
+     */
+    public Integer restock(Integer centerId, PartsInventory part, int quantity) {
+        Integer partId = stockRowAt(centerId, part);
+        partsInventoryRepository.returnStock(partId, quantity);
+        partsAvailabilityService.stockReturned(partId, quantity);
+        return partId;
+    }
+
+    private Integer stockRowAt(Integer centerId, PartsInventory part) {
+        if (part.getServiceCenter().getCenterId().equals(centerId)) {
+            return part.getPartId();
+        }
+        return partsInventoryRepository.findByServiceCenter_CenterIdAndPartName(centerId, part.getPartName())
+                .map(PartsInventory::getPartId)
+                .orElseGet(() -> {
+                    PartsInventory added = partsInventoryRepository.save(PartsInventory.builder()
+                            .serviceCenter(serviceCenterRepository.getReferenceById(centerId))
+                            .partName(part.getPartName())
+                            .availableParts(0)
+                            .orderedParts(0)
+                            .leadTimeDays(part.getLeadTimeDays())
+                            .build());
+                    partsAvailabilityService.partAddedAt(centerId);
+                    return added.getPartId();
+                });
+    }
+
+    /**
+     * Ties the reservation to the booked appointment.
+     */
+    public void commit(Reservation reservation, Integer appointmentId) {
+        if (reservation.lines().isEmpty()) {
+            return;
+        }
+        List<Long> ids = reservation.lines().stream().map(PartsReservation::getReservationId).toList();
+        if (partsReservationRepository.commit(ids, appointmentsRepository.getReferenceById(appointmentId)) != ids.size()) {
+            throw new IllegalStateException("Parts reservation expired before the booking completed");
+        }
+    }
+
+    /**
+     * Gives back everything a booking that did not go through had taken or ordered.
+     */
+    public void release(Reservation reservation) {
+        for (PartsReservation line : reservation.lines()) {
+            releaseLine(line, ReservationStatus.RESERVED, true);
+        }
+    }
+
+    /**
+     * Gives a cancelled appointment's stock back. Its shortages are withdrawn from ordered_parts
+     * only for the given parts (those whose procurement had not been placed yet).
+     */
+    public void releaseCommitted(Integer appointmentId, Set<Integer> withdrawOrderedFor) {
+        for (PartsReservation line : partsReservationRepository
+                .findByAppointment_AppointmentIdAndStatus(appointmentId, ReservationStatus.COMMITTED)) {
+            releaseLine(line, ReservationStatus.COMMITTED, withdrawOrderedFor.contains(line.getPart().getPartId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.parts.reservation-sweep-ms:60000}")
+    public void releaseExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(reservationTimeoutMinutes);
+        int released = 0;
+        for (PartsReservation line : partsReservationRepository
+                .findByStatusAndCreatedAtBefore(ReservationStatus.RESERVED, cutoff)) {
+            Boolean done = transactionTemplate.execute(status -> releaseLine(line, ReservationStatus.RESERVED, true));
+            if (Boolean.TRUE.equals(done)) {
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.warn("Released {} parts reservations older than {} minutes", released, reservationTimeoutMinutes);
+        }
+    }
+
+    /**
+     * Conditional decrement of the whole quantity; if the part is short, whatever is left is taken,
+     * re-reading until the decrement wins against concurrent takers.
+     */
+    private int take(Integer partId, int quantity) {
+        if (quantity <= 0 || partsInventoryRepository.takeStock(partId, quantity) == 1) {
+            return Math.max(quantity, 0);
+        }
+        while (true) {
+            int available = partsInventoryRepository.findAvailableParts(partId).orElse(0);
+            int taken = Math.min(quantity, available);
+            if (taken <= 0) {
+                return 0;
+            }
+            if (partsInventoryRepository.takeStock(partId, taken) == 1) {
+                return taken;
+            }
+        }
+    }
+
+    private boolean releaseLine(PartsReservation line, ReservationStatus from, boolean withdrawOrdered) {
+        if (partsReservationRepository.release(line.getReservationId(), from) == 0) {
+            return false;
+        }
+        Integer partId = line.getPart().getPartId();
+        int reserved = line.getQuantityReserved() != null ? line.getQuantityReserved() : 0;
+        int ordered = line.getQuantityOrdered() != null ? line.getQuantityOrdered() : 0;
+        if (reserved > 0) {
+            partsInventoryRepository.returnStock(partId, reserved);
+            partsAvailabilityService.stockReturned(partId, reserved);
+        }
+        if (withdrawOrdered && ordered > 0) {
+            partsInventoryRepository.addOrdered(partId, -ordered);
+        }
+        return true;
+    }
+
+    public record Reservation(List<PartsReservation> lines, List<PartsAvailabilityService.BomLine> unstocked) {
+
+        public static Reservation empty() {
+            return new Reservation(List.of(), List.of());
+        }
+
+        public boolean anyMissingParts() {
+            return !unstocked.isEmpty() || lines.stream().anyMatch(line -> line.getQuantityOrdered() > 0);
+        }
+    }
+}
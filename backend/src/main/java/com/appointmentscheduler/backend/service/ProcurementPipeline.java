@@ -0,0 +1,235 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.enums.ProcurementStatus;
+import com.appointmentscheduler.backend.repository.ProcurementQueueRepository;
+import com.appointmentscheduler.backend.repository.ProcurementTaskView;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background procurement: drains ACTION_REQUIRED tasks into consolidated purchase orders.
+ *
+ * Bookings only insert their tasks; nothing here runs on the request path. Each run walks
+ * the queue in task-id order, scanning scheduler.procurement.batch-size rows at a time as flat
+ * projections (no appointment / part graph), and places one purchase order per (center, part)
+ * per batch, where the center is the one the appointments were booked at: a part the center does
+ * not stock is queued against another center's row of the same part, but ordered for this one. A batch is one transaction of a handful of JDBC batch statements, whatever its
+ * size. Tasks cancelled while a batch is in flight are skipped by the status guard, and
+ * order totals are computed from the tasks that were actually moved.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProcurementPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcurementPipeline.class);
+
+    private final ProcurementQueueRepository procurementQueueRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scheduler.procurement.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scheduler.procurement.batch-size:1000}")
+    private int batchSize;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong tasksOrdered = new AtomicLong();
+    private final AtomicLong ordersPlaced = new AtomicLong();
+    private volatile RunSummary lastRun;
+
+    @Scheduled(fixedDelayString = "${scheduler.procurement.drain-interval-ms:30000}",
+            initialDelayString = "${scheduler.procurement.drain-interval-ms:30000}")
+    public void scheduledDrain() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Drain the queue once.
+     *
+     * @return what the run did, or null if another run is in progress
+     */
+    public RunSummary drain() {
+        if (!running.tryLock()) {
+            return null;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.nanoTime();
+            int batches = 0;
+            int tasks = 0;
+            int orders = 0;
+            Integer afterTaskId = 0;
+
+            while (true) {
+                List<ProcurementTaskView> page = procurementQueueRepository
+                        .findTasksAfter(ProcurementStatus.ACTION_REQUIRED, afterTaskId, Limit.of(batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                int[] placed = transactionTemplate.execute(status -> placeOrders(page));
+                batches++;
+                tasks += placed[0];
+                orders += placed[1];
+                afterTaskId = page.get(page.size() - 1).getTaskId();
+                if (page.size() < batchSize) {
+                    break;
+                }
+            }
+
+            long durationNanos = System.nanoTime() - started;
+            RunSummary summary = new RunSummary(startedAt, durationNanos / 1_000_000, batches, tasks, orders,
+                    durationNanos == 0 ? 0 : tasks * 1e9 / durationNanos);
+            runs.incrementAndGet();
+            tasksOrdered.addAndGet(tasks);
+            ordersPlaced.addAndGet(orders);
+            lastRun = summary;
+            if (tasks > 0) {
+                log.info("Procurement run ordered {} tasks in {} purchase orders ({} ms)",
+                        tasks, orders, summary.durationMillis());
+            }
+            return summary;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    public ProcurementStats stats() {
+        return new ProcurementStats(
+                procurementQueueRepository.countByStatus(ProcurementStatus.ACTION_REQUIRED),
+                running.isLocked(),
+                runs.get(),
+                tasksOrdered.get(),
+                ordersPlaced.get(),
+                lastRun);
+    }
+
+    /**
+     * One purchase order per (center, part) for the page, then every task moved to ORDERED.
+     *
+     * @return {tasks ordered, orders placed}
+     */
+    private int[] placeOrders(List<ProcurementTaskView> page) {
+        Map<Long, OrderGroup> groups = new LinkedHashMap<>();
+        for (ProcurementTaskView task : page) {
+            OrderGroup group = groups.computeIfAbsent(
+                    ((long) task.getCenterId() << 32) | (task.getPartId() & 0xFFFFFFFFL),
+                    k -> new OrderGroup(task.getCenterId(), task.getPartId()));
+            group.taskIds.add(task.getTaskId());
+            if (task.getNeededByDate() != null
+                    && (group.earliestNeededBy == null || task.getNeededByDate().isBefore(group.earliestNeededBy))) {
+                group.earliestNeededBy = task.getNeededByDate();
+            }
+        }
+        List<OrderGroup> orders = new ArrayList<>(groups.values());
+        LocalDateTime now = LocalDateTime.now();
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(
+                        "insert into purchase_order (center_id, part_id, quantity, task_count, earliest_needed_by, created_at) "
+                                + "values (?, ?, 0, 0, ?, ?)",
+                        new String[]{"order_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderGroup order = orders.get(i);
+                        ps.setInt(1, order.centerId);
+                        ps.setInt(2, order.partId);
+                        ps.setObject(3, order.earliestNeededBy);
+                        ps.setObject(4, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<Object[]> moves = new ArrayList<>(page.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderGroup order = orders.get(i);
+            order.orderId = ((Number) generated.get(i).values().iterator().next()).intValue();
+            for (Integer taskId : order.taskIds) {
+                moves.add(new Object[]{order.orderId, taskId});
+            }
+        }
+
+        int moved = 0;
+        for (int count : jdbcTemplate.batchUpdate(
+                "update procurement_queue set status = 'ORDERED', purchase_order_id = ? "
+                        + "where task_id = ? and status = 'ACTION_REQUIRED'", moves)) {
+            moved += Math.max(count, 0);
+        }
+
+        List<Object[]> orderIds = orders.stream().map(order -> new Object[]{order.orderId}).toList();
+        jdbcTemplate.batchUpdate(
+                "update purchase_order set "
+                        + "quantity = (select coalesce(sum(coalesce(q.quantity, 1)), 0) from procurement_queue q "
+                        + "where q.purchase_order_id = purchase_order.order_id), "
+                        + "task_count = (select count(*) from procurement_queue q "
+                        + "where q.purchase_order_id = purchase_order.order_id) "
+                        + "where order_id = ?", orderIds);
+        int empty = 0;
+        for (int count : jdbcTemplate.batchUpdate(
+                "delete from purchase_order where order_id = ? and task_count = 0", orderIds)) {
+            empty += Math.max(count, 0);
+        }
+        return new int[]{moved, orders.size() - empty};
+    }
+
+    private static final class OrderGroup {
+        private final int centerId;
+        private final int partId;
+        private final List<Integer> taskIds = new ArrayList<>();
+        private LocalDateTime earliestNeededBy;
+        private int orderId;
+
+        private OrderGroup(int centerId, int partId) {
+            this.centerId = centerId;
+            this.partId = partId;
+        }
+    }
+
+    public record RunSummary(
+            LocalDateTime startedAt,
+            long durationMillis,
+            int batches,
+            int tasksOrdered,
+            int ordersPlaced,
+            double tasksPerSecond
+    ) {}
+
+    public record ProcurementStats(
+            long backlog,
+            boolean running,
+            long runs,
+            long tasksOrdered,
+            long ordersPlaced,
+            RunSummary lastRun
+    ) {}
+}
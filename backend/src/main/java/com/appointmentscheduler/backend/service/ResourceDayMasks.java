@@ -0,0 +1,92 @@
+package com.appointmentscheduler.backend.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Open-addressing (resourceId, epochDay) -> day mask map used to hold a prefetched search window.
+ * Keys are packed into a single long and each entry stores {@link SlotMask#WORDS} mask words inline,
+ * so lookups on the search hot path neither box nor allocate.
+ */
+final class ResourceDayMasks {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int DAY_BITS = 24;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    ResourceDayMasks(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new long[capacity * SlotMask.WORDS];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void put(long resourceId, LocalDate date, Long low, Long high) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        long key = pack(resourceId, date.toEpochDay());
+        int slot = indexOf(key, keys);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot * SlotMask.WORDS] = low != null ? low : 0L;
+        values[slot * SlotMask.WORDS + 1] = high != null ? high : 0L;
+    }
+
+    /**
+     * Copies the first {@code words} mask words into dest; a day without a scheduler row is free (0).
+     */
+    void get(long resourceId, LocalDate date, long[] dest, int destOffset, int words) {
+        long key = pack(resourceId, date.toEpochDay());
+        int slot = indexOf(key, keys);
+        if (keys[slot] == EMPTY) {
+            Arrays.fill(dest, destOffset, destOffset + words, 0L);
+        } else {
+            System.arraycopy(values, slot * SlotMask.WORDS, dest, destOffset, words);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long pack(long resourceId, long epochDay) {
+        return (resourceId << DAY_BITS) | (epochDay & ((1L << DAY_BITS) - 1));
+    }
+
+    private static int indexOf(long key, long[] table) {
+        int mask = table.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new long[oldValues.length << 1];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = indexOf(oldKeys[i], keys);
+                keys[slot] = oldKeys[i];
+                System.arraycopy(oldValues, i * SlotMask.WORDS, values, slot * SlotMask.WORDS, SlotMask.WORDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.appointmentscheduler.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks striped by (resource kind, resource id, date).
+ *
+ * Bookings that touch different technician/bay days almost always hit different stripes and
+ * run fully in parallel; bookings for the same day of the same resource are serialized in-process
+ * instead of at the database. ReentrantLock (not synchronized) keeps virtual threads unpinned.
+ */
+@Component
+public class ResourceLockStripes {
+
+    private final ReentrantLock[] stripes;
+
+    public ResourceLockStripes(@Value("${scheduler.booking.lock-stripes:1024}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public static long technicianKey(Long technicianId, LocalDate date) {
+        return key(1, technicianId, date);
+    }
+
+    public static long bayKey(Long bayId, LocalDate date) {
+        return key(2, bayId, date);
+    }
+
+    /**
+     * Locks the stripes of all keys and releases them when the current transaction completes.
+     * Stripes are always taken in ascending index order, so two bookings can never deadlock.
+     */
+    public void lockUntilCompletion(long... keys) {
+        int[] indexes = Arrays.stream(keys).mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+        } catch (RuntimeException e) {
+            unlock(indexes, acquired);
+            throw e;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unlock(indexes, acquired);
+            throw new IllegalStateException("Resource locks must be taken inside a transaction");
+        }
+        int held = acquired;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(indexes, held);
+            }
+        });
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripeIndex(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (stripes.length - 1);
+    }
+
+    private static long key(int kind, Long resourceId, LocalDate date) {
+        return ((resourceId * 31 + kind) << 24) ^ date.toEpochDay();
+    }
+}
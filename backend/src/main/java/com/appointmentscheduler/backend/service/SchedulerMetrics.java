@@ -0,0 +1,184 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.config.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the slot search, booking, parts arrival and customer search paths, exported at
+ * /actuator/prometheus.
+ *
+ * Every meter is registered up front, so recording is a timer or counter update with no registry
+ * lookup or tag allocation per call. Timers and the per-search summaries publish histogram
+ * buckets, which Prometheus aggregates across instances into quantiles.
+ *
+ * Search work (days scanned, day masks read, technician x bay pairs considered) is derived from
+ * the search window and its result instead of being counted inside the scan loop, so the loop
+ * is the same code with or without metrics. The figures are those of the sequential scan, which
+ * the parallel scan matches.
+ */
+@Component
+public class SchedulerMetrics {
+
+    // MULTI_CENTER records days/masks/pairs once per center searched, not once per request
+    public enum SearchKind { EARLIEST, OPTIONS, MULTI_CENTER }
+
+    public enum BookingOutcome { BOOKED, REJECTED, CONFLICT, FAILED }
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final Map<SearchKind, SearchMeters> searchMeters = new EnumMap<>(SearchKind.class);
+    private final Map<BookingOutcome, Timer> bookingTimers = new EnumMap<>(BookingOutcome.class);
+    private final Counter bookingRetries;
+    private final Counter unavailableFull;
+    private final Counter unavailableContended;
+    private final Timer partsArrivalDate;
+    private final Timer customerSearchIndex;
+    private final Timer customerSearchDatabase;
+
+    public SchedulerMetrics(MeterRegistry registry, SqlStatementCounter sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        for (SearchKind kind : SearchKind.values()) {
+            searchMeters.put(kind, new SearchMeters(registry, tag(kind)));
+        }
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            bookingTimers.put(outcome, Timer.builder("scheduler.booking")
+                    .description("bookAppointment calls, by outcome")
+                    .tag("outcome", tag(outcome))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+        }
+        bookingRetries = Counter.builder("scheduler.booking.retries")
+                .description("Booking attempts rerun after losing a slot claim")
+                .register(registry);
+        unavailableFull = Counter.builder("scheduler.booking.unavailable")
+                .description("Bookings refused as \"no longer available\"")
+                .tag("reason", "full")
+                .register(registry);
+        unavailableContended = Counter.builder("scheduler.booking.unavailable")
+                .description("Bookings refused as \"no longer available\"")
+                .tag("reason", "contended")
+                .register(registry);
+        partsArrivalDate = Timer.builder("scheduler.parts.arrival-date")
+                .description("Parts arrival date calculation for a service at a center")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(registry);
+        customerSearchIndex = customerSearchTimer(registry, "index");
+        customerSearchDatabase = customerSearchTimer(registry, "database");
+    }
+
+    /**
+     * Starts timing one slot search request; {@link SearchSample#stop()} also records the SQL
+     * statements the request thread issued in between.
+     */
+    public SearchSample startSearch(SearchKind kind) {
+        return new SearchSample(searchMeters.get(kind), System.nanoTime(), sqlStatementCounter.current());
+    }
+
+    /**
+     * A search over {@code days} days for the given numbers of technicians and bays.
+     */
+    public void searchScanned(SearchKind kind, long days, int technicians, int bays) {
+        SearchMeters meters = searchMeters.get(kind);
+        meters.days.record(days);
+        meters.masks.record(days * (technicians + bays));
+        meters.pairs.record(days * technicians * bays);
+    }
+
+    public void bookingFinished(BookingOutcome outcome, long startNanos) {
+        bookingTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void bookingRetried() {
+        bookingRetries.increment();
+    }
+
+    /**
+     * A booking refused because the horizon had no slot left (full) or every attempt lost its
+     * claim to concurrent bookings (contended).
+     */
+    public void bookingUnavailable(boolean contended) {
+        (contended ? unavailableContended : unavailableFull).increment();
+    }
+
+    public void partsArrivalDateComputed(long startNanos) {
+        partsArrivalDate.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void customerSearched(boolean fromIndex, long startNanos) {
+        (fromIndex ? customerSearchIndex : customerSearchDatabase)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer customerSearchTimer(MeterRegistry registry, String source) {
+        return Timer.builder("scheduler.customer.search")
+                .description("Customer type-ahead searches, by where the matches came from")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    public final class SearchSample {
+        private final SearchMeters meters;
+        private final long startNanos;
+        private final long startStatements;
+
+        private SearchSample(SearchMeters meters, long startNanos, long startStatements) {
+            this.meters = meters;
+            this.startNanos = startNanos;
+            this.startStatements = startStatements;
+        }
+
+        public void stop() {
+            meters.timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            meters.statements.record(sqlStatementCounter.current() - startStatements);
+        }
+    }
+
+    private static final class SearchMeters {
+        final Timer timer;
+        final DistributionSummary days;
+        final DistributionSummary masks;
+        final DistributionSummary pairs;
+        final DistributionSummary statements;
+
+        SearchMeters(MeterRegistry registry, String kind) {
+            timer = Timer.builder("scheduler.search")
+                    .description("Slot search requests")
+                    .tag("kind", kind)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(registry);
+            days = summary(registry, "scheduler.search.days", "Days scanned per search", kind, BitmaskSchedulerService.SEARCH_HORIZON_DAYS);
+            masks = summary(registry, "scheduler.search.masks", "Day masks read per search", kind, 100_000);
+            pairs = summary(registry, "scheduler.search.pairs", "Technician x bay pairs considered per search", kind, 10_000_000);
+            statements = summary(registry, "scheduler.search.statements", "SQL statements per search request", kind, 1_000);
+        }
+
+        private static DistributionSummary summary(MeterRegistry registry, String name, String description,
+                                                   String kind, double max) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .tag("kind", kind)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(max)
+                    .register(registry);
+        }
+    }
+}
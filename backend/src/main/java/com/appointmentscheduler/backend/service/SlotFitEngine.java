@@ -0,0 +1,314 @@
+package com.appointmentscheduler.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Word-parallel earliest-fit search over day bitmasks (bit i set = slot i busy).
+ *
+ * Instead of sliding a k-bit window one slot at a time, the free mask is folded with
+ * shift-and-AND so that bit i of the result is set iff slots [i, i + k) are all free.
+ * That takes ceil(log2 k) steps for the whole day at once, one word at a time, and the
+ * earliest start is a single {@link Long#numberOfTrailingZeros} on the first non-zero word.
+ *
+ * Because runs(tech | bay) == runs(tech) & runs(bay), a technician x bay search only needs
+ * each mask's runs once: the union of bay runs prunes techs that cannot fit anywhere, which
+ * turns the per-day cost from O(T x B x slots) into O(T + B).
+ *
+ * Masks are passed flattened: resource r occupies words [r * words(), (r + 1) * words()).
+ * An engine holds scratch buffers and is not thread-safe; create one per search.
+ */
+public final class SlotFitEngine {
+
+    private final int totalSlots;
+    private final int words;
+    private final long[] valid;
+    private final long[] runs;
+    private final long[] union;
+
+    public SlotFitEngine(int totalSlots) {
+        if (totalSlots < 1 || totalSlots > SlotMask.MAX_SLOTS) {
+            throw new IllegalArgumentException("Unsupported slot count: " + totalSlots);
+        }
+        this.totalSlots = totalSlots;
+        this.words = (totalSlots + Long.SIZE - 1) / Long.SIZE;
+        this.valid = new long[words];
+        this.runs = new long[words];
+        this.union = new long[words];
+        for (int w = 0; w < words; w++) {
+            valid[w] = SlotMask.lowBits(Math.min(Long.SIZE, totalSlots - w * Long.SIZE));
+        }
+    }
+
+    public SlotFitEngine(SlotModel model) {
+        this(model.totalSlots());
+    }
+
+    public int totalSlots() {
+        return totalSlots;
+    }
+
+    public int words() {
+        return words;
+    }
+
+    /**
+     * Writes into out: bit i set iff k consecutive slots starting at i are free and end within the day.
+     */
+    public void freeRunStarts(long[] busy, int offset, int k, long[] out) {
+        if (k > totalSlots) {
+            Arrays.fill(out, 0, words, 0L);
+            return;
+        }
+        for (int w = 0; w < words; w++) {
+            out[w] = ~busy[offset + w] & valid[w];
+        }
+        if (k <= 0) {
+            System.arraycopy(valid, 0, out, 0, words);
+            return;
+        }
+        int length = 1;
+        while (length < k) {
+            int shift = Math.min(length, k - length);
+            andShiftedRight(out, shift);
+            length += shift;
+        }
+    }
+
+    /**
+     * Earliest slot >= from where k consecutive slots are free, or -1.
+     */
+    public int earliestFit(long[] busy, int offset, int k, int from) {
+        freeRunStarts(busy, offset, k, runs);
+        return lowestSetBit(runs, from);
+    }
+
+    /**
+     * Earliest (slot, tech, bay) combination for a single day.
+     *
+     * Ties are resolved like the original nested loop: lowest slot first, then the first
+     * technician in list order, then the first bay in list order.
+     *
+     * @return the fit, or null when no pair has k free slots at or after from
+     */
+    public Fit earliestPair(long[] techMasks, int techCount, long[] bayMasks, int bayCount, int k, int from) {
+        if (k > totalSlots) {
+            return null;
+        }
+        if (words == 1) {
+            return earliestPairSingleWord(techMasks, techCount, bayMasks, bayCount, k, from);
+        }
+        Arrays.fill(union, 0L);
+        for (int b = 0; b < bayCount; b++) {
+            freeRunStarts(bayMasks, b * words, k, runs);
+            for (int w = 0; w < words; w++) {
+                union[w] |= runs[w];
+            }
+        }
+        clearBelow(union, from);
+        int lowestPossible = lowestSetBit(union, 0);
+        if (lowestPossible < 0) {
+            return null;
+        }
+
+        int bestSlot = Integer.MAX_VALUE;
+        int bestTech = -1;
+        for (int t = 0; t < techCount; t++) {
+            freeRunStarts(techMasks, t * words, k, runs);
+            for (int w = 0; w < words; w++) {
+                runs[w] &= union[w];
+            }
+            int slot = lowestSetBit(runs, 0);
+            if (slot >= 0 && slot < bestSlot) {
+                bestSlot = slot;
+                bestTech = t;
+                if (slot == lowestPossible) {
+                    break;
+                }
+            }
+        }
+        if (bestTech < 0) {
+            return null;
+        }
+
+        for (int b = 0; b < bayCount; b++) {
+            freeRunStarts(bayMasks, b * words, k, runs);
+            if (testBit(runs, bestSlot)) {
+                return new Fit(bestSlot, bestTech, b);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Up to limit fits for a single day in ascending slot order, one per feasible start slot,
+     * each carrying the same technician/bay tie-break as {@link #earliestPair}.
+     *
+     * Every mask's runs are computed once; a start is feasible iff it is set in both the union
+     * of technician runs and the union of bay runs, so no pair is ever tested twice.
+     */
+    public List<Fit> earliestPairs(long[] techMasks, int techCount, long[] bayMasks, int bayCount,
+                                   int k, int from, int limit) {
+        if (k > totalSlots) {
+            return List.of();
+        }
+        long[] techRuns = new long[techCount * words];
+        long[] bayRuns = new long[bayCount * words];
+        long[] techUnion = new long[words];
+        Arrays.fill(union, 0L);
+        for (int t = 0; t < techCount; t++) {
+            freeRunStarts(techMasks, t * words, k, runs);
+            for (int w = 0; w < words; w++) {
+                techRuns[t * words + w] = runs[w];
+                techUnion[w] |= runs[w];
+            }
+        }
+        for (int b = 0; b < bayCount; b++) {
+            freeRunStarts(bayMasks, b * words, k, runs);
+            for (int w = 0; w < words; w++) {
+                bayRuns[b * words + w] = runs[w];
+                union[w] |= runs[w];
+            }
+        }
+        for (int w = 0; w < words; w++) {
+            union[w] &= techUnion[w];
+        }
+        clearBelow(union, from);
+
+        List<Fit> fits = new ArrayList<>();
+        for (int w = 0; w < words && fits.size() < limit; w++) {
+            long starts = union[w];
+            while (starts != 0 && fits.size() < limit) {
+                int slot = w * Long.SIZE + Long.numberOfTrailingZeros(starts);
+                starts &= starts - 1;
+                fits.add(new Fit(slot, firstWithBit(techRuns, techCount, slot), firstWithBit(bayRuns, bayCount, slot)));
+            }
+        }
+        return fits;
+    }
+
+    private int firstWithBit(long[] resourceRuns, int count, int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << (slot & 63);
+        for (int r = 0; r < count; r++) {
+            if ((resourceRuns[r * words + word] & bit) != 0) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same search for days of at most 64 slots, kept in registers instead of scratch arrays.
+     */
+    private Fit earliestPairSingleWord(long[] techMasks, int techCount, long[] bayMasks, int bayCount, int k, int from) {
+        long validWord = valid[0];
+        long window = from <= 0 ? -1L : from >= Long.SIZE ? 0L : -1L << from;
+
+        long bayUnion = 0L;
+        for (int b = 0; b < bayCount; b++) {
+            bayUnion |= runsOfWord(~bayMasks[b] & validWord, k, validWord);
+        }
+        bayUnion &= window;
+        if (bayUnion == 0) {
+            return null;
+        }
+
+        int lowestPossible = Long.numberOfTrailingZeros(bayUnion);
+        int bestSlot = Integer.MAX_VALUE;
+        int bestTech = -1;
+        for (int t = 0; t < techCount; t++) {
+            long techRuns = runsOfWord(~techMasks[t] & validWord, k, validWord) & bayUnion;
+            if (techRuns == 0) {
+                continue;
+            }
+            int slot = Long.numberOfTrailingZeros(techRuns);
+            if (slot < bestSlot) {
+                bestSlot = slot;
+                bestTech = t;
+                if (slot == lowestPossible) {
+                    break;
+                }
+            }
+        }
+        if (bestTech < 0) {
+            return null;
+        }
+
+        long bit = 1L << bestSlot;
+        for (int b = 0; b < bayCount; b++) {
+            if ((runsOfWord(~bayMasks[b] & validWord, k, validWord) & bit) != 0) {
+                return new Fit(bestSlot, bestTech, b);
+            }
+        }
+        return null;
+    }
+
+    private static long runsOfWord(long free, int k, long validWord) {
+        if (k <= 0) {
+            return validWord;
+        }
+        // Folding to length 64 would shift by 64, which Java takes mod 64, i.e. not at all
+        if (k > Long.SIZE) {
+            return 0L;
+        }
+        long runs = free;
+        int length = 1;
+        while (length < k) {
+            int shift = Math.min(length, k - length);
+            runs &= runs >>> shift;
+            length += shift;
+        }
+        return runs;
+    }
+
+    /**
+     * bits &= bits >>> shift across word boundaries, in place (ascending order reads only untouched words).
+     */
+    private void andShiftedRight(long[] bits, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w < words; w++) {
+            int source = w + wordShift;
+            long shifted = 0L;
+            if (source < words) {
+                shifted = bits[source] >>> bitShift;
+                if (bitShift != 0 && source + 1 < words) {
+                    shifted |= bits[source + 1] << (Long.SIZE - bitShift);
+                }
+            }
+            bits[w] &= shifted;
+        }
+    }
+
+    private void clearBelow(long[] bits, int from) {
+        if (from <= 0) {
+            return;
+        }
+        for (int w = 0; w < words; w++) {
+            int wordStart = w * Long.SIZE;
+            if (from >= wordStart + Long.SIZE) {
+                bits[w] = 0L;
+            } else if (from > wordStart) {
+                bits[w] &= -1L << (from - wordStart);
+            }
+        }
+    }
+
+    private int lowestSetBit(long[] bits, int from) {
+        clearBelow(bits, from);
+        for (int w = 0; w < words; w++) {
+            if (bits[w] != 0) {
+                return w * Long.SIZE + Long.numberOfTrailingZeros(bits[w]);
+            }
+        }
+        return -1;
+    }
+
+    private static boolean testBit(long[] bits, int slot) {
+        return (bits[slot >>> 6] & (1L << (slot & 63))) != 0;
+    }
+
+    public record Fit(int slotIndex, int techIndex, int bayIndex) {}
+}
@@ -0,0 +1,70 @@
+package com.appointmentscheduler.backend.service;
+
+/**
+ * Multi-word day bitmask helpers (bit i set = slot i busy).
+ *
+ * A day is stored as {@link #WORDS} longs, which is enough for 15-minute slots over 24 hours
+ * (96 slots). Word 0 maps to the scheduler "bitmask" column and word 1 to "bitmask_hi".
+ */
+public final class SlotMask {
+
+    public static final int WORDS = 2;
+    public static final int MAX_SLOTS = WORDS * Long.SIZE;
+
+    private SlotMask() {
+    }
+
+    public static long[] of(Long low, Long high) {
+        return new long[]{low != null ? low : 0L, high != null ? high : 0L};
+    }
+
+    /**
+     * Busy bits for slots [start, start + length).
+     */
+    public static long[] range(int start, int length) {
+        long[] bits = new long[WORDS];
+        int end = start + length;
+        for (int w = 0; w < WORDS; w++) {
+            int wordStart = w * Long.SIZE;
+            int from = Math.max(start, wordStart);
+            int to = Math.min(end, wordStart + Long.SIZE);
+            if (from < to) {
+                bits[w] = lowBits(to - from) << (from - wordStart);
+            }
+        }
+        return bits;
+    }
+
+    public static boolean intersects(long[] a, long[] b) {
+        for (int w = 0; w < WORDS; w++) {
+            if ((a[w] & b[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static long[] or(long[] a, long[] b) {
+        long[] result = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            result[w] = a[w] | b[w];
+        }
+        return result;
+    }
+
+    public static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mask with the lowest n bits set (n in [0, 64]).
+     */
+    static long lowBits(int n) {
+        return n >= Long.SIZE ? -1L : (1L << n) - 1;
+    }
+}
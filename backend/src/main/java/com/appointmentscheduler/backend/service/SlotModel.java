@@ -0,0 +1,73 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Per-center working day: when slot 0 starts, how long a slot is, and how many slots fit before closing.
+ */
+public record SlotModel(LocalTime dayStart, int slotMinutes, int totalSlots) {
+
+    // 9:00 AM to 6:00 PM = 9 Hours = 18 Slots (30 mins each)
+    public static final LocalTime DEFAULT_OPENING = LocalTime.of(9, 0);
+    public static final LocalTime DEFAULT_CLOSING = LocalTime.of(18, 0);
+    public static final int DEFAULT_SLOT_MINUTES = 30;
+    public static final SlotModel DEFAULT = new SlotModel(DEFAULT_OPENING, DEFAULT_SLOT_MINUTES, 18);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    public SlotModel {
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive: " + slotMinutes);
+        }
+        if (totalSlots < 1 || totalSlots > SlotMask.MAX_SLOTS) {
+            throw new IllegalArgumentException("A working day must have between 1 and " + SlotMask.MAX_SLOTS
+                    + " slots, got " + totalSlots);
+        }
+    }
+
+    /**
+     * Slot model configured on the center; unset columns fall back to the 09:00-18:00 / 30 minute defaults.
+     * A closing time of 00:00 means midnight at the end of the day (24h centers).
+     */
+    public static SlotModel of(ServiceCenter center) {
+        LocalTime opening = center.getOpeningTime() != null ? center.getOpeningTime() : DEFAULT_OPENING;
+        LocalTime closing = center.getClosingTime() != null ? center.getClosingTime() : DEFAULT_CLOSING;
+        int slotMinutes = center.getSlotMinutes() != null ? center.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+
+        int openMinutes = opening.toSecondOfDay() / 60;
+        int closeMinutes = closing.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : closing.toSecondOfDay() / 60;
+        if (closeMinutes <= openMinutes) {
+            throw new IllegalArgumentException("Service center " + center.getCenterId() + " closes before it opens");
+        }
+        return new SlotModel(opening, slotMinutes, (closeMinutes - openMinutes) / slotMinutes);
+    }
+
+    /**
+     * Number of 64-bit words a day needs in the search engine.
+     */
+    public int words() {
+        return (totalSlots + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    public int requiredSlots(int durationMinutes) {
+        return (int) Math.ceil((double) durationMinutes / slotMinutes);
+    }
+
+    /**
+     * First slot starting at or after the given time (0 before opening).
+     */
+    public int slotIndex(LocalTime time) {
+        if (time.isBefore(dayStart)) return 0;
+        long minutesDiff = ChronoUnit.MINUTES.between(dayStart, time);
+        return (int) Math.ceil((double) minutesDiff / slotMinutes);
+    }
+
+    public LocalDateTime slotStart(LocalDate date, int slotIndex) {
+        return date.atTime(dayStart).plusMinutes((long) slotIndex * slotMinutes);
+    }
+}
@@ -0,0 +1,28 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.SymptomDataset;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link SymptomDataset}: any write schedules a rebuild of the symptom matcher.
+ */
+@Component
+public class SymptomDatasetListener {
+
+    private final ObjectProvider<SymptomMatcherService> symptomMatcherService;
+
+    public SymptomDatasetListener(ObjectProvider<SymptomMatcherService> symptomMatcherService) {
+        this.symptomMatcherService = symptomMatcherService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(SymptomDataset symptom) {
+        symptomMatcherService.getObject().datasetChanged();
+    }
+}
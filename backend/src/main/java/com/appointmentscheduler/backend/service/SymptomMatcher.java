@@ -0,0 +1,235 @@
+package com.appointmentscheduler.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho–Corasick automaton over symptom keyword phrases, compiled once into a dense transition
+ * table, so classifying a text is one table lookup per character and never allocates per
+ * character.
+ *
+ * Phrases and text are read the same way: letters and digits lower-cased, every run of anything
+ * else read as one space. A phrase only matches at the start of a word ("squeal" matches
+ * "squealing" but not "unsquealy"), which is done by compiling each phrase with a leading space
+ * and feeding the text with one in front.
+ *
+ * A service's score is the sum of the word counts of its distinct phrases found in the text, so
+ * a specific phrase ("check engine") outweighs a generic one ("light"). Immutable once built;
+ * safe to share between threads.
+ */
+public final class SymptomMatcher {
+
+    private static final int SPACE = 0;
+    private static final int ROOT = 0;
+
+    private final int[] asciiClasses = new int[128];
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    private final String[] phrases;
+    private final int[] phraseWeights;
+    private final int[] phraseServices;
+    private final int[] serviceIds;
+    private final String[] serviceNames;
+
+    public SymptomMatcher(List<Phrase> keywordPhrases) {
+        Arrays.fill(asciiClasses, -1);
+        asciiClasses[' '] = SPACE;
+        int classes = 1;
+
+        Map<Integer, Integer> serviceIndexes = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>();
+        List<String> compiled = new ArrayList<>();
+        List<Integer> services = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (Phrase phrase : keywordPhrases) {
+            String normalized = normalize(phrase.keywordPhrase());
+            if (normalized.isEmpty() || seen.putIfAbsent(normalized + '\u0000' + phrase.serviceId(), 0) != null) {
+                continue;
+            }
+            Integer service = serviceIndexes.get(phrase.serviceId());
+            if (service == null) {
+                service = serviceIndexes.size();
+                serviceIndexes.put(phrase.serviceId(), service);
+                names.add(phrase.serviceName());
+            }
+            compiled.add(normalized);
+            services.add(service);
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                if (classOf(c) < 0) {
+                    if (c < 128) {
+                        asciiClasses[c] = classes++;
+                    } else {
+                        otherClasses.put(c, classes++);
+                    }
+                }
+            }
+        }
+        alphabetSize = classes;
+
+        phrases = compiled.toArray(String[]::new);
+        phraseServices = services.stream().mapToInt(Integer::intValue).toArray();
+        phraseWeights = new int[phrases.length];
+        serviceIds = serviceIndexes.keySet().stream().mapToInt(Integer::intValue).toArray();
+        serviceNames = names.toArray(String[]::new);
+
+        // Trie of " " + phrase
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> matches = new ArrayList<>();
+        trie.add(emptyRow());
+        matches.add(new ArrayList<>());
+        for (int p = 0; p < phrases.length; p++) {
+            String pattern = " " + phrases[p];
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                int c = classOf(pattern.charAt(i));
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(emptyRow());
+                    matches.add(new ArrayList<>());
+                }
+                state = trie.get(state)[c];
+            }
+            matches.get(state).add(p);
+            phraseWeights[p] = phrases[p].split(" ").length;
+        }
+
+        // Breadth-first: failure links, folded straight into a complete transition table
+        int states = trie.size();
+        transitions = new int[states * alphabetSize];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int next = trie.get(ROOT)[c];
+            transitions[c] = next < 0 ? ROOT : next;
+            if (next > 0) {
+                failure[next] = ROOT;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches.get(state).addAll(matches.get(failure[state]));
+            for (int c = 0; c < alphabetSize; c++) {
+                int next = trie.get(state)[c];
+                int fallback = transitions[failure[state] * alphabetSize + c];
+                if (next < 0) {
+                    transitions[state * alphabetSize + c] = fallback;
+                } else {
+                    transitions[state * alphabetSize + c] = next;
+                    failure[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+        outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            outputs[state] = matches.get(state).stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+    }
+
+    /**
+     * Services whose phrases occur in the text, best score first (ties: fewer phrases, then
+     * catalog order), at most limit of them.
+     */
+    public List<Candidate> classify(CharSequence text, int limit) {
+        boolean[] found = new boolean[phrases.length];
+        int[] hits = new int[8];
+        int hitCount = 0;
+        int[] scores = new int[serviceIds.length];
+        int state = transitions[SPACE];
+        boolean afterSpace = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int cls;
+            if (Character.isLetterOrDigit(c)) {
+                cls = classOf(Character.toLowerCase(c));
+                afterSpace = false;
+            } else if (afterSpace) {
+                continue;
+            } else {
+                cls = SPACE;
+                afterSpace = true;
+            }
+            // A character no phrase contains: nothing can match until the next word starts
+            state = cls < 0 ? ROOT : transitions[state * alphabetSize + cls];
+            for (int p : outputs[state]) {
+                if (!found[p]) {
+                    found[p] = true;
+                    scores[phraseServices[p]] += phraseWeights[p];
+                    if (hitCount == hits.length) {
+                        hits = Arrays.copyOf(hits, hitCount * 2);
+                    }
+                    hits[hitCount++] = p;
+                }
+            }
+        }
+
+        // Keyed by service index, so candidates start out in catalog order
+        Map<Integer, Candidate> byService = new TreeMap<>();
+        Arrays.sort(hits, 0, hitCount);
+        for (int h = 0; h < hitCount; h++) {
+            int p = hits[h];
+            int service = phraseServices[p];
+            byService.computeIfAbsent(service, s -> new Candidate(serviceIds[s], serviceNames[s], scores[s], new ArrayList<>()))
+                    .matchedPhrases().add(phrases[p]);
+        }
+        List<Candidate> candidates = new ArrayList<>(byService.values());
+        candidates.sort(Comparator.comparingInt(Candidate::score).reversed()
+                .thenComparingInt(candidate -> candidate.matchedPhrases().size()));
+        return candidates.size() > limit ? List.copyOf(candidates.subList(0, limit)) : candidates;
+    }
+
+    public int phraseCount() {
+        return phrases.length;
+    }
+
+    /**
+     * Lower-cased letters and digits, single spaces between words, no leading or trailing space.
+     */
+    static String normalize(String phrase) {
+        if (phrase == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(phrase.length());
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int end = normalized.length();
+        return end > 0 && normalized.charAt(end - 1) == ' ' ? normalized.substring(0, end - 1) : normalized.toString();
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        Integer cls = otherClasses.get(c);
+        return cls != null ? cls : -1;
+    }
+
+    private int[] emptyRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    public record Phrase(Integer serviceId, String serviceName, String keywordPhrase) {}
+
+    public record Candidate(Integer serviceId, String serviceName, int score, List<String> matchedPhrases) {}
+}
@@ -0,0 +1,91 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.config.SeedDataLoadedEvent;
+import com.appointmentscheduler.backend.repository.SymptomDatasetRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the compiled {@link SymptomMatcher}: built from symptom_dataset at startup and rebuilt
+ * whenever a transaction that changed the dataset commits (once per transaction, however many
+ * rows it touched). Classification only reads the current automaton; no database access.
+ */
+@Service
+@RequiredArgsConstructor
+public class SymptomMatcherService {
+
+    private static final Logger log = LoggerFactory.getLogger(SymptomMatcherService.class);
+
+    private final SymptomDatasetRepository symptomDatasetRepository;
+
+    // Not synchronized: the rebuild queries the dataset, and a virtual thread blocked in JDBC
+    // inside a monitor would pin its carrier
+    private final ReentrantLock rebuilding = new ReentrantLock();
+    private volatile SymptomMatcher matcher;
+
+    @EventListener({ApplicationReadyEvent.class, SeedDataLoadedEvent.class})
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Recompile the automaton from the current dataset and swap it in.
+     */
+    public void rebuild() {
+        rebuilding.lock();
+        try {
+            List<SymptomMatcher.Phrase> phrases = symptomDatasetRepository.findPhrases().stream()
+                    .map(row -> new SymptomMatcher.Phrase(row.getServiceId(), row.getServiceName(), row.getKeywordPhrase()))
+                    .toList();
+            matcher = new SymptomMatcher(phrases);
+            log.info("Symptom matcher compiled {} keyword phrases", matcher.phraseCount());
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return matcher != null;
+    }
+
+    /**
+     * Ranked candidate services for a free-text complaint.
+     */
+    public List<SymptomMatcher.Candidate> classify(String text, int limit) {
+        return matcher.classify(text, limit);
+    }
+
+    /**
+     * The dataset changed in the current transaction; rebuild once it commits.
+     */
+    public void datasetChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SymptomMatcherService.this);
+            }
+        });
+    }
+}
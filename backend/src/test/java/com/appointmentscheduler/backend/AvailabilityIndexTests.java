@@ -0,0 +1,85 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.AppointmentResources;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.repository.AppointmentResourcesRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
+import com.appointmentscheduler.backend.service.BitmaskSchedulerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AvailabilityIndexTests {
+
+	@Autowired
+	private AvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private BitmaskSchedulerService bitmaskSchedulerService;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private AppointmentResourcesRepository appointmentResourcesRepository;
+
+	@Test
+	void indexIsLoadedAndMatchesSchedulerTables() {
+		AvailabilityIndex.ConsistencyReport report = availabilityIndex.verifyConsistency();
+
+		assertThat(report.loaded()).isTrue();
+		assertThat(report.rowsChecked()).isPositive();
+		assertThat(report.drifts()).isEmpty();
+	}
+
+	@Test
+	void indexNeverDriftsAcrossBookings() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+
+		for (int i = 0; i < 5; i++) {
+			Appointments appointment = appointmentBookingService.bookAppointment(
+					vehicle.getCustomer().getCustomerId(),
+					vehicle.getVehicleId(),
+					service.getServiceId(),
+					center.getCenterId(),
+					LocalDateTime.now(),
+					false);
+
+			AppointmentResources resources = appointmentResourcesRepository.findAll().stream()
+					.filter(r -> r.getAppointment().getAppointmentId().equals(appointment.getAppointmentId()))
+					.findFirst()
+					.orElseThrow();
+			LocalDate day = appointment.getStartTime().toLocalDate();
+			long[] dbMask = bitmaskSchedulerService.getTechnicianBitmask(resources.getAssignedTech().getTechnicianId(), day);
+			long[] indexMask = availabilityIndex.technicianMask(center.getCenterId(),
+					resources.getAssignedTech().getTechnicianId(), day);
+			assertThat(indexMask).isEqualTo(dbMask);
+		}
+
+		assertThat(availabilityIndex.verifyConsistency().consistent()).isTrue();
+	}
+}
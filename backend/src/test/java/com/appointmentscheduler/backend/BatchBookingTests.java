@@ -0,0 +1,96 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.AppointmentResources;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.enums.BatchItemStatus;
+import com.appointmentscheduler.backend.repository.AppointmentResourcesRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.AppointmentBookingService.BatchBookingItem;
+import com.appointmentscheduler.backend.service.AppointmentBookingService.BatchBookingResult;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BatchBookingTests {
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private AvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private AppointmentResourcesRepository appointmentResourcesRepository;
+
+	@Test
+	void batchIsPlannedWithoutOverlapsAndReportsPerItemResults() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+		LocalDateTime requested = LocalDateTime.now().plusDays(1);
+
+		List<BatchBookingItem> items = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			items.add(new BatchBookingItem(vehicle.getCustomer().getCustomerId(), vehicle.getVehicleId(),
+					service.getServiceId(), center.getCenterId(), requested, i == 29));
+		}
+		items.add(new BatchBookingItem(vehicle.getCustomer().getCustomerId(), vehicle.getVehicleId(),
+				service.getServiceId(), -1, requested, false));
+
+		List<BatchBookingResult> results = appointmentBookingService.bookBatch(items);
+
+		assertThat(results).hasSize(items.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertThat(results.get(i).index()).isEqualTo(i);
+		}
+		assertThat(results.get(30).status()).isEqualTo(BatchItemStatus.REJECTED);
+		List<BatchBookingResult> booked = results.stream()
+				.filter(r -> r.status() == BatchItemStatus.BOOKED)
+				.toList();
+		assertThat(booked).hasSize(30);
+		// The emergency item was planned first, so nothing in the batch starts earlier
+		assertThat(booked).allSatisfy(r -> assertThat(r.startTime()).isAfterOrEqualTo(results.get(29).startTime()));
+
+		for (int i = 0; i < booked.size(); i++) {
+			for (int j = i + 1; j < booked.size(); j++) {
+				BatchBookingResult a = booked.get(i);
+				BatchBookingResult b = booked.get(j);
+				if (a.startTime().isBefore(b.endTime()) && b.startTime().isBefore(a.endTime())) {
+					assertThat(a.technicianId()).isNotEqualTo(b.technicianId());
+					assertThat(a.bayId()).isNotEqualTo(b.bayId());
+				}
+			}
+		}
+
+		Set<Integer> appointmentIds = booked.stream().map(BatchBookingResult::appointmentId).collect(Collectors.toSet());
+		List<AppointmentResources> persisted = appointmentResourcesRepository.findAll().stream()
+				.filter(r -> appointmentIds.contains(r.getAppointment().getAppointmentId()))
+				.toList();
+		assertThat(persisted).hasSize(30);
+		assertThat(availabilityIndex.verifyConsistency().consistent()).isTrue();
+	}
+}
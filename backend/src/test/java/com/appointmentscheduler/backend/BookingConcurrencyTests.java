@@ -0,0 +1,123 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.AppointmentResources;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.repository.AppointmentResourcesRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingConcurrencyTests {
+
+	private static final int THREADS = 8;
+	private static final int BOOKINGS_PER_THREAD = 8;
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private AvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private AppointmentResourcesRepository appointmentResourcesRepository;
+
+	@Test
+	void concurrentBookingsNeverShareATechnicianOrBaySlot() throws Exception {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+		LocalDateTime now = LocalDateTime.now();
+
+		Set<Integer> bookedIds = ConcurrentHashMap.newKeySet();
+		AtomicInteger rejected = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+			for (int t = 0; t < THREADS; t++) {
+				// Pairs of threads start from the same day, and every thread spills into the others' days
+				LocalDateTime requested = now.plusDays(1 + t / 2);
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+						try {
+							Appointments appointment = appointmentBookingService.bookAppointment(
+									vehicle.getCustomer().getCustomerId(),
+									vehicle.getVehicleId(),
+									service.getServiceId(),
+									center.getCenterId(),
+									requested,
+									false);
+							bookedIds.add(appointment.getAppointmentId());
+						} catch (IllegalStateException e) {
+							// Out of retries under contention: surfaced as 409, the client may try again
+							rejected.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+
+		assertThat(bookedIds).isNotEmpty();
+		assertThat(bookedIds.size() + rejected.get()).isEqualTo(THREADS * BOOKINGS_PER_THREAD);
+
+		List<AppointmentResources> booked = appointmentResourcesRepository.findByAppointment_AppointmentIdIn(bookedIds);
+		assertThat(booked).hasSize(bookedIds.size());
+		for (int i = 0; i < booked.size(); i++) {
+			for (int j = i + 1; j < booked.size(); j++) {
+				AppointmentResources a = booked.get(i);
+				AppointmentResources b = booked.get(j);
+				if (!overlaps(a.getAppointment(), b.getAppointment())) {
+					continue;
+				}
+				assertThat(a.getAssignedTech().getTechnicianId())
+						.as("technician double-booked")
+						.isNotEqualTo(b.getAssignedTech().getTechnicianId());
+				assertThat(a.getAssignedBay().getBayId())
+						.as("bay double-booked")
+						.isNotEqualTo(b.getAssignedBay().getBayId());
+			}
+		}
+
+		assertThat(availabilityIndex.verifyConsistency().consistent()).isTrue();
+	}
+
+	private static boolean overlaps(Appointments a, Appointments b) {
+		return a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime());
+	}
+}
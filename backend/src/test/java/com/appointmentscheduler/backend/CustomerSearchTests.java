@@ -0,0 +1,41 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.Customer;
+import com.appointmentscheduler.backend.repository.CustomerRepository;
+import com.appointmentscheduler.backend.service.CustomerSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CustomerSearchTests {
+
+	@Autowired
+	private CustomerSearchService customerSearchService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Test
+	void indexFollowsCustomerWrites() {
+		assertThat(customerSearchService.isReady()).isTrue();
+
+		Customer customer = customerRepository.save(Customer.builder()
+				.name("Quentin Vasquez-Hale")
+				.phone("+44 20 7946 0958")
+				.loyaltyScore(0)
+				.build());
+		assertThat(customerSearchService.search("vasquez", 0, 10).customerIds()).containsExactly(customer.getCustomerId());
+		assertThat(customerSearchService.search("7946 09", 0, 10).customerIds()).containsExactly(customer.getCustomerId());
+
+		customer.setName("Quentin Okafor");
+		customerRepository.save(customer);
+		assertThat(customerSearchService.search("vasquez", 0, 10).customerIds()).isEmpty();
+		assertThat(customerSearchService.search("okafor", 0, 10).customerIds()).containsExactly(customer.getCustomerId());
+
+		customerRepository.delete(customer);
+		assertThat(customerSearchService.search("okafor", 0, 10).customerIds()).isEmpty();
+	}
+}
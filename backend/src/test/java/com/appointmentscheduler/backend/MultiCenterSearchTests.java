@@ -0,0 +1,188 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.config.SqlStatementCounter;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ServiceBayRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.TechnicianRepository;
+import com.appointmentscheduler.backend.service.BitmaskSchedulerService;
+import com.appointmentscheduler.backend.service.MultiCenterSlotSearch;
+import com.appointmentscheduler.backend.service.MultiCenterSlotSearch.CenterAssignment;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService.BomLine;
+import com.appointmentscheduler.backend.service.SlotModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class MultiCenterSearchTests {
+
+	private static final String MULTI_CENTER = "/api/schedule/find-slots/multi-center";
+
+	@Autowired
+	private MultiCenterSlotSearch multiCenterSlotSearch;
+
+	@Autowired
+	private BitmaskSchedulerService bitmaskSchedulerService;
+
+	@Autowired
+	private PartsAvailabilityService partsAvailabilityService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private TechnicianRepository technicianRepository;
+
+	@Autowired
+	private ServiceBayRepository serviceBayRepository;
+
+	@Autowired
+	private PartsInventoryRepository partsInventoryRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void mergesEveryCentersOwnSearchWithItsOwnPartsArrival() {
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		List<ServiceCenter> centers = serviceCenterRepository.findAll();
+		ServiceCenter shortCenter = centers.get(1);
+		// The second center is out of a part, so its options wait for the part's lead time
+		BomLine line = partsAvailabilityService.billOfMaterials(service.getServiceId(), shortCenter.getCenterId()).stream()
+				.filter(BomLine::stockedAtCenter)
+				.findFirst()
+				.orElseThrow();
+		PartsInventory part = partsInventoryRepository.findById(line.centerPartId()).orElseThrow();
+		Integer stock = part.getAvailableParts();
+		Object parallelism = ReflectionTestUtils.getField(multiCenterSlotSearch, "parallelism");
+		try {
+			part.setAvailableParts(0);
+			partsInventoryRepository.save(part);
+			partsAvailabilityService.evictStock(part.getPartId());
+			// A single worker has to take every center off the shared cursor
+			ReflectionTestUtils.setField(multiCenterSlotSearch, "parallelism", 1);
+			int limit = 40;
+
+			List<CenterAssignment> expected = new ArrayList<>();
+			for (ServiceCenter center : centers) {
+				LocalDateTime arrival = partsAvailabilityService.partsArrivalDate(service.getServiceId(), center.getCenterId());
+				bitmaskSchedulerService.findEarliestAssignments(SlotModel.of(center), arrival, service.getDurationMinutes(),
+						technicianRepository.findByServiceCenter_CenterIdAndSkillLevelGreaterThanEqual(
+								center.getCenterId(), service.getRequiredSkillLevel()),
+						serviceBayRepository.findByServiceCenter_CenterIdAndType(center.getCenterId(), service.getRequiredBayType()),
+						limit,
+						assignment -> expected.add(new CenterAssignment(center, arrival, assignment)));
+			}
+			expected.sort(Comparator.comparing((CenterAssignment option) -> option.assignment().startTime())
+					.thenComparing(option -> option.center().getCenterId()));
+
+			// Cold bills of materials: each worker's center loads its own, on the worker's thread
+			partsAvailabilityService.seedDataLoaded();
+			long statementsBefore = sqlStatementCounter.current();
+			List<CenterAssignment> options = multiCenterSlotSearch.findEarliestAssignments(service, centers, limit);
+			long statements = sqlStatementCounter.current() - statementsBefore;
+
+			assertThat(options).extracting(MultiCenterSearchTests::describe)
+					.containsExactlyElementsOf(expected.stream().limit(limit).map(MultiCenterSearchTests::describe).toList());
+			assertThat(options).allSatisfy(option -> {
+				assertThat(option.assignment().technician().getServiceCenter().getCenterId())
+						.isEqualTo(option.center().getCenterId());
+				assertThat(option.assignment().bay().getServiceCenter().getCenterId())
+						.isEqualTo(option.center().getCenterId());
+				assertThat(option.assignment().startTime()).isAfterOrEqualTo(option.partsArrivalDate().truncatedTo(ChronoUnit.DAYS));
+			});
+			// Technicians and bays of all centers in two queries, plus one bill of materials per center from the workers
+			assertThat(statements).isGreaterThanOrEqualTo(2 + centers.size());
+
+			List<CenterAssignment> shortOnly = multiCenterSlotSearch.findEarliestAssignments(service, List.of(shortCenter), 5);
+			LocalDateTime shortArrival = partsAvailabilityService.partsArrivalDate(service.getServiceId(), shortCenter.getCenterId());
+			assertThat(shortArrival).isAfter(LocalDateTime.now().plusDays(1));
+			assertThat(shortOnly).isNotEmpty().allSatisfy(option -> {
+				assertThat(option.center().getCenterId()).isEqualTo(shortCenter.getCenterId());
+				assertThat(option.partsArrivalDate()).isCloseTo(shortArrival, within(1, ChronoUnit.MINUTES));
+				assertThat(option.assignment().startTime().toLocalDate()).isAfterOrEqualTo(shortArrival.toLocalDate());
+			});
+		} finally {
+			ReflectionTestUtils.setField(multiCenterSlotSearch, "parallelism", parallelism);
+			part.setAvailableParts(stock);
+			partsInventoryRepository.save(part);
+			partsAvailabilityService.evictStock(part.getPartId());
+		}
+	}
+
+	@Test
+	void endpointSearchesARegionAndRejectsBadCenterSelections() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		Integer serviceId = serviceCatalogRepository.findAll().get(0).getServiceId();
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+		List<Integer> regionCenterIds = serviceCenterRepository.findByRegionStrategyOrderByCenterId(center.getRegionStrategy())
+				.stream()
+				.map(ServiceCenter::getCenterId)
+				.toList();
+
+		String body = mockMvc.perform(post(MULTI_CENTER).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"serviceCatalogId\":" + serviceId + ",\"regionStrategy\":\"" + center.getRegionStrategy()
+								+ "\",\"limit\":3}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode options = objectMapper.readTree(body);
+		assertThat(options).hasSize(3).allSatisfy(option ->
+				assertThat(regionCenterIds).contains(option.get("centerId").asInt()));
+
+		String tooMany = IntStream.rangeClosed(1, 101).mapToObj(Integer::toString).collect(Collectors.joining(","));
+		for (String invalid : List.of(
+				"{\"serviceCatalogId\":" + serviceId + "}",
+				"{\"serviceCatalogId\":" + serviceId + ",\"regionStrategy\":\"" + center.getRegionStrategy()
+						+ "\",\"centerIds\":[" + center.getCenterId() + "]}",
+				"{\"serviceCatalogId\":" + serviceId + ",\"centerIds\":[" + tooMany + "]}",
+				"{\"serviceCatalogId\":" + serviceId + ",\"centerIds\":[null]}",
+				"{\"centerIds\":[" + center.getCenterId() + "]}")) {
+			mockMvc.perform(post(MULTI_CENTER).contentType(MediaType.APPLICATION_JSON).content(invalid))
+					.andExpect(status().isBadRequest());
+		}
+		mockMvc.perform(post(MULTI_CENTER).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"serviceCatalogId\":" + serviceId + ",\"centerIds\":[-1]}"))
+				.andExpect(status().isNotFound());
+	}
+
+	private static String describe(CenterAssignment option) {
+		return option.center().getCenterId() + "@" + option.assignment().startTime()
+				+ " tech " + option.assignment().technician().getTechnicianId()
+				+ " bay " + option.assignment().bay().getBayId();
+	}
+}
@@ -0,0 +1,15 @@
+package com.appointmentscheduler.backend;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The same race under optimistic concurrency: no stripe locks, only the compare-and-set slot claim
+ * and bounded retry keep two bookings off one slot. Runs against its own database, since
+ * a second context on the shared one would drop and recreate the schema under the first.
+ */
+@TestPropertySource(properties = {
+		"scheduler.booking.concurrency-mode=optimistic",
+		"spring.datasource.url=jdbc:h2:mem:scheduler-optimistic;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class OptimisticBookingConcurrencyTests extends BookingConcurrencyTests {
+}
@@ -0,0 +1,179 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.ProcurementQueue;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.ServicePartsMapping;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.appointmentscheduler.backend.enums.ProcurementStatus;
+import com.appointmentscheduler.backend.repository.AppointmentsRepository;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ProcurementQueueRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.ServicePartsMappingRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
+import com.appointmentscheduler.backend.service.PartsArrivalService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService.BomLine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest
+class PartsArrivalTests {
+
+	private static final List<ProcurementStatus> WAITING =
+			List.of(ProcurementStatus.ACTION_REQUIRED, ProcurementStatus.ORDERED);
+
+	@Autowired
+	private PartsArrivalService partsArrivalService;
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private PartsAvailabilityService partsAvailabilityService;
+
+	@Autowired
+	private AvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private AppointmentsRepository appointmentsRepository;
+
+	@Autowired
+	private PartsInventoryRepository partsInventoryRepository;
+
+	@Autowired
+	private ProcurementQueueRepository procurementQueueRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private ServicePartsMappingRepository servicePartsMappingRepository;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Test
+	void arrivalConfirmsWaitingAppointmentAndMovesItEarlier() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(1);
+		for (BomLine line : partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId())) {
+			if (line.stockedAtCenter()) {
+				PartsInventory part = partsInventoryRepository.findById(line.centerPartId()).orElseThrow();
+				part.setAvailableParts(0);
+				partsInventoryRepository.save(part);
+				partsAvailabilityService.evictStock(part.getPartId());
+			}
+		}
+
+		Appointments appointment = appointmentBookingService.bookAppointment(vehicle.getCustomer().getCustomerId(),
+				vehicle.getVehicleId(), service.getServiceId(), center.getCenterId(), LocalDateTime.now().plusDays(16), false);
+		assertThat(appointment.getStatus()).isEqualTo(AppointmentStatus.PENDING_PARTS);
+		List<ProcurementQueue> tasks = procurementQueueRepository.findByAppointment_AppointmentIdAndStatus(
+				appointment.getAppointmentId(), ProcurementStatus.ACTION_REQUIRED);
+		assertThat(tasks).isNotEmpty();
+
+		// Deliver enough for every task waiting on each part, so tasks of other tests cannot starve this one
+		for (Integer partId : tasks.stream().map(task -> task.getPart().getPartId()).distinct().toList()) {
+			int waiting = procurementQueueRepository.findWaitingForPart(partId, center.getCenterId(), WAITING).stream()
+					.mapToInt(task -> task.getQuantity() != null ? task.getQuantity() : 1)
+					.sum();
+			int stockBefore = partsInventoryRepository.findById(partId).orElseThrow().getAvailableParts();
+
+			PartsArrivalService.ArrivalResult result = partsArrivalService.receive(partId, waiting + 1);
+
+			assertThat(result.addedToStock()).isEqualTo(1);
+			assertThat(partsInventoryRepository.findById(partId).orElseThrow().getAvailableParts()).isEqualTo(stockBefore + 1);
+			assertThat(procurementQueueRepository.findWaitingForPart(partId, center.getCenterId(), WAITING)).isEmpty();
+		}
+
+		Appointments after = appointmentsRepository.findById(appointment.getAppointmentId()).orElseThrow();
+		assertThat(after.getStatus()).isEqualTo(AppointmentStatus.CONFIRMED);
+		assertThat(after.getStartTime()).isBefore(appointment.getStartTime());
+		assertThat(procurementQueueRepository.findByAppointment_AppointmentIdAndStatus(
+				appointment.getAppointmentId(), ProcurementStatus.RECEIVED)).hasSameSizeAs(tasks);
+		assertThat(availabilityIndex.verifyConsistency().consistent()).isTrue();
+	}
+
+	@Test
+	void deliveryServesOnlyItsCenterAndStocksTheSurplusThere() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		List<ServiceCenter> centers = serviceCenterRepository.findAll();
+		ServiceCenter stocking = centers.get(0);
+		ServiceCenter booking = centers.get(1);
+		// Only the first center has a row for the part, so the second center's task is queued against it
+		PartsInventory part = partsInventoryRepository.save(PartsInventory.builder()
+				.serviceCenter(stocking).partName("Arrival test caliper").availableParts(0).orderedParts(0).build());
+		ServicePartsMapping mapping = servicePartsMappingRepository.save(ServicePartsMapping.builder()
+				.serviceCatalog(service).partsInventory(part).quantityRequired(3).build());
+		partsAvailabilityService.seedDataLoaded();
+		Appointments appointment = null;
+		try {
+			appointment = appointmentBookingService.bookAppointment(vehicle.getCustomer().getCustomerId(),
+					vehicle.getVehicleId(), service.getServiceId(), booking.getCenterId(), LocalDateTime.now().plusDays(18), false);
+			assertThat(procurementQueueRepository.findWaitingForPart(part.getPartId(), booking.getCenterId(), WAITING))
+					.hasSize(1);
+
+			// Delivered at the part's own center: nobody there waits for it, all of it is that center's stock
+			PartsArrivalService.ArrivalResult atStocking = partsArrivalService.receive(part.getPartId(), 2);
+			assertThat(atStocking.tasksReceived()).isZero();
+			assertThat(atStocking.stockPartId()).isEqualTo(part.getPartId());
+			assertThat(partsInventoryRepository.findById(part.getPartId()).orElseThrow().getAvailableParts()).isEqualTo(2);
+
+			// Delivered at the booking center: its task is served, the surplus goes into a row of its own
+			PartsArrivalService.ArrivalResult atBooking = partsArrivalService.receive(booking.getCenterId(), part.getPartId(), 5);
+			assertThat(atBooking.tasksReceived()).isEqualTo(1);
+			assertThat(atBooking.addedToStock()).isEqualTo(2);
+			PartsInventory own = partsInventoryRepository.findById(atBooking.stockPartId()).orElseThrow();
+			assertThat(own.getPartId()).isNotEqualTo(part.getPartId());
+			assertThat(own.getServiceCenter().getCenterId()).isEqualTo(booking.getCenterId());
+			assertThat(own.getAvailableParts()).isEqualTo(2);
+			assertThat(partsInventoryRepository.findById(part.getPartId()).orElseThrow().getAvailableParts()).isEqualTo(2);
+			assertThat(partsAvailabilityService.billOfMaterials(service.getServiceId(), booking.getCenterId()))
+					.anySatisfy(line -> assertThat(line.centerPartId()).isEqualTo(own.getPartId()));
+
+			// Cancelling hands the received units back to the booking center too
+			appointmentBookingService.cancelAppointment(appointment.getAppointmentId());
+			appointment = null;
+			assertThat(partsInventoryRepository.findById(own.getPartId()).orElseThrow().getAvailableParts()).isEqualTo(5);
+			assertThat(partsInventoryRepository.findById(part.getPartId()).orElseThrow().getAvailableParts()).isEqualTo(2);
+		} finally {
+			servicePartsMappingRepository.delete(mapping);
+			partsAvailabilityService.seedDataLoaded();
+			if (appointment != null) {
+				appointmentBookingService.cancelAppointment(appointment.getAppointmentId());
+			}
+		}
+	}
+
+	@Test
+	void rejectsEmptyDeliveryAndUnknownPart() {
+		Integer partId = partsInventoryRepository.findAll().get(0).getPartId();
+
+		assertThat(catchThrowable(() -> partsArrivalService.receive(partId, 0)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(catchThrowable(() -> partsArrivalService.receive(-1, 5)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(catchThrowable(() -> partsArrivalService.receive(-1, partId, 5)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,67 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.ServicePartsMappingRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService.BomLine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PartsAvailabilityTests {
+
+	@Autowired
+	private PartsAvailabilityService partsAvailabilityService;
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private ServicePartsMappingRepository servicePartsMappingRepository;
+
+	@Autowired
+	private PartsInventoryRepository partsInventoryRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Test
+	void stockCountersFollowBookings() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(1);
+
+		for (ServiceCatalog service : serviceCatalogRepository.findAll()) {
+			List<BomLine> bom = partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId());
+			assertThat(bom).hasSize(servicePartsMappingRepository.findByServiceCatalog_ServiceId(service.getServiceId()).size());
+			assertThat(bom).allSatisfy(line -> assertThat(line.stockedAtCenter()).isTrue());
+
+			appointmentBookingService.bookAppointment(vehicle.getCustomer().getCustomerId(), vehicle.getVehicleId(),
+					service.getServiceId(), center.getCenterId(), LocalDateTime.now().plusDays(2), false);
+
+			for (BomLine line : bom) {
+				assertThat(partsAvailabilityService.available(line.centerPartId()))
+						.as(line.partName())
+						.isEqualTo(partsInventoryRepository.findById(line.centerPartId()).orElseThrow().getAvailableParts());
+			}
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.AppointmentResources;
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.PartsReservation;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.appointmentscheduler.backend.enums.ReservationStatus;
+import com.appointmentscheduler.backend.repository.AppointmentResourcesRepository;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.PartsReservationRepository;
+import com.appointmentscheduler.backend.repository.ServicePartsMappingRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.AvailabilityIndex;
+import com.appointmentscheduler.backend.service.BitmaskSchedulerService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService.BomLine;
+import com.appointmentscheduler.backend.service.SchedulerMetrics;
+import com.appointmentscheduler.backend.service.SlotMask;
+import com.appointmentscheduler.backend.service.SlotModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PartsReservationTests {
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private PartsAvailabilityService partsAvailabilityService;
+
+	@Autowired
+	private BitmaskSchedulerService bitmaskSchedulerService;
+
+	@Autowired
+	private AvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private PartsInventoryRepository partsInventoryRepository;
+
+	@Autowired
+	private PartsReservationRepository partsReservationRepository;
+
+	@Autowired
+	private AppointmentResourcesRepository appointmentResourcesRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Autowired
+	private ServicePartsMappingRepository servicePartsMappingRepository;
+
+	@Autowired
+	private SchedulerMetrics schedulerMetrics;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void concurrentBookingsNeverOversellStock() throws Exception {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(1);
+		BomLine line = partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId()).get(0);
+		Integer partId = line.centerPartId();
+		PartsInventory part = partsInventoryRepository.findById(partId).orElseThrow();
+		int stock = 3 * line.quantityRequired();
+		part.setAvailableParts(stock);
+		partsInventoryRepository.save(part);
+		partsAvailabilityService.evictStock(partId);
+		List<PartsReservation> before = partsReservationRepository.findAll();
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			int day = 3 + i;
+			futures.add(pool.submit(() -> appointmentBookingService.bookAppointment(
+					vehicle.getCustomer().getCustomerId(), vehicle.getVehicleId(), service.getServiceId(),
+					center.getCenterId(), LocalDateTime.now().plusDays(day), false)));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+
+		List<PartsReservation> taken = partsReservationRepository.findAll().stream()
+				.filter(r -> before.stream().noneMatch(b -> b.getReservationId().equals(r.getReservationId())))
+				.filter(r -> r.getPart().getPartId().equals(partId))
+				.toList();
+		assertThat(taken).hasSize(8).allSatisfy(r -> assertThat(r.getStatus()).isEqualTo(ReservationStatus.COMMITTED));
+		assertThat(taken.stream().mapToInt(PartsReservation::getQuantityReserved).sum()).isEqualTo(stock);
+		assertThat(partsInventoryRepository.findById(partId).orElseThrow().getAvailableParts()).isZero();
+		assertThat(partsAvailabilityService.available(partId)).isZero();
+	}
+
+	@Test
+	void reservationCommittingDuringAColdLoadIsKept() {
+		ServiceCenter center = serviceCenterRepository.findAll().get(1);
+		Integer partId = partsInventoryRepository.save(PartsInventory.builder()
+				.serviceCenter(center).partName("Interleaved load test part").availableParts(10).orderedParts(0)
+				.build()).getPartId();
+		try {
+			// A cache whose first row read is overtaken by a reservation that commits before the read is cached
+			AtomicInteger reads = new AtomicInteger();
+			List<Runnable> afterRead = new ArrayList<>();
+			PartsInventoryRepository interleaved = (PartsInventoryRepository) Proxy.newProxyInstance(
+					PartsInventoryRepository.class.getClassLoader(), new Class<?>[] {PartsInventoryRepository.class},
+					(proxy, method, args) -> {
+						try {
+							Object result = method.invoke(partsInventoryRepository, args);
+							if (method.getName().equals("findById")) {
+								reads.incrementAndGet();
+								afterRead.forEach(Runnable::run);
+								afterRead.clear();
+							}
+							return result;
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					});
+			PartsAvailabilityService cache = new PartsAvailabilityService(
+					servicePartsMappingRepository, interleaved, schedulerMetrics);
+			afterRead.add(() -> transactionTemplate.executeWithoutResult(status -> {
+				partsInventoryRepository.takeStock(partId, 4);
+				cache.stockTaken(partId, 4);
+			}));
+
+			assertThat(cache.available(partId)).isEqualTo(6);
+			assertThat(reads).hasValue(2);
+
+			transactionTemplate.executeWithoutResult(status -> {
+				partsInventoryRepository.takeStock(partId, 1);
+				cache.stockTaken(partId, 1);
+			});
+			assertThat(cache.available(partId)).isEqualTo(5);
+			assertThat(reads).hasValue(2);
+		} finally {
+			partsInventoryRepository.deleteById(partId);
+		}
+	}
+
+	@Test
+	void seedLoadDropsCachedStock() {
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(1);
+		BomLine line = partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId()).stream()
+				.filter(BomLine::stockedAtCenter)
+				.findFirst()
+				.orElseThrow();
+		int cached = partsAvailabilityService.available(line.centerPartId());
+		PartsInventory part = partsInventoryRepository.findById(line.centerPartId()).orElseThrow();
+		Integer stock = part.getAvailableParts();
+		try {
+			part.setAvailableParts(cached + 7);
+			partsInventoryRepository.save(part);
+			assertThat(partsAvailabilityService.available(line.centerPartId())).isEqualTo(cached);
+
+			// The listener alone: publishing the event would also rebuild every other seed-backed cache
+			partsAvailabilityService.seedDataLoaded();
+
+			assertThat(partsAvailabilityService.available(line.centerPartId())).isEqualTo(cached + 7);
+		} finally {
+			part.setAvailableParts(stock);
+			partsInventoryRepository.save(part);
+			partsAvailabilityService.evictStock(line.centerPartId());
+		}
+	}
+
+	@Test
+	void cancellingGivesStockAndSlotsBack() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(1);
+		BomLine line = partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId()).get(0);
+		PartsInventory part = partsInventoryRepository.findById(line.centerPartId()).orElseThrow();
+		part.setAvailableParts(10);
+		partsInventoryRepository.save(part);
+		partsAvailabilityService.evictStock(part.getPartId());
+
+		Appointments appointment = appointmentBookingService.bookAppointment(vehicle.getCustomer().getCustomerId(),
+				vehicle.getVehicleId(), service.getServiceId(), center.getCenterId(), LocalDateTime.now().plusDays(12), false);
+		assertThat(partsAvailabilityService.available(part.getPartId())).isEqualTo(10 - line.quantityRequired());
+		AppointmentResources resources = appointmentResourcesRepository
+				.findByAppointment_AppointmentId(appointment.getAppointmentId()).get(0);
+
+		Appointments cancelled = appointmentBookingService.cancelAppointment(appointment.getAppointmentId());
+
+		assertThat(cancelled.getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
+		assertThat(partsInventoryRepository.findById(part.getPartId()).orElseThrow().getAvailableParts()).isEqualTo(10);
+		assertThat(partsAvailabilityService.available(part.getPartId())).isEqualTo(10);
+
+		SlotModel model = SlotModel.of(center);
+		long[] booked = SlotMask.range(model.slotIndex(appointment.getStartTime().toLocalTime()),
+				model.requiredSlots((int) ChronoUnit.MINUTES.between(appointment.getStartTime(), appointment.getEndTime())));
+		long[] techMask = bitmaskSchedulerService.getTechnicianBitmask(
+				resources.getAssignedTech().getTechnicianId(), appointment.getStartTime().toLocalDate());
+		assertThat(techMask[0] & booked[0]).isZero();
+		assertThat(techMask[1] & booked[1]).isZero();
+		assertThat(availabilityIndex.verifyConsistency().consistent()).isTrue();
+	}
+}
@@ -0,0 +1,133 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.Appointments;
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.ServicePartsMapping;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.enums.ProcurementStatus;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ProcurementQueueRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.ServicePartsMappingRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.AppointmentBookingService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.ProcurementPipeline;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProcurementPipelineTests {
+
+	private static final int TASKS = 12_000;
+
+	@Autowired
+	private ProcurementPipeline procurementPipeline;
+
+	@Autowired
+	private AppointmentBookingService appointmentBookingService;
+
+	@Autowired
+	private ProcurementQueueRepository procurementQueueRepository;
+
+	@Autowired
+	private PartsInventoryRepository partsInventoryRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private ServicePartsMappingRepository servicePartsMappingRepository;
+
+	@Autowired
+	private PartsAvailabilityService partsAvailabilityService;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void drainsQueuedTasksIntoOneOrderPerCenterAndPart() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+		Appointments appointment = appointmentBookingService.bookAppointment(vehicle.getCustomer().getCustomerId(),
+				vehicle.getVehicleId(), service.getServiceId(), center.getCenterId(), LocalDateTime.now().plusDays(14), false);
+		procurementPipeline.drain();
+
+		List<PartsInventory> parts = partsInventoryRepository.findAll();
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			rows.add(new Object[]{appointment.getAppointmentId(), parts.get(i % parts.size()).getPartId(),
+					LocalDateTime.now().plusDays(1 + i % 5), 2, ProcurementStatus.ACTION_REQUIRED.name()});
+		}
+		jdbcTemplate.batchUpdate("insert into procurement_queue (task_id, appointment_id, part_id, needed_by_date, quantity, status) "
+				+ "values (next value for procurement_queue_seq, ?, ?, ?, ?, ?)", rows);
+		Integer ordersBefore = jdbcTemplate.queryForObject("select count(*) from purchase_order", Integer.class);
+
+		ProcurementPipeline.RunSummary summary = procurementPipeline.drain();
+
+		assertThat(summary.tasksOrdered()).isEqualTo(TASKS);
+		assertThat(procurementQueueRepository.countByStatus(ProcurementStatus.ACTION_REQUIRED)).isZero();
+		Integer orders = jdbcTemplate.queryForObject("select count(*) from purchase_order", Integer.class);
+		assertThat(orders - ordersBefore).isEqualTo(summary.ordersPlaced());
+		// Every batch places at most one order per part
+		assertThat(summary.ordersPlaced()).isLessThanOrEqualTo(summary.batches() * parts.size());
+		Integer quantity = jdbcTemplate.queryForObject(
+				"select sum(quantity) from purchase_order where order_id > (select coalesce(max(order_id), 0) - ? from purchase_order)",
+				Integer.class, summary.ordersPlaced());
+		assertThat(quantity).isEqualTo(2 * TASKS);
+		assertThat(procurementPipeline.stats().backlog()).isZero();
+	}
+
+	@Test
+	void ordersAPartTheBookingCenterDoesNotStockForThatCenter() {
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		List<ServiceCenter> centers = serviceCenterRepository.findAll();
+		ServiceCenter stocking = centers.get(0);
+		ServiceCenter booking = centers.get(1);
+		// Only the first center has a row for the part, so the second books against that row
+		PartsInventory part = partsInventoryRepository.save(PartsInventory.builder()
+				.serviceCenter(stocking).partName("Pipeline test caliper").availableParts(0).orderedParts(0).build());
+		ServicePartsMapping mapping = servicePartsMappingRepository.save(ServicePartsMapping.builder()
+				.serviceCatalog(service).partsInventory(part).quantityRequired(3).build());
+		partsAvailabilityService.seedDataLoaded();
+		Appointments appointment = null;
+		try {
+			appointment = appointmentBookingService.bookAppointment(vehicle.getCustomer().getCustomerId(),
+					vehicle.getVehicleId(), service.getServiceId(), booking.getCenterId(), LocalDateTime.now().plusDays(15), false);
+
+			procurementPipeline.drain();
+
+			List<Map<String, Object>> orders = jdbcTemplate.queryForList(
+					"select center_id, quantity from purchase_order where part_id = ?", part.getPartId());
+			assertThat(orders).hasSize(1);
+			assertThat(((Number) orders.get(0).get("center_id")).intValue()).isEqualTo(booking.getCenterId());
+			assertThat(((Number) orders.get(0).get("quantity")).intValue()).isEqualTo(3);
+		} finally {
+			servicePartsMappingRepository.delete(mapping);
+			partsAvailabilityService.seedDataLoaded();
+			if (appointment != null) {
+				appointmentBookingService.cancelAppointment(appointment.getAppointmentId());
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.PartsInventory;
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.entity.Vehicle;
+import com.appointmentscheduler.backend.repository.PartsInventoryRepository;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import com.appointmentscheduler.backend.repository.VehicleRepository;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService;
+import com.appointmentscheduler.backend.service.PartsAvailabilityService.BomLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the SQL statements each hot endpoint issues, read from Hibernate statistics.
+ * A lazy association touched by accident, or an N+1 loop, shows up here as a failed budget.
+ */
+@SpringBootTest
+class QueryBudgetTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PartsAvailabilityService partsAvailabilityService;
+
+	@Autowired
+	private PartsInventoryRepository partsInventoryRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	@Autowired
+	private VehicleRepository vehicleRepository;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void slotSearchStaysWithinBudget() throws Exception {
+		String search = slotSearch(serviceCatalogRepository.findAll().get(0), serviceCenterRepository.findAll().get(0));
+		// First call loads the bill of materials into the cache
+		mockMvc.perform(post("/api/schedule/find-slot").contentType(MediaType.APPLICATION_JSON).content(search))
+				.andExpect(status().isOk());
+
+		// Service, center, technicians with their center, bays with their center
+		assertStatements(post("/api/schedule/find-slot").contentType(MediaType.APPLICATION_JSON).content(search), 4);
+		assertStatements(post("/api/schedule/find-slots").contentType(MediaType.APPLICATION_JSON).content(search), 4);
+	}
+
+	@Test
+	void bookingAndCancellationStayWithinBudget() throws Exception {
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+		Vehicle vehicle = vehicleRepository.findAll().get(0);
+		// Parts in stock, so the booking takes the same path whatever other tests consumed
+		for (BomLine line : partsAvailabilityService.billOfMaterials(service.getServiceId(), center.getCenterId())) {
+			if (line.stockedAtCenter()) {
+				PartsInventory part = partsInventoryRepository.findById(line.centerPartId()).orElseThrow();
+				part.setAvailableParts(100);
+				partsInventoryRepository.save(part);
+				partsAvailabilityService.evictStock(part.getPartId());
+			}
+		}
+		String book = "{\"customerId\":" + vehicle.getCustomer().getCustomerId()
+				+ ",\"vehicleId\":" + vehicle.getVehicleId()
+				+ ",\"serviceCatalogId\":" + service.getServiceId()
+				+ ",\"centerId\":" + center.getCenterId()
+				+ ",\"startTime\":\"" + LocalDateTime.now().plusDays(9).withNano(0) + "\"}";
+
+		// 15, plus a sequence call for the appointment, resources and reservation ids once every 50 rows
+		MvcResult booked = assertStatements(post("/api/schedule/book").contentType(MediaType.APPLICATION_JSON).content(book), 18);
+		int appointmentId = objectMapper.readTree(booked.getResponse().getContentAsString()).get("appointmentId").asInt();
+
+		assertStatements(post("/api/schedule/appointments/" + appointmentId + "/cancel"), 11);
+	}
+
+	@Test
+	void readEndpointsStayWithinBudget() throws Exception {
+		// Page of customers with their vehicles in one query; the ranking comes from the index
+		assertStatements(get("/api/customers/search").param("q", "ali"), 1);
+		assertStatements(post("/api/symptoms/classify").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"text\":\"brakes squeal when stopping\"}"), 0);
+		assertStatements(get("/api/procurement/stats"), 1);
+	}
+
+	private MvcResult assertStatements(RequestBuilder request, long budget) throws Exception {
+		statistics.clear();
+		MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+		assertThat(statistics.getPrepareStatementCount())
+				.as("SQL statements for %s", result.getRequest().getRequestURI())
+				.isLessThanOrEqualTo(budget);
+		return result;
+	}
+
+	private static String slotSearch(ServiceCatalog service, ServiceCenter center) {
+		return "{\"serviceCatalogId\":" + service.getServiceId() + ",\"centerId\":" + center.getCenterId() + "}";
+	}
+}
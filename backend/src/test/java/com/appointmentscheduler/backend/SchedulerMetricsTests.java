@@ -0,0 +1,80 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.ServiceCenter;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.ServiceCenterRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A slot search records its timer and per-request counts, and the meters are scraped in the
+ * Prometheus format.
+ */
+@SpringBootTest
+class SchedulerMetricsTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Autowired
+	private ServiceCenterRepository serviceCenterRepository;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+	}
+
+	@Test
+	void slotSearchRecordsTimerAndCounts() throws Exception {
+		ServiceCatalog service = serviceCatalogRepository.findAll().get(0);
+		ServiceCenter center = serviceCenterRepository.findAll().get(0);
+		Timer timer = meterRegistry.get("scheduler.search").tag("kind", "earliest").timer();
+		DistributionSummary days = meterRegistry.get("scheduler.search.days").tag("kind", "earliest").summary();
+		DistributionSummary statements = meterRegistry.get("scheduler.search.statements").tag("kind", "earliest").summary();
+		long searches = timer.count();
+		long scans = days.count();
+		double statementsBefore = statements.totalAmount();
+
+		mockMvc.perform(post("/api/schedule/find-slot").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"serviceCatalogId\":" + service.getServiceId() + ",\"centerId\":" + center.getCenterId() + "}"))
+				.andExpect(status().isOk());
+
+		assertThat(timer.count()).isEqualTo(searches + 1);
+		assertThat(days.count()).isEqualTo(scans + 1);
+		assertThat(days.max()).isBetween(1.0, 30.0);
+		// At least the service and center lookups
+		assertThat(statements.totalAmount() - statementsBefore).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	void metersAreScrapedInPrometheusFormat() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(org.hamcrest.Matchers.containsString("scheduler_search_seconds_bucket")))
+				.andExpect(content().string(org.hamcrest.Matchers.containsString("scheduler_booking_unavailable_total")));
+	}
+}
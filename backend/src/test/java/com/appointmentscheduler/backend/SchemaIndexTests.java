@@ -0,0 +1,82 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.repository.TechnicianRepository;
+import com.appointmentscheduler.backend.repository.TechnicianSchedulerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hot lookups are planned on their declared keys, read from H2's EXPLAIN, and the day-row
+ * upsert absorbs a duplicate instead of failing on uk_technician_scheduler_day.
+ */
+@SpringBootTest
+class SchemaIndexTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TechnicianRepository technicianRepository;
+
+	@Autowired
+	private TechnicianSchedulerRepository technicianSchedulerRepository;
+
+	@Test
+	void schedulerDayLookupsUseTheDayKey() {
+		assertPlanUses("select bitmask from technician_scheduler where technician_id = 1 and date = date '2030-01-07'",
+				"uk_technician_scheduler_day");
+		assertPlanUses("select bitmask from bay_scheduler where bay_id = 1 and date = date '2030-01-07'",
+				"uk_bay_scheduler_day");
+		assertPlanUses("select technician_id, bitmask from technician_scheduler "
+				+ "where date between date '2030-01-07' and date '2030-01-13'", "idx_technician_scheduler_date");
+	}
+
+	@Test
+	void partsLookupsUseTheirKeys() {
+		assertPlanUses("select part_id from parts_inventory where center_id = 1 and part_name = 'Rotors'",
+				"uk_parts_inventory_center_part");
+		// H2 prefers the single-column foreign key index here; either way it is not a scan
+		assertThat(plan("select part_id, quantity_required from service_parts_mapping where service_id = 1"))
+				.doesNotContainIgnoringCase("tableScan");
+		assertPlanUses("select reservation_id from parts_reservation "
+				+ "where status = 'RESERVED' and created_at < timestamp '2030-01-07 09:00:00'",
+				"idx_parts_reservation_status_created");
+	}
+
+	@Test
+	void dayRowUpsertKeepsOneRowPerDay() {
+		Long technicianId = technicianRepository.findAll().get(0).getTechnicianId();
+		LocalDate date = LocalDate.now().plusYears(3);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			technicianSchedulerRepository.createIfAbsent(technicianId, date);
+			technicianSchedulerRepository.createIfAbsent(technicianId, date);
+			assertThat(technicianSchedulerRepository.claimSlots(technicianId, date, 0b11L, 0L)).isEqualTo(1);
+			technicianSchedulerRepository.createIfAbsent(technicianId, date);
+		});
+
+		assertThat(jdbcTemplate.queryForObject(
+				"select count(*) from technician_scheduler where technician_id = ? and date = ?",
+				Integer.class, technicianId, date)).isEqualTo(1);
+		assertThat(technicianSchedulerRepository.findByTechnician_TechnicianIdAndDate(technicianId, date))
+				.hasValueSatisfying(row -> assertThat(row.getBitmask()).isEqualTo(0b11L));
+	}
+
+	private void assertPlanUses(String sql, String index) {
+		assertThat(plan(sql)).as(sql).containsIgnoringCase(index);
+	}
+
+	private String plan(String sql) {
+		return jdbcTemplate.queryForObject("explain " + sql, String.class);
+	}
+}
@@ -0,0 +1,51 @@
+package com.appointmentscheduler.backend;
+
+import com.appointmentscheduler.backend.entity.ServiceCatalog;
+import com.appointmentscheduler.backend.entity.SymptomDataset;
+import com.appointmentscheduler.backend.repository.ServiceCatalogRepository;
+import com.appointmentscheduler.backend.repository.SymptomDatasetRepository;
+import com.appointmentscheduler.backend.service.SymptomMatcher;
+import com.appointmentscheduler.backend.service.SymptomMatcherService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SymptomClassificationTests {
+
+	@Autowired
+	private SymptomMatcherService symptomMatcherService;
+
+	@Autowired
+	private SymptomDatasetRepository symptomDatasetRepository;
+
+	@Autowired
+	private ServiceCatalogRepository serviceCatalogRepository;
+
+	@Test
+	void classifiesSeededSymptomsAndPicksUpNewPhrases() {
+		List<SymptomMatcher.Candidate> candidates = symptomMatcherService.classify(
+				"Car won't start in the morning, just clicking. Also the tyre looks a bit bald.", 3);
+		assertThat(candidates).extracting(SymptomMatcher.Candidate::serviceName)
+				.containsExactly("Dead Battery", "Tire Issues");
+
+		ServiceCatalog overheating = serviceCatalogRepository.findAll().stream()
+				.filter(service -> service.getName().equals("Overheating"))
+				.findFirst().orElseThrow();
+		assertThat(symptomMatcherService.classify("sweet smell from the vents", 3)).isEmpty();
+
+		SymptomDataset symptom = symptomDatasetRepository.save(SymptomDataset.builder()
+				.serviceCatalog(overheating)
+				.keywordPhrase("sweet smell")
+				.build());
+		assertThat(symptomMatcherService.classify("sweet smell from the vents", 3))
+				.extracting(SymptomMatcher.Candidate::serviceName).containsExactly("Overheating");
+
+		symptomDatasetRepository.delete(symptom);
+		assertThat(symptomMatcherService.classify("sweet smell from the vents", 3)).isEmpty();
+	}
+}
@@ -0,0 +1,81 @@
+package com.appointmentscheduler.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcConcurrencyLimiterTests {
+
+	private final AtomicInteger open = new AtomicInteger();
+
+	@Test
+	void blocksBeyondTheLimitUntilAConnectionIsClosed() throws Exception {
+		JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(dataSource(), 1, 5_000);
+		Connection first = limiter.getConnection();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<Connection> second = executor.submit((Callable<Connection>) limiter::getConnection);
+			while (limiter.waiting() == 0) {
+				Thread.sleep(1);
+			}
+			assertThat(second).isNotDone();
+			assertThat(open).hasValue(1);
+
+			first.close();
+			second.get(5, TimeUnit.SECONDS).close();
+		}
+		assertThat(open).hasValue(0);
+	}
+
+	@Test
+	void nestedBorrowOnTheSameThreadNeedsNoPermit() throws Exception {
+		JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(dataSource(), 1, 50);
+		try (Connection outer = limiter.getConnection(); Connection inner = limiter.getConnection()) {
+			assertThat(open).hasValue(2);
+		}
+		// Both closed, the permit is back
+		limiter.getConnection().close();
+	}
+
+	@Test
+	void timesOutWhenNoPermitFreesUp() throws Exception {
+		JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(dataSource(), 1, 50);
+		Connection held = limiter.getConnection();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			assertThatThrownBy(() -> executor.submit((Callable<Connection>) limiter::getConnection).get())
+					.hasCauseInstanceOf(SQLTransientConnectionException.class);
+		}
+		held.close();
+		held.close();
+		assertThat(open).hasValue(0);
+	}
+
+	private DataSource dataSource() {
+		return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+				(proxy, method, args) -> {
+					if (!method.getName().equals("getConnection")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					open.incrementAndGet();
+					return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+							(connection, call, callArgs) -> {
+								if (call.getName().equals("close")) {
+									open.decrementAndGet();
+								}
+								return null;
+							});
+				});
+	}
+}
@@ -0,0 +1,120 @@
+package com.appointmentscheduler.backend.config;
+
+import com.appointmentscheduler.backend.entity.BayScheduler;
+import com.appointmentscheduler.backend.entity.Customer;
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.Technician;
+import com.appointmentscheduler.backend.entity.TechnicianScheduler;
+import com.appointmentscheduler.backend.repository.BaySchedulerRepository;
+import com.appointmentscheduler.backend.repository.CustomerRepository;
+import com.appointmentscheduler.backend.repository.ServiceBayRepository;
+import com.appointmentscheduler.backend.repository.TechnicianRepository;
+import com.appointmentscheduler.backend.repository.TechnicianSchedulerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The generator at a few centers and customers, on its own database: row counts follow the
+ * properties, and scheduler rows the application saves afterwards draw ids past the generated ones.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+		"scheduler.synthetic.enabled=true",
+		"scheduler.synthetic.centers=3",
+		"scheduler.synthetic.technicians-per-center=4",
+		"scheduler.synthetic.bays-per-center=4",
+		"scheduler.synthetic.schedule-days=5",
+		"scheduler.synthetic.customers=25",
+		"scheduler.synthetic.batch-size=2",
+		"spring.datasource.url=jdbc:h2:mem:scheduler-synthetic;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class SyntheticDataGeneratorTests {
+
+	private static final String SYNTHETIC_CENTERS =
+			"select center_id from service_centers where name like 'Synthetic Center %'";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TechnicianRepository technicianRepository;
+
+	@Autowired
+	private ServiceBayRepository serviceBayRepository;
+
+	@Autowired
+	private TechnicianSchedulerRepository technicianSchedulerRepository;
+
+	@Autowired
+	private BaySchedulerRepository baySchedulerRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Test
+	void generatesTheConfiguredRows() {
+		assertThat(count(SYNTHETIC_CENTERS.replace("center_id", "count(*)"))).isEqualTo(3);
+		assertThat(count("select count(*) from technicians where center_id in (" + SYNTHETIC_CENTERS + ")")).isEqualTo(12);
+		assertThat(count("select count(*) from service_bays where center_id in (" + SYNTHETIC_CENTERS + ")")).isEqualTo(12);
+		long partNames = count("select count(distinct part_name) from parts_inventory");
+		assertThat(count("select count(*) from parts_inventory where center_id in (" + SYNTHETIC_CENTERS + ")"))
+				.isEqualTo(partNames * 3);
+		// One day mask per technician and bay for each of the five days
+		assertThat(count("select count(*) from technician_scheduler s join technicians t on t.tech_id = s.technician_id"
+				+ " where t.center_id in (" + SYNTHETIC_CENTERS + ")")).isEqualTo(60);
+		assertThat(count("select count(*) from bay_scheduler s join service_bays b on b.bay_id = s.bay_id"
+				+ " where b.center_id in (" + SYNTHETIC_CENTERS + ")")).isEqualTo(60);
+		// 25 customers with one vehicle each, every third (9 of them) with a second one
+		assertThat(count("select count(distinct customer_id) from vehicles where vin like 'SYN%'")).isEqualTo(25);
+		assertThat(count("select count(*) from vehicles where vin like 'SYN%'")).isEqualTo(34);
+	}
+
+	@Test
+	void laterJpaInsertsDrawIdsPastTheGeneratedRows() {
+		long maxTechRowId = count("select max(id) from technician_scheduler");
+		long maxBayRowId = count("select max(id) from bay_scheduler");
+		List<Long> techIds = jdbcTemplate.queryForList(
+				"select tech_id from technicians where center_id in (" + SYNTHETIC_CENTERS + ")", Long.class);
+		List<Long> bayIds = jdbcTemplate.queryForList(
+				"select bay_id from service_bays where center_id in (" + SYNTHETIC_CENTERS + ")", Long.class);
+
+		// More rows than one pooled allocation (50), on days past the generated schedule
+		LocalDate firstFreeDay = LocalDate.now().plusDays(30);
+		List<TechnicianScheduler> techRows = new ArrayList<>();
+		List<BayScheduler> bayRows = new ArrayList<>();
+		for (int day = 0; day < 6; day++) {
+			for (Technician tech : technicianRepository.findAllById(techIds)) {
+				techRows.add(TechnicianScheduler.builder().technician(tech).date(firstFreeDay.plusDays(day)).bitmask(1L).build());
+			}
+			for (ServiceBay bay : serviceBayRepository.findAllById(bayIds)) {
+				bayRows.add(BayScheduler.builder().bay(bay).date(firstFreeDay.plusDays(day)).bitmask(1L).build());
+			}
+		}
+		List<TechnicianScheduler> savedTechRows = technicianSchedulerRepository.saveAll(techRows);
+		List<BayScheduler> savedBayRows = baySchedulerRepository.saveAll(bayRows);
+
+		assertThat(savedTechRows).hasSize(72).allSatisfy(row -> assertThat(row.getId()).isGreaterThan(maxTechRowId));
+		assertThat(savedBayRows).hasSize(72).allSatisfy(row -> assertThat(row.getId()).isGreaterThan(maxBayRowId));
+		assertThat(count("select count(distinct id) from technician_scheduler"))
+				.isEqualTo(count("select count(*) from technician_scheduler"));
+		assertThat(count("select count(distinct id) from bay_scheduler"))
+				.isEqualTo(count("select count(*) from bay_scheduler"));
+
+		long maxCustomerId = count("select max(customer_id) from customers");
+		Customer customer = customerRepository.save(Customer.builder().name("After Synthetic").phone("555-9999999").loyaltyScore(10).build());
+		assertThat(customer.getCustomerId().longValue()).isGreaterThan(maxCustomerId);
+	}
+
+	private long count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Long.class);
+	}
+}
@@ -0,0 +1,61 @@
+package com.appointmentscheduler.backend.controller;
+
+import com.appointmentscheduler.backend.controller.CustomerController.CustomerResponse;
+import com.appointmentscheduler.backend.controller.CustomerController.VehicleResponse;
+import com.appointmentscheduler.backend.controller.SchedulerController.AppointmentResponse;
+import com.appointmentscheduler.backend.controller.SchedulerController.CenterSlotOption;
+import com.appointmentscheduler.backend.controller.SchedulerController.FindSlotResponse;
+import com.appointmentscheduler.backend.controller.SchedulerController.SlotOption;
+import com.appointmentscheduler.backend.enums.AppointmentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializersTests {
+
+	// Configured like Spring Boot's default mapper, minus the hand-written serializers
+	private static final ObjectMapper REFLECTIVE = JsonMapper.builder()
+			.addModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+	private static final ObjectMapper HAND_WRITTEN = REFLECTIVE.copy().registerModule(new ResponseSerializers());
+
+	private static final LocalDateTime START = LocalDateTime.of(2026, 3, 9, 9, 0);
+
+	@Test
+	void writesWhatJacksonWouldDerive() throws Exception {
+		assertSameJson(new AppointmentResponse(41, 7, 12, 3, START, START.plusMinutes(90),
+				AppointmentStatus.PENDING_PARTS, true));
+		assertSameJson(new AppointmentResponse(41, 7, 12, 3, null, null, null, false));
+		assertSameJson(List.of(
+				new SlotOption(START.withSecond(30).withNano(250_000_000), START.plusHours(2), 5L, "Ana \"Spanner\" Ruiz", 2L, "Lift 2"),
+				new SlotOption(START, START.plusHours(2), 6L, null, 3L, "Bay ü")));
+		assertSameJson(new FindSlotResponse(START, null));
+		assertSameJson(List.of(
+				new CenterSlotOption(3, "Northside", START.minusDays(1), START, START.plusHours(2), 5L, "Ana", 2L, "Lift 2"),
+				new CenterSlotOption(7, null, null, START, START.plusHours(2), 6L, null, 3L, null)));
+		assertSameJson(List.of(
+				new CustomerResponse(1, "Jane Doe", "+1 (555) 010-2000", 120, List.of(
+						new VehicleResponse(4, "1HGCM82633A004352", "Civic"),
+						new VehicleResponse(5, null, "F-150"))),
+				new CustomerResponse(2, "No Vehicles", null, null, List.of())));
+	}
+
+	@Test
+	void serializerModuleIsUsedForTheRecords() throws Exception {
+		assertThat(HAND_WRITTEN.getSerializerProviderInstance()
+				.findValueSerializer(AppointmentResponse.class))
+				.isInstanceOf(ResponseSerializers.AppointmentResponseSerializer.class);
+	}
+
+	private static void assertSameJson(Object value) throws Exception {
+		assertThat(HAND_WRITTEN.writeValueAsString(value)).isEqualTo(REFLECTIVE.writeValueAsString(value));
+	}
+}
@@ -0,0 +1,90 @@
+package com.appointmentscheduler.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerSearchIndexTests {
+
+	private static final String[] FIRST = {"Anna", "José", "Liam", "Olivia", "Noah", "Émile", "Mia", "Lucas", "Zoë", "Ava"};
+	private static final String[] LAST = {"Smith", "O'Brien", "García", "Nguyen", "Johnson", "Müller", "Brown", "Lee"};
+
+	@Test
+	void matchesTheSameCustomersAsASubstringScan() {
+		Random random = new Random(7);
+		CustomerSearchIndex index = new CustomerSearchIndex();
+		List<String[]> customers = new ArrayList<>();
+		for (int id = 0; id < 2_000; id++) {
+			String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+			String phone = String.format("+1 (%03d) %03d-%04d", random.nextInt(1000), random.nextInt(1000), random.nextInt(10_000));
+			customers.add(new String[]{name, phone});
+			index.put(id, name, phone);
+		}
+
+		for (String query : List.of("smi", "JOSE", "garcia", "o brien", "nguyen", "ia n", "555", "(123", "-4", "zzz", "lee")) {
+			CustomerSearchIndex.SearchPage page = index.search(query, 0, customers.size());
+			Set<Integer> expected = new HashSet<>();
+			String name = CustomerSearchIndex.normalizeName(query);
+			String digits = query.matches("[\\d\\s+().-]+") ? CustomerSearchIndex.digits(query) : "";
+			for (int id = 0; id < customers.size(); id++) {
+				boolean nameMatch = !name.isEmpty() && CustomerSearchIndex.normalizeName(customers.get(id)[0]).contains(name);
+				boolean phoneMatch = digits.length() >= 3 && CustomerSearchIndex.digits(customers.get(id)[1]).contains(digits);
+				if (nameMatch || phoneMatch) {
+					expected.add(id);
+				}
+			}
+			assertThat(new HashSet<>(page.customerIds())).as(query).isEqualTo(expected);
+			assertThat(page.total()).as(query).isEqualTo(expected.size());
+		}
+	}
+
+	@Test
+	void ranksExactThenPrefixThenWordThenSubstringAndPages() {
+		CustomerSearchIndex index = new CustomerSearchIndex();
+		index.put(1, "Dana Leeson", "111");
+		index.put(2, "Lee", "222");
+		index.put(3, "Ashlee Park", "333");
+		index.put(4, "Leeroy Jenkins", "444");
+
+		assertThat(index.search("lee", 0, 10).customerIds()).containsExactly(2, 4, 1, 3);
+		assertThat(index.search("lee", 1, 2).customerIds()).containsExactly(4, 1);
+		assertThat(index.search("lee", 1, 2).total()).isEqualTo(4);
+		// Short queries match word starts only
+		assertThat(index.search("le", 0, 10).customerIds()).containsExactly(2, 4, 1);
+	}
+
+	@Test
+	void followsUpdatesAndRemovals() {
+		CustomerSearchIndex index = new CustomerSearchIndex();
+		index.put(1, "Maria Lopez", "5550100");
+		index.put(2, "Mario Rossi", "5550199");
+
+		index.put(1, "Maria Schmidt", "5550100");
+		index.remove(2);
+
+		assertThat(index.search("lopez", 0, 10).customerIds()).isEmpty();
+		assertThat(index.search("schmidt", 0, 10).customerIds()).containsExactly(1);
+		assertThat(index.search("mari", 0, 10).customerIds()).containsExactly(1);
+		assertThat(index.search("555-01", 0, 10).customerIds()).containsExactly(1);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void offsetsPastTheLastMatchAllocateNothingBig() {
+		CustomerSearchIndex index = new CustomerSearchIndex();
+		index.put(1, "Maria Lopez", "5550100");
+		index.put(2, "Mario Rossi", "5550199");
+
+		CustomerSearchIndex.SearchPage page = index.search("mari", Integer.MAX_VALUE - 10, 100);
+		assertThat(page.customerIds()).isEmpty();
+		assertThat(page.total()).isEqualTo(2);
+		assertThat(index.search("mari", 2_000_000_000, 100).customerIds()).isEmpty();
+		assertThat(index.search("mari", 1, 100).customerIds()).hasSize(1);
+	}
+}
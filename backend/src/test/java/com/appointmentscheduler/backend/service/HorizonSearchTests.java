@@ -0,0 +1,113 @@
+package com.appointmentscheduler.backend.service;
+
+import com.appointmentscheduler.backend.entity.ServiceBay;
+import com.appointmentscheduler.backend.entity.Technician;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HorizonSearchTests {
+
+	private static final int DAYS = 30;
+
+	private static ExecutorService executor;
+
+	@BeforeAll
+	static void startExecutor() {
+		executor = Executors.newVirtualThreadPerTaskExecutor();
+	}
+
+	@AfterAll
+	static void stopExecutor() {
+		executor.shutdownNow();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 3, 5, 7, 30})
+	void parallelScanMatchesSequentialScan(int chunkDays) {
+		SlotModel model = SlotModel.DEFAULT;
+		HorizonSearch sequential = HorizonSearch.sequential();
+		HorizonSearch parallel = HorizonSearch.parallel(executor, chunkDays);
+		LocalDate firstDay = LocalDate.of(2030, 1, 1);
+		LocalDate lastDay = firstDay.plusDays(DAYS - 1);
+		Random random = new Random(chunkDays);
+
+		for (int i = 0; i < 300; i++) {
+			int techCount = 1 + random.nextInt(6);
+			int bayCount = 1 + random.nextInt(6);
+			List<Technician> techs = new ArrayList<>();
+			for (long id = 1; id <= techCount; id++) {
+				techs.add(Technician.builder().technicianId(id).build());
+			}
+			List<ServiceBay> bays = new ArrayList<>();
+			for (long id = 1; id <= bayCount; id++) {
+				bays.add(ServiceBay.builder().bayId(id).build());
+			}
+			// Saturate a random prefix of the horizon so the first feasible day varies (or never comes)
+			int saturatedDays = random.nextInt(DAYS + 1);
+			MapMasks masks = new MapMasks();
+			for (int day = 0; day < DAYS; day++) {
+				double fill = day < saturatedDays ? 1.0 : 0.8;
+				for (Technician tech : techs) {
+					masks.techs.put(key(tech.getTechnicianId(), day), randomMask(random, model.totalSlots(), fill));
+				}
+				for (ServiceBay bay : bays) {
+					masks.bays.put(key(bay.getBayId(), day), randomMask(random, model.totalSlots(), fill));
+				}
+			}
+			int k = 1 + random.nextInt(6);
+			LocalDateTime arrival = firstDay.atTime(9 + random.nextInt(10), 0);
+
+			assertThat(parallel.earliest(model, k, arrival, firstDay, lastDay, techs, bays, masks))
+					.as("iteration %d", i)
+					.isEqualTo(sequential.earliest(model, k, arrival, firstDay, lastDay, techs, bays, masks));
+		}
+	}
+
+	private static long key(long id, int day) {
+		return (id << 16) | day;
+	}
+
+	private static long[] randomMask(Random random, int totalSlots, double fill) {
+		long[] mask = new long[SlotMask.WORDS];
+		for (int slot = 0; slot < totalSlots; slot++) {
+			if (random.nextDouble() < fill) {
+				mask[slot >>> 6] |= 1L << (slot & 63);
+			}
+		}
+		return mask;
+	}
+
+	private static final class MapMasks implements BitmaskSchedulerService.MaskSource {
+		final Map<Long, long[]> techs = new HashMap<>();
+		final Map<Long, long[]> bays = new HashMap<>();
+		final LocalDate origin = LocalDate.of(2030, 1, 1);
+
+		@Override
+		public void technician(Technician tech, LocalDate day, long[] dest, int offset, int words) {
+			copy(techs.get(key(tech.getTechnicianId(), (int) (day.toEpochDay() - origin.toEpochDay()))), dest, offset, words);
+		}
+
+		@Override
+		public void bay(ServiceBay bay, LocalDate day, long[] dest, int offset, int words) {
+			copy(bays.get(key(bay.getBayId(), (int) (day.toEpochDay() - origin.toEpochDay()))), dest, offset, words);
+		}
+
+		private static void copy(long[] mask, long[] dest, int offset, int words) {
+			System.arraycopy(mask, 0, dest, offset, words);
+		}
+	}
+}
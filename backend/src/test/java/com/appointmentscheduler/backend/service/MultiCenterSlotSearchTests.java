@@ -0,0 +1,44 @@
+package com.appointmentscheduler.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiCenterSlotSearchTests {
+
+	@Test
+	void mergeMatchesSortingEverything() {
+		Random random = new Random(2024);
+		for (int round = 0; round < 200; round++) {
+			List<List<Integer>> lists = new ArrayList<>();
+			List<Integer> all = new ArrayList<>();
+			for (int l = random.nextInt(6); l > 0; l--) {
+				List<Integer> list = new ArrayList<>();
+				for (int i = random.nextInt(8); i > 0; i--) {
+					list.add(random.nextInt(50));
+				}
+				list.sort(Comparator.naturalOrder());
+				lists.add(list);
+				all.addAll(list);
+			}
+			all.sort(Comparator.naturalOrder());
+			int limit = 1 + random.nextInt(20);
+
+			assertThat(MultiCenterSlotSearch.merge(lists, Comparator.naturalOrder(), limit))
+					.isEqualTo(all.subList(0, Math.min(limit, all.size())));
+		}
+	}
+
+	@Test
+	void mergeStopsAtTheLimit() {
+		List<List<Integer>> lists = List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10), List.of(0));
+
+		assertThat(MultiCenterSlotSearch.merge(lists, Comparator.naturalOrder(), 4)).containsExactly(0, 1, 2, 3);
+		assertThat(MultiCenterSlotSearch.merge(List.<List<Integer>>of(), Comparator.naturalOrder(), 4)).isEmpty();
+	}
+}
@@ -0,0 +1,150 @@
+package com.appointmentscheduler.backend.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotFitEngineTests {
+
+	@ParameterizedTest
+	@ValueSource(ints = {18, 64, 96, 128})
+	void earliestFitMatchesSlotBySlotScan(int totalSlots) {
+		SlotFitEngine engine = new SlotFitEngine(totalSlots);
+		Random random = new Random(42);
+		for (int i = 0; i < 50_000; i++) {
+			long[] mask = randomMask(random, totalSlots, 0.5);
+			int k = 1 + random.nextInt(Math.min(totalSlots, 24));
+			int from = random.nextInt(totalSlots);
+
+			assertThat(engine.earliestFit(mask, 0, k, from))
+					.as("k=%d from=%d", k, from)
+					.isEqualTo(scan(mask, k, from, totalSlots));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {18, 96})
+	void earliestPairMatchesCrossProductScan(int totalSlots) {
+		SlotFitEngine engine = new SlotFitEngine(totalSlots);
+		int words = engine.words();
+		Random random = new Random(7);
+		for (int i = 0; i < 3_000; i++) {
+			int techCount = 1 + random.nextInt(12);
+			int bayCount = 1 + random.nextInt(12);
+			long[] techs = randomMasks(random, techCount, words, totalSlots);
+			long[] bays = randomMasks(random, bayCount, words, totalSlots);
+			int k = 1 + random.nextInt(8);
+			int from = random.nextInt(totalSlots);
+
+			SlotFitEngine.Fit expected = crossProduct(techs, techCount, bays, bayCount, words, k, from, totalSlots);
+			SlotFitEngine.Fit actual = engine.earliestPair(techs, techCount, bays, bayCount, k, from);
+
+			assertThat(actual).isEqualTo(expected);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {18, 96})
+	void earliestPairsListsEveryFeasibleStartInOrder(int totalSlots) {
+		SlotFitEngine engine = new SlotFitEngine(totalSlots);
+		int words = engine.words();
+		Random random = new Random(11);
+		for (int i = 0; i < 2_000; i++) {
+			int techCount = 1 + random.nextInt(8);
+			int bayCount = 1 + random.nextInt(8);
+			long[] techs = randomMasks(random, techCount, words, totalSlots);
+			long[] bays = randomMasks(random, bayCount, words, totalSlots);
+			int k = 1 + random.nextInt(6);
+			int from = random.nextInt(totalSlots);
+			int limit = 1 + random.nextInt(6);
+
+			List<SlotFitEngine.Fit> expected = new ArrayList<>();
+			for (int start = from; start < totalSlots && expected.size() < limit; start++) {
+				SlotFitEngine.Fit fit = crossProduct(techs, techCount, bays, bayCount, words, k, start, totalSlots);
+				if (fit != null && fit.slotIndex() == start) {
+					expected.add(fit);
+				}
+			}
+
+			assertThat(engine.earliestPairs(techs, techCount, bays, bayCount, k, from, limit)).isEqualTo(expected);
+		}
+	}
+
+	private static long[] randomMasks(Random random, int count, int words, int totalSlots) {
+		long[] masks = new long[count * words];
+		for (int r = 0; r < count; r++) {
+			long[] mask = randomMask(random, totalSlots, 0.75);
+			System.arraycopy(mask, 0, masks, r * words, words);
+		}
+		return masks;
+	}
+
+	private static long[] randomMask(Random random, int totalSlots, double fill) {
+		long[] mask = new long[SlotMask.WORDS];
+		for (int slot = 0; slot < totalSlots; slot++) {
+			if (random.nextDouble() < fill) {
+				mask[slot >>> 6] |= 1L << (slot & 63);
+			}
+		}
+		return mask;
+	}
+
+	private static boolean busy(long[] mask, int offset, int slot) {
+		return (mask[offset + (slot >>> 6)] & (1L << (slot & 63))) != 0;
+	}
+
+	private static int scan(long[] mask, int k, int from, int totalSlots) {
+		return scanPair(mask, 0, mask, 0, k, from, totalSlots);
+	}
+
+	private static int scanPair(long[] a, int aOffset, long[] b, int bOffset, int k, int from, int totalSlots) {
+		for (int start = from; start <= totalSlots - k; start++) {
+			boolean free = true;
+			for (int slot = start; slot < start + k && free; slot++) {
+				free = !busy(a, aOffset, slot) && !busy(b, bOffset, slot);
+			}
+			if (free) {
+				return start;
+			}
+		}
+		return -1;
+	}
+
+	private static SlotFitEngine.Fit crossProduct(long[] techs, int techCount, long[] bays, int bayCount,
+												  int words, int k, int from, int totalSlots) {
+		int best = Integer.MAX_VALUE;
+		SlotFitEngine.Fit fit = null;
+		for (int t = 0; t < techCount; t++) {
+			for (int b = 0; b < bayCount; b++) {
+				int slot = scanPair(techs, t * words, bays, b * words, k, from, totalSlots);
+				if (slot != -1 && slot < best) {
+					best = slot;
+					fit = new SlotFitEngine.Fit(slot, t, b);
+				}
+			}
+		}
+		return fit;
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {18, 64, 96, 128})
+	void jobLongerThanTheDayNeverFits(int totalSlots) {
+		SlotFitEngine engine = new SlotFitEngine(totalSlots);
+		long[] free = new long[engine.words()];
+
+		for (int k : new int[]{totalSlots + 1, 2 * totalSlots, 128}) {
+			if (k <= totalSlots) {
+				continue;
+			}
+			assertThat(engine.earliestFit(free, 0, k, 0)).as("k=%d", k).isEqualTo(-1);
+			assertThat(engine.earliestPair(free, 1, free, 1, k, 0)).as("k=%d", k).isNull();
+			assertThat(engine.earliestPairs(free, 1, free, 1, k, 0, 5)).as("k=%d", k).isEmpty();
+		}
+		assertThat(engine.earliestPair(free, 1, free, 1, totalSlots, 0)).isEqualTo(new SlotFitEngine.Fit(0, 0, 0));
+	}
+}
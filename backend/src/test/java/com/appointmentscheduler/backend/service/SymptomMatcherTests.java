@@ -0,0 +1,72 @@
+package com.appointmentscheduler.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymptomMatcherTests {
+
+	private static final SymptomMatcher MATCHER = new SymptomMatcher(List.of(
+			new SymptomMatcher.Phrase(1, "Squeaking Brakes", "squeal"),
+			new SymptomMatcher.Phrase(1, "Squeaking Brakes", "brake"),
+			new SymptomMatcher.Phrase(2, "Engine Light", "check engine"),
+			new SymptomMatcher.Phrase(2, "Engine Light", "warning light"),
+			new SymptomMatcher.Phrase(3, "Dead Battery", "won't start"),
+			new SymptomMatcher.Phrase(3, "Dead Battery", "light")));
+
+	@Test
+	void ranksByMatchedPhraseWeight() {
+		List<SymptomMatcher.Candidate> candidates = MATCHER.classify(
+				"The CHECK-ENGINE warning light came on, and the brakes squeal a little.", 5);
+
+		assertThat(candidates).extracting(SymptomMatcher.Candidate::serviceId).containsExactly(2, 1, 3);
+		assertThat(candidates.get(0).score()).isEqualTo(4);
+		assertThat(candidates.get(0).matchedPhrases()).containsExactlyInAnyOrder("check engine", "warning light");
+		assertThat(MATCHER.classify("brake brake brake", 5).get(0).score()).isEqualTo(1);
+		assertThat(MATCHER.classify("The CHECK-ENGINE warning light came on", 1)).hasSize(1);
+	}
+
+	@Test
+	void matchesOnlyAtWordStarts() {
+		assertThat(MATCHER.classify("squealing when braking", 5)).extracting(SymptomMatcher.Candidate::serviceId)
+				.containsExactly(1);
+		assertThat(MATCHER.classify("unsquealy skylight", 5)).isEmpty();
+		assertThat(MATCHER.classify("it WON'T   start!", 5)).extracting(SymptomMatcher.Candidate::serviceId)
+				.containsExactly(3);
+		assertThat(MATCHER.classify("ç€ checkengine", 5)).isEmpty();
+	}
+
+	@Test
+	void agreesWithNaiveScanOnOverlappingPhrases() {
+		List<String> words = List.of("ab", "abc", "bc", "c", "cab", "abcab");
+		List<SymptomMatcher.Phrase> phrases = new ArrayList<>();
+		for (int i = 0; i < words.size(); i++) {
+			phrases.add(new SymptomMatcher.Phrase(i, "s" + i, words.get(i)));
+		}
+		phrases.add(new SymptomMatcher.Phrase(99, "pair", "ab c"));
+		SymptomMatcher matcher = new SymptomMatcher(phrases);
+		Random random = new Random(3);
+		String[] tokens = {"ab", "abc", "c", "cab", "x", "abcab", "bca"};
+
+		for (int round = 0; round < 500; round++) {
+			StringBuilder text = new StringBuilder();
+			for (int t = 0; t < 1 + random.nextInt(6); t++) {
+				text.append(tokens[random.nextInt(tokens.length)]).append(random.nextBoolean() ? " " : ", ");
+			}
+			String padded = " " + SymptomMatcher.normalize(text.toString());
+			List<Integer> expected = new ArrayList<>();
+			for (SymptomMatcher.Phrase phrase : phrases) {
+				if (padded.contains(" " + phrase.keywordPhrase())) {
+					expected.add(phrase.serviceId());
+				}
+			}
+			assertThat(matcher.classify(text, 100)).as(text.toString())
+					.extracting(SymptomMatcher.Candidate::serviceId)
+					.containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+}